@@ -0,0 +1,78 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import server.core.BufferPool;
+import server.core.ClientConnection;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http.parser.RequestLimits;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a connection over an in-memory socket, parses one request, writes one response and closes it.
+ * Compare {@code gc.alloc.rate.norm} between an unpooled run ({@code maxPooledBufferBytes = 0}) and a pooled one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BufferPoolBenchmark {
+    @Param({"0", "33554432"})
+    public long maxPooledBufferBytes;
+
+    private BufferPool bufferPool;
+    private HttpResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bufferPool = new BufferPool(maxPooledBufferBytes);
+        response = HttpResponse.builder()
+                .addHeader("Content-Type", "text/plain")
+                .body("pong".getBytes())
+                .build();
+    }
+
+    @Benchmark
+    public HttpRequest requestResponse() throws IOException {
+        try (ClientConnection connection = new ClientConnection(new InMemorySocket(), bufferPool)) {
+            connection.awaitRequest();
+            HttpRequest request = connection.readRequestHead(RequestLimits.UNLIMITED).build();
+            response.writeTo(connection.getOutputStream(), false);
+            connection.getOutputStream().flush();
+            return request;
+        }
+    }
+
+    private static class InMemorySocket extends Socket {
+        private final InputStream in = new ByteArrayInputStream(LoopbackServer.PING_REQUEST);
+
+        @Override
+        public InputStream getInputStream() {
+            return in;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import server.http.HttpRequest;
+import server.http.parser.Http11Parser;
+import server.http.parser.MultipartFormDataParser;
+import server.http.parser.RequestLimits;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a large request head and a multipart upload with the vectorized delimiter scanner and, in a separate fork
+ * started with {@code -Dserver.parser.scanner=scalar}, with the byte-at-a-time fallback as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DelimiterScanBenchmark {
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @Param({"1", "8"})
+    public int uploadMegabytes;
+
+    private byte[] head;
+    private HttpRequest upload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder request = new StringBuilder("GET /dashboard?tab=overview&range=30d HTTP/1.1\r\n")
+                .append("Host: app.example.com\r\n")
+                .append("Cookie: ").append("session=").append("s".repeat(2048))
+                .append("; prefs=").append("p".repeat(1024)).append("\r\n");
+        for (int i = 0; i < 60; i++) {
+            request.append("X-Trace-").append(i).append(": ").append("v".repeat(96)).append("\r\n");
+        }
+        head = request.append("\r\n").toString().getBytes(StandardCharsets.US_ASCII);
+
+        byte[] file = new byte[uploadMegabytes * 1024 * 1024];
+        new Random(42).nextBytes(file);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"title\"\r\n\r\n" +
+                "quarterly report\r\n" +
+                "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"report.bin\"\r\n" +
+                "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        upload = HttpRequest.builder()
+                .method("POST")
+                .path("/reports")
+                .addHeader("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .bodyBytes(body.toByteArray())
+                .build();
+        upload.getBodyBytes();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public HttpRequest headerBlockVector() {
+        return parseHead();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsPrepend = "-Dserver.parser.scanner=scalar")
+    public HttpRequest headerBlockScalar() {
+        return parseHead();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public MultipartFormDataParser.ParsedData multipartVector() {
+        return MultipartFormDataParser.parse(upload);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsPrepend = "-Dserver.parser.scanner=scalar")
+    public MultipartFormDataParser.ParsedData multipartScalar() {
+        return MultipartFormDataParser.parse(upload);
+    }
+
+    private HttpRequest parseHead() {
+        int length = Http11Parser.headLength(head, 0, head.length, RequestLimits.UNLIMITED);
+        return Http11Parser.parseHead(head, 0, length, RequestLimits.UNLIMITED).build();
+    }
+}
@@ -0,0 +1,81 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import server.http.Parameters;
+import server.http.parser.UrlEncodedBodyParser;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one field of an {@code application/x-www-form-urlencoded} body per operation with the legacy
+ * {@code split}-and-{@code URLDecoder} map and with the lazily indexed {@link Parameters}, which decodes only the
+ * field that is read. {@code lazyAllFields} materializes every pair for comparison. Run with {@code -prof gc} to
+ * compare allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormParametersBenchmark {
+    @Param({"20", "5000"})
+    public int pairs;
+
+    private String body;
+    private byte[] bodyBytes;
+    private String lastField;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder form = new StringBuilder();
+        for (int i = 0; i < pairs; i++) {
+            if (i > 0) {
+                form.append('&');
+            }
+            form.append("item").append(i).append("=value+").append(i).append("%21");
+        }
+        body = form.toString();
+        bodyBytes = body.getBytes(StandardCharsets.US_ASCII);
+        lastField = "item" + (pairs - 1);
+    }
+
+    @Benchmark
+    public String legacy() throws UnsupportedEncodingException {
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int idx = pair.indexOf("=");
+            if (idx != -1) {
+                parameters.put(URLDecoder.decode(pair.substring(0, idx), "UTF-8"),
+                        URLDecoder.decode(pair.substring(idx + 1), "UTF-8"));
+            }
+        }
+        return parameters.get(lastField);
+    }
+
+    @Benchmark
+    public String lazy() {
+        return UrlEncodedBodyParser.parse(bodyBytes).get(lastField);
+    }
+
+    @Benchmark
+    public Map<String, String> lazyAllFields() {
+        return UrlEncodedBodyParser.parse(bodyBytes).toMap();
+    }
+}
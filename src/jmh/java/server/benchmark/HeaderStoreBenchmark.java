@@ -0,0 +1,110 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import server.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and queries the header fields of a browser request with the array-backed {@link HttpHeaders}, matching
+ * common names from bytes, against the previous {@code HashMap} keyed by freshly decoded names. Run with
+ * {@code -prof gc} to compare allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderStoreBenchmark {
+    private static final String[] FIELDS = {
+            "host", "example.com",
+            "user-agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36",
+            "accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8",
+            "accept-encoding", "gzip, deflate, br",
+            "accept-language", "ko-KR,ko;q=0.9,en-US;q=0.8",
+            "cache-control", "max-age=0",
+            "cookie", "session=abc123; theme=dark",
+            "sec-fetch-site", "none",
+            "sec-fetch-mode", "navigate",
+            "sec-fetch-dest", "document",
+            "upgrade-insecure-requests", "1",
+            "connection", "keep-alive"
+    };
+
+    private byte[] head;
+    private int[] offsets;
+    private Map<String, String> map;
+    private HttpHeaders headers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder text = new StringBuilder();
+        offsets = new int[FIELDS.length * 2];
+        for (int i = 0; i < FIELDS.length; i += 2) {
+            offsets[i * 2] = text.length();
+            text.append(FIELDS[i]);
+            offsets[i * 2 + 1] = text.length();
+            text.append(": ");
+            offsets[i * 2 + 2] = text.length();
+            text.append(FIELDS[i + 1]);
+            offsets[i * 2 + 3] = text.length();
+            text.append("\r\n");
+        }
+        head = text.toString().getBytes(StandardCharsets.US_ASCII);
+        map = buildHashMap();
+        headers = buildHeaders();
+    }
+
+    @Benchmark
+    public Map<String, String> buildHashMap() {
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < offsets.length; i += 4) {
+            result.put(decode(offsets[i], offsets[i + 1]), decode(offsets[i + 2], offsets[i + 3]));
+        }
+        return Map.copyOf(result);
+    }
+
+    @Benchmark
+    public HttpHeaders buildHeaders() {
+        HttpHeaders result = new HttpHeaders(offsets.length / 4);
+        for (int i = 0; i < offsets.length; i += 4) {
+            String name = HttpHeaders.wellKnownName(head, offsets[i], offsets[i + 1]);
+            result.add(name == null ? decode(offsets[i], offsets[i + 1]) : name,
+                    decode(offsets[i + 2], offsets[i + 3]));
+        }
+        return result.toReadOnly();
+    }
+
+    @Benchmark
+    public String lookupHashMap() {
+        for (Map.Entry<String, String> header : map.entrySet()) {
+            if (header.getKey().equalsIgnoreCase("Connection")) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String lookupHeaders() {
+        return headers.get(HttpHeaders.CONNECTION);
+    }
+
+    private String decode(int from, int to) {
+        return new String(head, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,114 @@
+package server.benchmark;
+
+import server.http.HttpRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * The line-based request head parser that {@code Http11Parser} replaced, kept as the baseline for
+ * {@link HttpParserBenchmark}. Reads one byte at a time into a buffer per line and splits with regular expressions.
+ */
+final class LegacyHttp11Parser {
+    private LegacyHttp11Parser() {
+    }
+
+    static HttpRequest.Builder parseHead(InputStream inputStream) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.builder();
+        parseRequestLine(inputStream, builder);
+        parseHeaders(inputStream, builder);
+        return builder;
+    }
+
+    private static void parseRequestLine(InputStream inputStream, HttpRequest.Builder builder) throws IOException {
+        String requestLine = readLine(inputStream);
+        if (requestLine == null || requestLine.isEmpty()) {
+            throw new IllegalArgumentException("Empty request line");
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid request line: " + requestLine);
+        }
+        builder.method(parts[0]);
+        parsePathAndQueryParams(parts[1], builder);
+        builder.version(parts[2]);
+    }
+
+    private static void parseHeaders(InputStream inputStream, HttpRequest.Builder builder) throws IOException {
+        String headerLine;
+        while (!(headerLine = readLine(inputStream)).isEmpty()) {
+            int colonIndex = headerLine.indexOf(':');
+            if (colonIndex > 0) {
+                String name = headerLine.substring(0, colonIndex).trim();
+                String value = headerLine.substring(colonIndex + 1).trim();
+                builder.addHeader(name, value);
+
+                if (name.equalsIgnoreCase("Cookie")) {
+                    parseCookies(value, builder);
+                }
+            }
+        }
+    }
+
+    private static void parseCookies(String cookieHeader, HttpRequest.Builder builder) {
+        String[] cookies = cookieHeader.split(";");
+        for (String cookie : cookies) {
+            String[] parts = cookie.trim().split("=", 2);
+            if (parts.length == 2) {
+                builder.addCookie(parts[0].trim(), urlDecode(parts[1].trim()));
+            }
+        }
+    }
+
+    static void parsePathAndQueryParams(String fullPath, HttpRequest.Builder builder) {
+        String decodedPath = urlDecode(fullPath);
+        String[] pathParts = decodedPath.split("\\?", 2);
+        builder.path(pathParts[0]);
+
+        if (pathParts.length > 1) {
+            for (String pair : pathParts[1].split("&")) {
+                int idx = pair.indexOf("=");
+                if (idx > 0) {
+                    String key = urlDecode(pair.substring(0, idx));
+                    String value = idx < pair.length() - 1 ? urlDecode(pair.substring(idx + 1)) : "";
+                    builder.addQueryParam(key, value);
+                } else {
+                    builder.addQueryParam(urlDecode(pair), "");
+                }
+            }
+        }
+    }
+
+    private static String urlDecode(String value) {
+        try {
+            return java.net.URLDecoder.decode(value, "UTF-8");
+        } catch (IllegalArgumentException e) {
+            return value.replaceAll("%(?![0-9a-fA-F]{2})", "%25");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("UTF-8 is unsupported", e);
+        }
+    }
+
+    private static String readLine(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        int lastByte = -1;
+        int currentByte;
+        while ((currentByte = inputStream.read()) != -1) {
+            if (lastByte == '\r' && currentByte == '\n') {
+                baos.write(lastByte);
+                baos.write(currentByte);
+                break;
+            }
+            if (lastByte != -1) {
+                baos.write(lastByte);
+            }
+            lastByte = currentByte;
+        }
+        if (baos.size() == 0) {
+            return "";
+        }
+        return new String(baos.toByteArray(), "UTF-8").trim();
+    }
+}
@@ -0,0 +1,91 @@
+package server.benchmark;
+
+import server.core.Server;
+import server.core.ServerConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+class LoopbackServer {
+    static final String HANDLER_PACKAGE = "server.benchmark.handler";
+    static final byte[] PING_REQUEST = ("GET /ping HTTP/1.1\r\n" +
+            "Host: localhost\r\n" +
+            "\r\n").getBytes();
+
+    private final Server server;
+    private final Thread serverThread;
+    private final int port;
+
+    LoopbackServer(ServerConfig.Builder config) throws IOException {
+        this.port = freePort();
+        this.server = new Server(config
+                .port(port)
+                .basePackage(HANDLER_PACKAGE)
+                .maxRequestsPerConnection(Integer.MAX_VALUE)
+                .keepAliveTimeoutMillis(60_000)
+                .build());
+        this.serverThread = new Thread(server::start, "benchmark-server");
+        this.serverThread.start();
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.setTcpNoDelay(true);
+        return socket;
+    }
+
+    void stop() throws InterruptedException {
+        server.stop();
+        serverThread.join();
+    }
+
+    static int measureResponseLength(Socket socket, byte[] request) throws IOException {
+        return measureResponseLength(socket.getInputStream(), socket.getOutputStream(), request);
+    }
+
+    static int measureResponseLength(InputStream in, OutputStream out, byte[] request) throws IOException {
+        out.write(request);
+        out.flush();
+
+        StringBuilder head = new StringBuilder();
+        while (!head.toString().endsWith("\r\n\r\n")) {
+            int read = in.read();
+            if (read == -1) {
+                throw new IOException("Connection closed while reading response head");
+            }
+            head.append((char) read);
+        }
+        int contentLength = 0;
+        for (String line : head.toString().split("\r\n")) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, "Content-Length:".length())) {
+                contentLength = Integer.parseInt(line.substring("Content-Length:".length()).trim());
+            }
+        }
+        in.readNBytes(contentLength);
+        return head.length() + contentLength;
+    }
+
+    static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+            if (read == -1) {
+                throw new IOException("Connection closed with " + remaining + " bytes outstanding");
+            }
+            remaining -= read;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
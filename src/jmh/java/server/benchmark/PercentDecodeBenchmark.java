@@ -0,0 +1,69 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import server.http.HttpRequest;
+import server.http.parser.Http11Parser;
+import server.http.parser.RequestLimits;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the path and query parameters of one request target per operation with the legacy
+ * {@code URLDecoder}-plus-regex decoding and with the byte-level percent decoder. {@code plain} has no escapes,
+ * {@code encoded} is a UTF-8 search query, {@code malformed} repeats broken escapes that sent the legacy decoder to
+ * its regex fallback, and {@code long} is a 6 KB fully escaped target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PercentDecodeBenchmark {
+    @Param({"plain", "encoded", "malformed", "long"})
+    public String target;
+
+    private String rawTarget;
+    private byte[] head;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rawTarget = switch (target) {
+            case "plain" -> "/api/v1/users/42/orders?status=shipped&page=2&sort=created_at";
+            case "encoded" -> "/search?q=%EC%84%9C%EC%9A%B8+%EB%A7%9B%EC%A7%91&lang=ko&ref=%2Fhome%3Ftab%3D1";
+            case "malformed" -> "/x?" + "v=100%+sure%zz&".repeat(100);
+            case "long" -> "/files/" + "%41%42%43".repeat(700);
+            default -> throw new IllegalArgumentException("Unknown target: " + target);
+        };
+        head = ("GET " + rawTarget + " HTTP/1.1\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        HttpRequest.Builder builder = HttpRequest.builder();
+        LegacyHttp11Parser.parsePathAndQueryParams(rawTarget, builder);
+        HttpRequest request = builder.build();
+        blackhole.consume(request.getPath());
+        blackhole.consume(request.getQueryParams());
+    }
+
+    @Benchmark
+    public void byteLevel(Blackhole blackhole) {
+        HttpRequest request = Http11Parser.parseHead(head, 0, head.length, RequestLimits.UNLIMITED).build();
+        blackhole.consume(request.getPath());
+        blackhole.consume(request.getQueryParams());
+    }
+}
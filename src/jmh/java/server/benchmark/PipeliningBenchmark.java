@@ -0,0 +1,95 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import server.core.ServerConfig;
+import server.core.TransportMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends {@code depth} GET requests back-to-back on one loopback connection and waits for all responses.
+ * The {@code requests} counter reports requests/sec; the primary score is batches/sec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipeliningBenchmark {
+    @Param({"1", "8", "32"})
+    public int depth;
+
+    @Param({"BLOCKING", "NIO"})
+    public TransportMode transportMode;
+
+    private LoopbackServer server;
+    private Socket socket;
+    private OutputStream out;
+    private InputStream in;
+    private byte[] pipelinedRequests;
+    private byte[] readBuffer;
+    private int batchResponseLength;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LoopbackServer(ServerConfig.builder()
+                .transportMode(transportMode)
+                .threadPoolSize(4)
+                .maxPipelineDepth(32));
+        socket = server.connect();
+        out = socket.getOutputStream();
+        in = socket.getInputStream();
+
+        int responseLength = LoopbackServer.measureResponseLength(socket, LoopbackServer.PING_REQUEST);
+        byte[] request = LoopbackServer.PING_REQUEST;
+        pipelinedRequests = new byte[request.length * depth];
+        for (int i = 0; i < depth; i++) {
+            System.arraycopy(request, 0, pipelinedRequests, i * request.length, request.length);
+        }
+        batchResponseLength = responseLength * depth;
+        readBuffer = new byte[64 * 1024];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        socket.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public void pipelinedRequests(Counters counters) throws IOException {
+        out.write(pipelinedRequests);
+        out.flush();
+        LoopbackServer.readFully(in, readBuffer, batchResponseLength);
+        counters.requests += depth;
+    }
+}
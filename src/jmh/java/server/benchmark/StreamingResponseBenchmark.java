@@ -0,0 +1,141 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import server.core.ServerConfig;
+import server.core.TransportMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a handler that buffers its whole body against one that streams it in chunks, measuring the time
+ * to the first response byte and to the end of the response. Run with {@code -prof gc} to compare heap
+ * allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingResponseBenchmark {
+    @Param({"65536", "1048576", "16777216"})
+    public int size;
+
+    @Param({"buffer", "stream"})
+    public String mode;
+
+    @Param({"BLOCKING", "NIO"})
+    public TransportMode transportMode;
+
+    private LoopbackServer server;
+    private Socket socket;
+    private OutputStream out;
+    private InputStream in;
+    private byte[] request;
+    private final byte[] readBuffer = new byte[64 * 1024];
+    private boolean responsePending;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LoopbackServer(ServerConfig.builder()
+                .transportMode(transportMode)
+                .threadPoolSize(4)
+                .tcpNoDelay(true));
+        socket = server.connect();
+        out = socket.getOutputStream();
+        in = socket.getInputStream();
+        request = ("GET /export?size=" + size + "&mode=" + mode + " HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "\r\n").getBytes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        socket.close();
+        server.stop();
+    }
+
+    @TearDown(Level.Invocation)
+    public void drainResponse() throws IOException {
+        if (responsePending) {
+            readBody(readHead());
+            responsePending = false;
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstByte() throws IOException {
+        out.write(request);
+        out.flush();
+        responsePending = true;
+        return in.read();
+    }
+
+    @Benchmark
+    public int fullResponse() throws IOException {
+        out.write(request);
+        out.flush();
+        return readBody(readHead());
+    }
+
+    private String readHead() throws IOException {
+        StringBuilder head = new StringBuilder();
+        if (responsePending) {
+            head.append('H');
+        }
+        while (!head.toString().endsWith("\r\n\r\n")) {
+            int read = in.read();
+            if (read == -1) {
+                throw new IOException("Connection closed while reading response head");
+            }
+            head.append((char) read);
+        }
+        return head.toString();
+    }
+
+    private int readBody(String head) throws IOException {
+        for (String line : head.split("\r\n")) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, "Content-Length:".length())) {
+                int length = Integer.parseInt(line.substring("Content-Length:".length()).trim());
+                LoopbackServer.readFully(in, readBuffer, length);
+                return length;
+            }
+        }
+        int total = 0;
+        int length;
+        while ((length = Integer.parseInt(readLine(), 16)) > 0) {
+            LoopbackServer.readFully(in, readBuffer, length + 2);
+            total += length;
+        }
+        readLine();
+        return total;
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = in.read()) != '\n') {
+            if (read == -1) {
+                throw new IOException("Connection closed while reading chunk size");
+            }
+            line.append((char) read);
+        }
+        return line.toString().trim();
+    }
+}
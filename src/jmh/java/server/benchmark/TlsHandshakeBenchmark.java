@@ -0,0 +1,166 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import server.core.TlsContext;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs TLS handshakes between an in-memory client engine and a server engine from {@link TlsContext},
+ * using a self-signed certificate generated with keytool at setup.
+ * {@code fullHandshake} never offers a session; {@code resumedHandshake} resumes the one cached at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TlsHandshakeBenchmark {
+    private static final String PASSWORD = "benchmark";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    @Param({"EC", "RSA"})
+    public String keyAlgorithm;
+
+    @Param({"TLSv1.3", "TLSv1.2"})
+    public String protocol;
+
+    private Path keyStore;
+    private TlsContext tlsContext;
+    private SSLContext clientContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        keyStore = Files.createTempFile("benchmark", ".p12");
+        Files.delete(keyStore);
+        generateKeyStore(keyStore, keyAlgorithm);
+        tlsContext = TlsContext.load(keyStore, PASSWORD, "PKCS12", 20_480, 86_400, true);
+        clientContext = createClientContext(keyStore);
+        handshake(clientEngine("localhost"), tlsContext.createEngine());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(keyStore);
+    }
+
+    @Benchmark
+    public boolean fullHandshake() throws SSLException {
+        SSLEngine client = clientEngine(null);
+        handshake(client, tlsContext.createEngine());
+        return client.getSession().isValid();
+    }
+
+    @Benchmark
+    public boolean resumedHandshake() throws SSLException {
+        SSLEngine client = clientEngine("localhost");
+        handshake(client, tlsContext.createEngine());
+        return client.getSession().isValid();
+    }
+
+    private SSLEngine clientEngine(String peerHost) {
+        SSLEngine engine = peerHost == null
+                ? clientContext.createSSLEngine()
+                : clientContext.createSSLEngine(peerHost, 443);
+        engine.setUseClientMode(true);
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setProtocols(new String[]{protocol});
+        parameters.setApplicationProtocols(new String[]{TlsContext.HTTP_2, TlsContext.HTTP_1_1});
+        engine.setSSLParameters(parameters);
+        return engine;
+    }
+
+    private static void handshake(SSLEngine client, SSLEngine server) throws SSLException {
+        ByteBuffer clientToServer = ByteBuffer.allocate(BUFFER_SIZE);
+        ByteBuffer serverToClient = ByteBuffer.allocate(BUFFER_SIZE);
+        ByteBuffer application = ByteBuffer.allocate(BUFFER_SIZE);
+        client.beginHandshake();
+        server.beginHandshake();
+        boolean progress = true;
+        while (progress) {
+            progress = step(client, serverToClient, clientToServer, application);
+            progress |= step(server, clientToServer, serverToClient, application);
+        }
+        if (client.getHandshakeStatus() != HandshakeStatus.NOT_HANDSHAKING) {
+            throw new SSLException("Handshake did not complete: " + client.getHandshakeStatus());
+        }
+    }
+
+    private static boolean step(SSLEngine engine, ByteBuffer in, ByteBuffer out, ByteBuffer application)
+            throws SSLException {
+        boolean progress = false;
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+            task.run();
+            progress = true;
+        }
+        if (engine.getHandshakeStatus() == HandshakeStatus.NEED_WRAP) {
+            progress |= engine.wrap(EMPTY, out).bytesProduced() > 0;
+        }
+        in.flip();
+        if (in.hasRemaining()) {
+            application.clear();
+            progress |= engine.unwrap(in, application).bytesConsumed() > 0;
+        }
+        in.compact();
+        return progress;
+    }
+
+    private static void generateKeyStore(Path path, String keyAlgorithm) throws IOException, InterruptedException {
+        String keytool = Path.of(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process process = new ProcessBuilder(keytool, "-genkeypair",
+                "-alias", "server",
+                "-keyalg", keyAlgorithm,
+                "-keysize", keyAlgorithm.equals("RSA") ? "2048" : "256",
+                "-dname", "CN=localhost",
+                "-validity", "1",
+                "-storetype", "PKCS12",
+                "-keystore", path.toString(),
+                "-storepass", PASSWORD)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IOException("keytool exited with " + process.exitValue());
+        }
+    }
+
+    private static SSLContext createClientContext(Path keyStorePath) throws IOException, GeneralSecurityException {
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStorePath)) {
+            trustStore.load(in, PASSWORD.toCharArray());
+        }
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(trustStore);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, trustManagers.getTrustManagers(), null);
+        return context;
+    }
+}
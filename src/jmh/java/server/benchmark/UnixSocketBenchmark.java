@@ -0,0 +1,93 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import server.core.ServerConfig;
+import server.core.TransportMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round trip of one keep-alive GET against the same server over loopback TCP and over
+ * its unix domain socket listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnixSocketBenchmark {
+    @Param({"TCP", "UNIX"})
+    public String listener;
+
+    @Param({"BLOCKING", "NIO"})
+    public TransportMode transportMode;
+
+    private Path socketPath;
+    private LoopbackServer server;
+    private Closeable connection;
+    private OutputStream out;
+    private InputStream in;
+    private byte[] readBuffer;
+    private int responseLength;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        socketPath = Files.createTempFile("benchmark", ".sock");
+        Files.delete(socketPath);
+        server = new LoopbackServer(ServerConfig.builder()
+                .transportMode(transportMode)
+                .threadPoolSize(4)
+                .tcpNoDelay(true)
+                .unixSocketPath(socketPath.toString()));
+        if (listener.equals("UNIX")) {
+            SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+            connection = channel;
+            out = Channels.newOutputStream(channel);
+            in = Channels.newInputStream(channel);
+        } else {
+            Socket socket = server.connect();
+            connection = socket;
+            out = socket.getOutputStream();
+            in = socket.getInputStream();
+        }
+        responseLength = LoopbackServer.measureResponseLength(in, out, LoopbackServer.PING_REQUEST);
+        readBuffer = new byte[responseLength];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        connection.close();
+        server.stop();
+        Files.deleteIfExists(socketPath);
+    }
+
+    @Benchmark
+    public void roundTrip() throws IOException {
+        out.write(LoopbackServer.PING_REQUEST);
+        out.flush();
+        LoopbackServer.readFully(in, readBuffer, responseLength);
+    }
+}
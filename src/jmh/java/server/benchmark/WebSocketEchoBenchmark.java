@@ -0,0 +1,127 @@
+package server.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import server.core.ServerConfig;
+import server.core.TransportMode;
+import server.websocket.WebSocketFrame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trips one binary message at a time through an echo endpoint on a loopback WebSocket. The
+ * throughput mode reports messages/sec; the sample mode reports round-trip latency percentiles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketEchoBenchmark {
+    private static final byte[] MASK = {0x12, 0x34, 0x56, 0x78};
+
+    @Param({"32", "4096"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    @Param({"BLOCKING", "NIO"})
+    public TransportMode transportMode;
+
+    private LoopbackServer server;
+    private Socket socket;
+    private OutputStream out;
+    private InputStream in;
+    private byte[] frame;
+    private final byte[] readBuffer = new byte[64 * 1024];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new LoopbackServer(ServerConfig.builder()
+                .transportMode(transportMode)
+                .threadPoolSize(4)
+                .tcpNoDelay(true));
+        socket = server.connect();
+        out = socket.getOutputStream();
+        in = socket.getInputStream();
+        out.write(("GET /echo HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+                "Sec-WebSocket-Version: 13\r\n" +
+                (compressed ? "Sec-WebSocket-Extensions: permessage-deflate\r\n" : "") +
+                "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        String head = readHead();
+        if (!head.startsWith("HTTP/1.1 101")) {
+            throw new IOException("WebSocket upgrade failed: " + head);
+        }
+        // Replies are deflated when compression is negotiated, so that case gets a compressible payload
+        byte[] payload = new byte[size];
+        if (compressed) {
+            Arrays.fill(payload, (byte) 'a');
+        } else {
+            new Random(42).nextBytes(payload);
+        }
+        frame = WebSocketFrame.encode(true, false, WebSocketFrame.BINARY, payload, MASK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        socket.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int echo() throws IOException {
+        out.write(frame);
+        out.flush();
+        return readFrame();
+    }
+
+    private int readFrame() throws IOException {
+        LoopbackServer.readFully(in, readBuffer, 2);
+        int length = readBuffer[1] & 0x7F;
+        if (length == 126) {
+            LoopbackServer.readFully(in, readBuffer, 2);
+            length = ((readBuffer[0] & 0xFF) << 8) | (readBuffer[1] & 0xFF);
+        } else if (length == 127) {
+            throw new IOException("Unexpected 64-bit frame length");
+        }
+        LoopbackServer.readFully(in, readBuffer, length);
+        return length;
+    }
+
+    private String readHead() throws IOException {
+        StringBuilder head = new StringBuilder();
+        while (!head.toString().endsWith("\r\n\r\n")) {
+            int read = in.read();
+            if (read == -1) {
+                throw new IOException("Connection closed while reading upgrade response");
+            }
+            head.append((char) read);
+        }
+        return head.toString();
+    }
+}
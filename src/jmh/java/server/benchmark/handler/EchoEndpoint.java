@@ -0,0 +1,18 @@
+package server.benchmark.handler;
+
+import server.handler.annotation.Handler;
+import server.websocket.WebSocketEndpoint;
+import server.websocket.WebSocketSession;
+
+@Handler("/echo")
+public class EchoEndpoint extends WebSocketEndpoint {
+    @Override
+    public void onText(WebSocketSession session, String message) {
+        session.sendText(message);
+    }
+
+    @Override
+    public void onBinary(WebSocketSession session, byte[] message) {
+        session.sendBinary(message);
+    }
+}
@@ -0,0 +1,35 @@
+package server.benchmark.handler;
+
+import server.handler.CustomRequestHandler;
+import server.handler.annotation.Handler;
+import server.handler.annotation.HttpMethod;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+import java.util.Arrays;
+
+@Handler("/export")
+public class ExportHandler extends CustomRequestHandler {
+    private static final byte[] ROW = new byte[8192];
+
+    static {
+        Arrays.fill(ROW, (byte) 'x');
+    }
+
+    @HttpMethod("GET")
+    public HttpResponse export(HttpRequest request) {
+        int size = Integer.parseInt(request.getQueryParam("size"));
+        if ("stream".equals(request.getQueryParam("mode"))) {
+            return ok(out -> {
+                for (int remaining = size; remaining > 0; remaining -= ROW.length) {
+                    out.write(ROW, 0, Math.min(ROW.length, remaining));
+                }
+            }).build();
+        }
+        byte[] body = new byte[size];
+        for (int offset = 0; offset < size; offset += ROW.length) {
+            System.arraycopy(ROW, 0, body, offset, Math.min(ROW.length, size - offset));
+        }
+        return ok(body).build();
+    }
+}
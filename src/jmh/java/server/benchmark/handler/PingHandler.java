@@ -0,0 +1,15 @@
+package server.benchmark.handler;
+
+import server.handler.CustomRequestHandler;
+import server.handler.annotation.Handler;
+import server.handler.annotation.HttpMethod;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+@Handler("/ping")
+public class PingHandler extends CustomRequestHandler {
+    @HttpMethod("GET")
+    public HttpResponse ping(HttpRequest request) {
+        return ok("pong".getBytes()).build();
+    }
+}
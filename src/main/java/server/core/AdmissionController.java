@@ -0,0 +1,76 @@
+package server.core;
+
+import server.http.HttpResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class AdmissionController {
+    private final ThreadPool threadPool;
+    private final int workerCapacity;
+    private final int maxQueuedTasks;
+    private final long maxQueueWaitNanos;
+    private final HttpResponse serviceUnavailable;
+    private final byte[] serviceUnavailableResponse;
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    AdmissionController(ThreadPool threadPool, int maxQueuedTasks, long maxQueueWaitMillis, int retryAfterSeconds) {
+        this.threadPool = threadPool;
+        this.workerCapacity = threadPool.getConcurrency();
+        this.maxQueuedTasks = maxQueuedTasks;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        this.serviceUnavailable = HttpResponse.builder()
+                .statusCode(503)
+                .statusText("Service Unavailable")
+                .addHeader("Retry-After", String.valueOf(retryAfterSeconds))
+                .build();
+        this.serviceUnavailableResponse = serviceUnavailable.getBytes(false);
+    }
+
+    boolean tryExecute(Runnable task, Runnable onExpired) {
+        if (pendingTasks.incrementAndGet() > workerCapacity + maxQueuedTasks) {
+            pendingTasks.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        long enqueuedAt = System.nanoTime();
+        try {
+            threadPool.execute(() -> {
+                try {
+                    if (System.nanoTime() - enqueuedAt > maxQueueWaitNanos) {
+                        expiredCount.incrementAndGet();
+                        onExpired.run();
+                        return;
+                    }
+                    task.run();
+                } finally {
+                    pendingTasks.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingTasks.decrementAndGet();
+            throw e;
+        }
+        return true;
+    }
+
+    HttpResponse getServiceUnavailable() {
+        return serviceUnavailable;
+    }
+
+    byte[] getServiceUnavailableResponse() {
+        return serviceUnavailableResponse;
+    }
+
+    boolean hasQueuedTasks() {
+        return pendingTasks.get() > workerCapacity;
+    }
+
+    AdmissionStats getStats() {
+        int queueDepth = Math.max(0, pendingTasks.get() - workerCapacity);
+        return new AdmissionStats(queueDepth, rejectedCount.get(), expiredCount.get());
+    }
+}
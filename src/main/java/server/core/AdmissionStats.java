@@ -0,0 +1,4 @@
+package server.core;
+
+public record AdmissionStats(int queueDepth, long rejectedCount, long expiredCount) {
+}
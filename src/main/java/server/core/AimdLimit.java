@@ -0,0 +1,28 @@
+package server.core;
+
+import java.util.concurrent.TimeUnit;
+
+class AimdLimit implements LimitAlgorithm {
+    private static final double BACKOFF_RATIO = 0.9;
+    private final long latencyThresholdNanos;
+
+    AimdLimit(long latencyThresholdMillis) {
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+    }
+
+    @Override
+    public double update(double limit, int maxInFlight, long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            return limit * BACKOFF_RATIO;
+        }
+        if (maxInFlight * 2 >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+
+    @Override
+    public long baselineLatencyNanos() {
+        return latencyThresholdNanos;
+    }
+}
@@ -0,0 +1,131 @@
+package server.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.Socket;
+
+class BlockingTransport implements Transport {
+    private static final Logger logger = LoggerFactory.getLogger(BlockingTransport.class);
+    private final SocketAcceptor[] connectionAcceptors;
+    private final ConnectionContext context;
+    private final ConnectionContext unixSocketContext;
+    private final int tcpShards;
+    private final ServerStatus status;
+
+    BlockingTransport(ListenerSettings listener, ConnectionContext context, ServerStatus status) throws IOException {
+        this.tcpShards = listener.shards();
+        this.connectionAcceptors = new SocketAcceptor[tcpShards + (listener.hasUnixSocket() ? 1 : 0)];
+        try {
+            for (int i = 0; i < tcpShards; i++) {
+                connectionAcceptors[i] = new ConnectionAcceptor(
+                        listener.port(), listener.backlog(), listener.reusePort(), listener.socketSettings());
+            }
+            if (listener.hasUnixSocket()) {
+                connectionAcceptors[tcpShards] = new UnixDomainAcceptor(listener.unixSocketPath(), listener.backlog());
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        this.context = context;
+        this.unixSocketContext = context.withoutTls();
+        this.status = status;
+    }
+
+    @Override
+    public void serve() {
+        Thread[] acceptorThreads = new Thread[connectionAcceptors.length];
+        for (int i = 0; i < connectionAcceptors.length; i++) {
+            SocketAcceptor connectionAcceptor = connectionAcceptors[i];
+            ConnectionContext acceptorContext = i < tcpShards ? context : unixSocketContext;
+            String name = i < tcpShards ? "acceptor-" + i : "unix-acceptor";
+            acceptorThreads[i] = new Thread(() -> acceptConnections(connectionAcceptor, acceptorContext), name);
+            acceptorThreads[i].start();
+        }
+        for (Thread acceptorThread : acceptorThreads) {
+            try {
+                acceptorThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void acceptConnections(SocketAcceptor connectionAcceptor, ConnectionContext acceptorContext) {
+        while (status.isRunning()) {
+            processNextConnection(connectionAcceptor, acceptorContext);
+        }
+    }
+
+    private void processNextConnection(SocketAcceptor connectionAcceptor, ConnectionContext acceptorContext) {
+        try {
+            Socket clientSocket = secure(connectionAcceptor.accept(), acceptorContext);
+            HttpConnectionProcessor processor = new HttpConnectionProcessor(clientSocket, acceptorContext);
+            if (!context.admissionController().tryExecute(processor, () -> reject(clientSocket))) {
+                reject(clientSocket);
+            }
+        } catch (IOException e) {
+            handleAcceptError(e);
+        }
+    }
+
+    private Socket secure(Socket socket, ConnectionContext acceptorContext) throws IOException {
+        if (acceptorContext.tlsContext() == null) {
+            return socket;
+        }
+        return acceptorContext.tlsContext().wrap(socket);
+    }
+
+    private void reject(Socket clientSocket) {
+        if (clientSocket instanceof SSLSocket) {
+            closeQuietly(clientSocket);
+            return;
+        }
+        try (clientSocket) {
+            clientSocket.getOutputStream().write(context.admissionController().getServiceUnavailableResponse());
+        } catch (IOException e) {
+            logger.debug("Error writing rejection: {}", e.getMessage());
+        }
+    }
+
+    private void closeQuietly(Socket clientSocket) {
+        try {
+            clientSocket.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rejected connection: {}", e.getMessage());
+        }
+    }
+
+    private void handleAcceptError(IOException e) {
+        if (status.isRunning()) {
+            logger.error("Error accepting client connection", e);
+        }
+    }
+
+    @Override
+    public long[] getAcceptedCounts() {
+        long[] counts = new long[connectionAcceptors.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = connectionAcceptors[i].getAcceptedCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public void stopAccepting() {
+        for (SocketAcceptor connectionAcceptor : connectionAcceptors) {
+            if (connectionAcceptor != null) {
+                connectionAcceptor.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        stopAccepting();
+    }
+}
@@ -0,0 +1,99 @@
+package server.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class BufferPool {
+    private static final int MIN_SIZE_SHIFT = 10;
+    private static final int SIZE_CLASSES = 7;
+    private static final int MAX_SLOTS_PER_CLASS = 1024;
+    private static final int PROBES = 8;
+    private static final BufferPool UNPOOLED = new BufferPool(0);
+    private final AtomicReferenceArray<byte[]>[] slots;
+    private final long maxRetainedBytes;
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public BufferPool(long maxRetainedBytes) {
+        if (maxRetainedBytes < 0) {
+            throw new IllegalArgumentException("maxRetainedBytes must not be negative: " + maxRetainedBytes);
+        }
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.slots = new AtomicReferenceArray[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            long fit = maxRetainedBytes / sizeOf(i);
+            slots[i] = new AtomicReferenceArray<>((int) Math.min(fit, MAX_SLOTS_PER_CLASS));
+        }
+    }
+
+    public static BufferPool unpooled() {
+        return UNPOOLED;
+    }
+
+    public byte[] acquire(int minCapacity) {
+        int sizeClass = sizeClassOf(minCapacity);
+        if (sizeClass >= SIZE_CLASSES) {
+            return new byte[minCapacity];
+        }
+        AtomicReferenceArray<byte[]> pool = slots[sizeClass];
+        int length = pool.length();
+        int start = startIndex(length);
+        for (int i = 0; i < Math.min(length, PROBES); i++) {
+            int index = (start + i) % length;
+            byte[] buffer = pool.get(index);
+            if (buffer != null && pool.compareAndSet(index, buffer, null)) {
+                retainedBytes.addAndGet(-buffer.length);
+                return buffer;
+            }
+        }
+        return new byte[sizeOf(sizeClass)];
+    }
+
+    public void release(byte[] buffer) {
+        int sizeClass = sizeClassOf(buffer.length);
+        if (sizeClass >= SIZE_CLASSES || sizeOf(sizeClass) != buffer.length) {
+            return;
+        }
+        if (retainedBytes.addAndGet(buffer.length) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-buffer.length);
+            return;
+        }
+        AtomicReferenceArray<byte[]> pool = slots[sizeClass];
+        int length = pool.length();
+        int start = startIndex(length);
+        for (int i = 0; i < Math.min(length, PROBES); i++) {
+            int index = (start + i) % length;
+            if (pool.get(index) == null && pool.compareAndSet(index, null, buffer)) {
+                return;
+            }
+        }
+        retainedBytes.addAndGet(-buffer.length);
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    private static int sizeClassOf(int capacity) {
+        if (capacity <= 1 << MIN_SIZE_SHIFT) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_SHIFT;
+    }
+
+    private static int sizeOf(int sizeClass) {
+        return 1 << (sizeClass + MIN_SIZE_SHIFT);
+    }
+
+    private static int startIndex(int length) {
+        if (length == 0) {
+            return 0;
+        }
+        long hash = Thread.currentThread().hashCode();
+        return (int) ((hash * 0x9E3779B97F4A7C15L) >>> 33) % length;
+    }
+}
@@ -0,0 +1,12 @@
+package server.core;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+
+interface ChannelHandler {
+    void onReady(SelectionKey key) throws IOException;
+
+    void onIdleCheck(long now);
+
+    void close();
+}
@@ -1,18 +1,29 @@
 package server.core;
 
+import server.http.HttpRequest;
+import server.http.parser.RequestLimits;
+import server.http2.Http2Session;
+
 import java.io.*;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 public class ClientConnection implements AutoCloseable {
     private static final int BUFFER_SIZE = 8192;
     private final Socket socket;
-    private final BufferedInputStream inputStream;
-    private final BufferedOutputStream outputStream;
+    private final PooledInputStream inputStream;
+    private final PooledOutputStream outputStream;
 
     public ClientConnection(Socket socket) throws IOException {
+        this(socket, BufferPool.unpooled());
+    }
+
+    public ClientConnection(Socket socket, BufferPool bufferPool) throws IOException {
         this.socket = socket;
-        this.inputStream = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
-        this.outputStream = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+        this.inputStream = new PooledInputStream(socket.getInputStream(), bufferPool, BUFFER_SIZE);
+        this.outputStream = new PooledOutputStream(socket.getOutputStream(), bufferPool, BUFFER_SIZE);
     }
 
     public InputStream getInputStream() {
@@ -23,10 +34,52 @@ public class ClientConnection implements AutoCloseable {
         return outputStream;
     }
 
+    public HttpRequest.Builder readRequestHead(RequestLimits limits) throws IOException {
+        return inputStream.parseHead(limits);
+    }
+
+    public boolean awaitRequest() throws IOException {
+        try {
+            return inputStream.awaitData();
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+    }
+
+    public boolean awaitRequest(int pollMillis, BooleanSupplier keepWaiting) throws IOException {
+        int timeoutMillis = socket.getSoTimeout();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        socket.setSoTimeout(timeoutMillis == 0 ? pollMillis : Math.min(timeoutMillis, pollMillis));
+        try {
+            while (true) {
+                try {
+                    return inputStream.awaitData();
+                } catch (SocketTimeoutException e) {
+                    if ((timeoutMillis != 0 && System.nanoTime() - deadline >= 0) || !keepWaiting.getAsBoolean()) {
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            socket.setSoTimeout(timeoutMillis);
+        }
+    }
+
+        public boolean hasHttp2Preface() throws IOException {
+        return inputStream.startsWith(Http2Session.PREFACE);
+    }
+
+    public boolean hasBufferedRequest() throws IOException {
+        return inputStream.hasBufferedRequest();
+    }
+
     @Override
     public void close() throws IOException {
-        inputStream.close();
-        outputStream.close();
-        socket.close();
+        try {
+            outputStream.close();
+            inputStream.close();
+        } finally {
+            socket.close();
+        }
     }
 }
@@ -0,0 +1,7 @@
+package server.core;
+
+public enum ConcurrencyLimitMode {
+    OFF,
+    GRADIENT,
+    AIMD
+}
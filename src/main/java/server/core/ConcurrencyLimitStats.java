@@ -0,0 +1,5 @@
+package server.core;
+
+public record ConcurrencyLimitStats(int limit, int inFlight, long sampleLatencyMicros,
+                                    long baselineLatencyMicros, long rejectedCount) {
+}
@@ -0,0 +1,89 @@
+package server.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+class ConcurrencyLimiter {
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private long windowStartedAt;
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private long sampleLatencyNanos;
+    private double estimatedLimit;
+    private volatile int limit;
+
+    ConcurrencyLimiter(LimitAlgorithm algorithm, int initialLimit, int minLimit, int maxLimit) {
+        this.algorithm = algorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release(long latencyNanos) {
+        release(latencyNanos, System.nanoTime());
+    }
+
+    void release(long latencyNanos, long now) {
+        int current = inFlight.getAndDecrement();
+        windowLock.lock();
+        try {
+            if (windowSamples == 0) {
+                windowStartedAt = now;
+            }
+            windowLatencySum += latencyNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            long averageLatency = windowLatencySum / windowSamples;
+            if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStartedAt < 2 * averageLatency) {
+                return;
+            }
+            double updated = algorithm.update(estimatedLimit, windowMaxInFlight, averageLatency);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, updated));
+            limit = (int) estimatedLimit;
+            sampleLatencyNanos = averageLatency;
+            windowLatencySum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    ConcurrencyLimitStats getStats() {
+        windowLock.lock();
+        try {
+            return new ConcurrencyLimitStats(limit, inFlight.get(),
+                    TimeUnit.NANOSECONDS.toMicros(sampleLatencyNanos),
+                    TimeUnit.NANOSECONDS.toMicros(algorithm.baselineLatencyNanos()),
+                    rejectedCount.get());
+        } finally {
+            windowLock.unlock();
+        }
+    }
+}
@@ -4,21 +4,64 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class ConnectionAcceptor {
+public class ConnectionAcceptor implements SocketAcceptor {
     private static final Logger logger = LoggerFactory.getLogger(ConnectionAcceptor.class);
+    private static final int DEFAULT_BACKLOG = 50;
     private final ServerSocket serverSocket;
+    private final SocketSettings socketSettings;
+    private final AtomicLong acceptedCount = new AtomicLong();
 
     public ConnectionAcceptor(Port port) throws IOException {
-        this.serverSocket = new ServerSocket(port.getValue());
+        this(port, DEFAULT_BACKLOG, false, SocketSettings.DEFAULT);
     }
 
+    ConnectionAcceptor(Port port, int backlog, boolean reusePort, SocketSettings socketSettings) throws IOException {
+        this.serverSocket = new ServerSocket();
+        this.socketSettings = socketSettings;
+        try {
+            if (reusePort) {
+                serverSocket.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            }
+            serverSocket.bind(new InetSocketAddress(port.getValue()), backlog);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    static boolean isReusePortSupported() {
+        try (ServerSocket probe = new ServerSocket()) {
+            return probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
     public Socket accept() throws IOException {
-        return serverSocket.accept();
+        Socket socket = serverSocket.accept();
+        acceptedCount.incrementAndGet();
+        try {
+            socketSettings.apply(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        return socket;
+    }
+
+    @Override
+    public long getAcceptedCount() {
+        return acceptedCount.get();
     }
 
+    @Override
     public void close() {
         try {
             serverSocket.close();
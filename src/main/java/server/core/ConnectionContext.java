@@ -0,0 +1,26 @@
+package server.core;
+
+import server.http.parser.RequestLimits;
+
+record ConnectionContext(ThreadPool threadPool,
+                         AdmissionController admissionController,
+                         ConnectionTracker connectionTracker,
+                         RequestDispatcher requestDispatcher,
+                         BufferPool bufferPool,
+                         KeepAlivePolicy keepAlivePolicy,
+                         int maxPipelineDepth,
+                         boolean concurrentPipelineDispatch,
+                         boolean http2Enabled,
+                         int http2MaxConcurrentStreams,
+                         int requestBodyBufferSize,
+                         RequestLimits requestLimits,
+                         TlsContext tlsContext) {
+    ConnectionContext withoutTls() {
+        if (tlsContext == null) {
+            return this;
+        }
+        return new ConnectionContext(threadPool, admissionController, connectionTracker, requestDispatcher, bufferPool,
+                keepAlivePolicy, maxPipelineDepth, concurrentPipelineDispatch, http2Enabled, http2MaxConcurrentStreams,
+                requestBodyBufferSize, requestLimits, null);
+    }
+}
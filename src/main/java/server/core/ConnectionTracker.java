@@ -0,0 +1,87 @@
+package server.core;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ConnectionTracker {
+    private static final long POLL_INTERVAL_MILLIS = 10;
+    private final Set<TrackedConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicLong idleConnectionsClosed = new AtomicLong();
+    private final AtomicLong requestsCompletedWhileDraining = new AtomicLong();
+    private volatile boolean draining;
+
+    void register(TrackedConnection connection) {
+        connections.add(connection);
+        if (draining) {
+            connection.closeIfIdle();
+        }
+    }
+
+    void unregister(TrackedConnection connection) {
+        connections.remove(connection);
+    }
+
+    void requestStarted(int count) {
+        inFlightRequests.addAndGet(count);
+    }
+
+    void requestFinished(int count) {
+        inFlightRequests.addAndGet(-count);
+        if (draining) {
+            requestsCompletedWhileDraining.addAndGet(count);
+        }
+    }
+
+    void requestAborted(int count) {
+        inFlightRequests.addAndGet(-count);
+    }
+
+    void idleConnectionClosed() {
+        idleConnectionsClosed.incrementAndGet();
+    }
+
+    boolean isDraining() {
+        return draining;
+    }
+
+    int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    int getOpenConnections() {
+        return connections.size();
+    }
+
+    DrainReport drain(long timeoutMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        draining = true;
+        for (TrackedConnection connection : connections) {
+            connection.closeIfIdle();
+        }
+        while ((inFlightRequests.get() > 0 || !connections.isEmpty()) && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        int requestsCutOff = Math.max(0, inFlightRequests.get());
+        int connectionsCutOff = connections.size();
+        for (TrackedConnection connection : connections) {
+            connection.forceClose();
+        }
+        return new DrainReport(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                idleConnectionsClosed.get(),
+                requestsCompletedWhileDraining.get(),
+                requestsCutOff,
+                connectionsCutOff);
+    }
+}
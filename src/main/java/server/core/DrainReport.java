@@ -0,0 +1,11 @@
+package server.core;
+
+public record DrainReport(long elapsedMillis,
+                          long idleConnectionsClosed,
+                          long requestsCompleted,
+                          int requestsCutOff,
+                          int connectionsCutOff) {
+    public boolean isClean() {
+        return requestsCutOff == 0 && connectionsCutOff == 0;
+    }
+}
@@ -0,0 +1,120 @@
+package server.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+class EventLoop implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(EventLoop.class);
+    private static final long IDLE_CHECK_INTERVAL_MILLIS = 1000;
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private long lastIdleCheck = System.currentTimeMillis();
+
+    EventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void execute(Runnable task) {
+        pendingTasks.add(task);
+        selector.wakeup();
+    }
+
+    SelectionKey register(SelectableChannel channel, int ops, ChannelHandler handler) throws ClosedChannelException {
+        return channel.register(selector, ops, handler);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select(IDLE_CHECK_INTERVAL_MILLIS);
+                runPendingTasks();
+                processSelectedKeys();
+                checkIdleConnections();
+            } catch (IOException e) {
+                logger.error("Error in event loop", e);
+            }
+        }
+        closeAll();
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Error running event loop task", e);
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            ChannelHandler handler = (ChannelHandler) key.attachment();
+            try {
+                if (key.isValid()) {
+                    handler.onReady(key);
+                }
+            } catch (IOException | CancelledKeyException e) {
+                logger.debug("Closing channel: {}", e.getMessage());
+                handler.close();
+            }
+        }
+    }
+
+    private void checkIdleConnections() {
+        long now = System.currentTimeMillis();
+        if (now - lastIdleCheck < IDLE_CHECK_INTERVAL_MILLIS) {
+            return;
+        }
+        lastIdleCheck = now;
+        for (SelectionKey key : selector.keys()) {
+            ((ChannelHandler) key.attachment()).onIdleCheck(now);
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            ((ChannelHandler) key.attachment()).close();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage());
+        }
+    }
+
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    void awaitTermination() {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package server.core;
+
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,42 @@
+package server.core;
+
+class GradientLimit implements LimitAlgorithm {
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.5;
+    private static final int PROBE_INTERVAL_WINDOWS = 200;
+    private long noLoadLatencyNanos;
+    private int windows;
+    private boolean probing;
+
+    @Override
+    public double update(double limit, int maxInFlight, long latencyNanos) {
+        windows++;
+        if (probing) {
+            probing = false;
+            return limit;
+        }
+        // Periodically shrink the limit and forget the baseline so it can be re-measured without queueing;
+        // the window right after the drop is skipped because it still holds requests admitted before it.
+        if (windows % PROBE_INTERVAL_WINDOWS == 0) {
+            noLoadLatencyNanos = 0;
+            probing = true;
+            return Math.sqrt(limit);
+        }
+        if (noLoadLatencyNanos == 0 || latencyNanos < noLoadLatencyNanos) {
+            noLoadLatencyNanos = latencyNanos;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * noLoadLatencyNanos / latencyNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double updated = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        if (maxInFlight < limit / 2 && updated > limit) {
+            return limit;
+        }
+        return updated;
+    }
+
+    @Override
+    public long baselineLatencyNanos() {
+        return noLoadLatencyNanos;
+    }
+}
@@ -0,0 +1,85 @@
+package server.core;
+
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http2.Http2ErrorCode;
+import server.http2.Http2Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+class Http2StreamDispatcher implements Http2Session.RequestListener {
+    private static final Logger logger = LoggerFactory.getLogger(Http2StreamDispatcher.class);
+    private final ConnectionContext context;
+
+    Http2StreamDispatcher(ConnectionContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void onRequest(Http2Session session, int streamId, HttpRequest request) {
+        logger.debug("Received HTTP/2 request: stream => {}, path => {}, method => {}",
+                streamId, request.getPath(), request.getMethod());
+        context.connectionTracker().requestStarted(1);
+        Runnable task = () -> handle(session, streamId, request);
+        if (!context.admissionController().tryExecute(task, () -> reject(session, streamId, request))) {
+            reject(session, streamId, request);
+        }
+    }
+
+    private void handle(Http2Session session, int streamId, HttpRequest request) {
+        CompletableFuture<HttpResponse> response;
+        try {
+            response = context.requestDispatcher().handleRequestAsync(request);
+        } catch (RuntimeException e) {
+            logger.error("Error processing HTTP/2 stream " + streamId, e);
+            session.cancelStream(streamId, Http2ErrorCode.INTERNAL_ERROR);
+            context.connectionTracker().requestAborted(1);
+            request.getRequestBody().discard();
+            return;
+        }
+        if (response.isDone()) {
+            send(session, streamId, request, response.join());
+            return;
+        }
+        response.thenAcceptAsync(result -> send(session, streamId, request, result), context.threadPool()::execute)
+                .exceptionally(e -> {
+                    logger.debug("Dropping HTTP/2 response for stream {}: {}", streamId, e.getMessage());
+                    context.connectionTracker().requestAborted(1);
+                    request.getRequestBody().discard();
+                    return null;
+                });
+    }
+
+    private void send(Http2Session session, int streamId, HttpRequest request, HttpResponse response) {
+        try {
+            sendResponse(session, streamId, response);
+        } finally {
+            request.getRequestBody().discard();
+        }
+    }
+
+    private void sendResponse(Http2Session session, int streamId, HttpResponse response) {
+        if (response.isStreaming()) {
+            try {
+                session.sendStreamingResponse(streamId, response);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Error streaming HTTP/2 response for stream {}: {}", streamId, e.getMessage());
+                session.cancelStream(streamId, Http2ErrorCode.INTERNAL_ERROR);
+                context.connectionTracker().requestAborted(1);
+                return;
+            }
+        } else {
+            session.sendResponse(streamId, response);
+        }
+        context.connectionTracker().requestFinished(1);
+    }
+
+    private void reject(Http2Session session, int streamId, HttpRequest request) {
+        session.sendResponse(streamId, context.admissionController().getServiceUnavailable());
+        context.connectionTracker().requestAborted(1);
+        request.getRequestBody().discard();
+    }
+}
@@ -1,23 +1,60 @@
 package server.core;
 
+import server.http.ConnectionUpgrade;
+import server.http.EventSink;
 import server.http.HttpRequest;
 import server.http.HttpResponse;
 import server.http.parser.Http11Parser;
+import server.http.parser.RequestRejectedException;
+import server.http2.FrameSink;
+import server.http2.Http2ErrorCode;
+import server.http2.Http2Session;
+import server.http2.Http2Upgrade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.net.ssl.SSLSocket;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
-class HttpConnectionProcessor implements Runnable {
+class HttpConnectionProcessor implements Runnable, TrackedConnection {
     private static final Logger logger = LoggerFactory.getLogger(HttpConnectionProcessor.class);
+    private static final int IDLE = 0;
+    private static final int BUSY = 1;
+    private static final int CLOSED = 2;
+    private static final int HTTP2_READ_BUFFER_SIZE = 16384;
+    private static final int IDLE_POLL_MILLIS = 50;
+    private final ConnectionContext context;
     private final RequestDispatcher requestDispatcher;
+    private final KeepAlivePolicy keepAlivePolicy;
+    private final int maxPipelineDepth;
+    private final ConnectionTracker connectionTracker;
+    private final BufferPool bufferPool;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
     private Socket clientSocket;
+    private volatile Http2Session http2Session;
+    private ClientConnection connection;
+    private int handledRequests;
+    private int batchSize;
+    private boolean keepAlive = true;
+    private HttpRequest pendingRequest;
+    private CompletableFuture<HttpResponse> pendingResponse;
 
-    public HttpConnectionProcessor(Socket socket, RequestDispatcher requestDispatcher) {
+    public HttpConnectionProcessor(Socket socket, ConnectionContext context) {
         this.clientSocket = socket;
-        this.requestDispatcher = requestDispatcher;
+        this.context = context;
+        this.requestDispatcher = context.requestDispatcher();
+        this.keepAlivePolicy = context.keepAlivePolicy();
+        this.maxPipelineDepth = context.maxPipelineDepth();
+        this.connectionTracker = context.connectionTracker();
+        this.bufferPool = context.bufferPool();
     }
 
     @Override
@@ -27,33 +64,335 @@ class HttpConnectionProcessor implements Runnable {
             return;
         }
 
-        try (ClientConnection connection = new ClientConnection(clientSocket)) {
-            processConnection(connection);
+        boolean suspended = false;
+        try {
+            if (connection == null) {
+                connectionTracker.register(this);
+                connection = new ClientConnection(clientSocket, bufferPool);
+                clientSocket.setSoTimeout(keepAlivePolicy.idleTimeoutMillis());
+                logger.debug("Processing client connection");
+            }
+            suspended = processConnection(connection);
         } catch (Exception e) {
-            logger.error("Error processing client connection", e);
+            if (state.get() != CLOSED) {
+                logger.error("Error processing client connection", e);
+            }
+        } finally {
+            if (!suspended) {
+                release();
+            }
         }
     }
 
-    private void processConnection(ClientConnection connection) throws IOException {
-        logger.debug("Processing client connection");
-        HttpRequest request = parseRequest(connection);
-        HttpResponse response = handleRequest(request);
-        sendResponse(connection, response);
+    private boolean processConnection(ClientConnection connection) throws IOException {
+        if (pendingRequest != null) {
+            HttpRequest request = pendingRequest;
+            pendingRequest = null;
+            HttpResponse response = pendingResponse.join();
+            pendingResponse = null;
+            writeResponse(connection, request, response);
+            if (response.isUpgrade()) {
+                serveUpgrade(connection, response.getUpgrade());
+                return false;
+            }
+        }
+        while (true) {
+            if (batchSize > 0 && !(keepAlive && batchSize < maxPipelineDepth && connection.hasBufferedRequest())) {
+                connection.getOutputStream().flush();
+                batchSize = 0;
+                state.compareAndSet(BUSY, IDLE);
+            }
+            if (batchSize == 0) {
+                if (!keepAlive || !awaitRequest(connection) || !state.compareAndSet(IDLE, BUSY)) {
+                    return false;
+                }
+                if (context.http2Enabled() && handledRequests == 0 && connection.hasHttp2Preface()) {
+                    serveHttp2(connection, null);
+                    return false;
+                }
+            }
+            connectionTracker.requestStarted(1);
+            HttpRequest request;
+            CompletableFuture<HttpResponse> response;
+            try {
+                request = parseRequest(connection);
+                if (request == null) {
+                    return false;
+                }
+                if (isUpgradable(request)) {
+                    connectionTracker.requestAborted(1);
+                    connection.getOutputStream().flush();
+                    connection.getOutputStream().write(Http2Upgrade.SWITCHING_PROTOCOLS);
+                    serveHttp2(connection, request);
+                    return false;
+                }
+                response = requestDispatcher.handleRequestAsync(request);
+            } catch (RequestRejectedException e) {
+                logger.debug("Rejecting request: {}", e.getMessage());
+                writeEarlyResponse(connection, e.toResponse());
+                return false;
+            } catch (IOException | RuntimeException e) {
+                connectionTracker.requestAborted(1);
+                throw e;
+            }
+            handledRequests++;
+            batchSize++;
+            if (!response.isDone()) {
+                connection.getOutputStream().flush();
+                suspend(request, response);
+                return true;
+            }
+            HttpResponse result = response.join();
+            writeResponse(connection, request, result);
+            if (result.isUpgrade()) {
+                serveUpgrade(connection, result.getUpgrade());
+                return false;
+            }
+        }
+    }
+
+    private boolean awaitRequest(ClientConnection connection) throws IOException {
+        if (handledRequests == 0) {
+            return connection.awaitRequest();
+        }
+        AdmissionController admissionController = context.admissionController();
+        boolean arrived = connection.awaitRequest(IDLE_POLL_MILLIS, () -> !admissionController.hasQueuedTasks());
+        if (!arrived && admissionController.hasQueuedTasks()) {
+            logger.debug("Closing idle keep-alive connection to free a worker for queued connections");
+        }
+        return arrived;
+    }
+
+    private void suspend(HttpRequest request, CompletableFuture<HttpResponse> response) {
+        pendingRequest = request;
+        pendingResponse = response;
+        response.whenComplete((result, error) -> resume());
+    }
+
+    private void resume() {
+        try {
+            context.threadPool().execute(this);
+        } catch (RejectedExecutionException e) {
+            connectionTracker.requestAborted(1);
+            state.set(CLOSED);
+            release();
+        }
+    }
+
+    private void release() {
+        try {
+            if (connection != null) {
+                connection.close();
+            } else {
+                clientSocket.close();
+            }
+        } catch (IOException e) {
+            logger.debug("Error closing client connection: {}", e.getMessage());
+        } finally {
+            connectionTracker.unregister(this);
+        }
+    }
+
+    private void serveHttp2(ClientConnection connection, HttpRequest upgradeRequest) throws IOException {
+        logger.debug("Switching client connection to HTTP/2");
+        OutputStream out = connection.getOutputStream();
+        FrameSink sink = new FrameSink() {
+            @Override
+            public void write(byte[] frame) throws IOException {
+                out.write(frame);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() {
+                state.set(CLOSED);
+                closeSocket();
+            }
+        };
+        Http2Session session = new Http2Session(context.http2MaxConcurrentStreams(), context.requestBodyBufferSize(),
+                context.requestLimits(), sink, new Http2StreamDispatcher(context));
+        http2Session = session;
+        byte[] buffer = bufferPool.acquire(HTTP2_READ_BUFFER_SIZE);
+        try {
+            session.start();
+            if (upgradeRequest != null) {
+                session.upgrade(upgradeRequest, Http2Upgrade.settingsOf(upgradeRequest));
+            }
+            if (connectionTracker.isDraining()) {
+                session.goAway(Http2ErrorCode.NO_ERROR);
+            }
+            InputStream in = connection.getInputStream();
+            while (!session.isClosed()) {
+                int read;
+                try {
+                    read = in.read(buffer, 0, buffer.length);
+                } catch (SocketTimeoutException e) {
+                    if (session.getActiveStreams() == 0) {
+                        session.goAway(Http2ErrorCode.NO_ERROR);
+                    }
+                    continue;
+                }
+                if (read == -1) {
+                    break;
+                }
+                session.receive(buffer, 0, read);
+            }
+        } finally {
+            session.close();
+            bufferPool.release(buffer);
+        }
+    }
+
+    private void serveUpgrade(ClientConnection connection, ConnectionUpgrade upgrade) throws IOException {
+        logger.debug("Switching client connection to an upgraded protocol");
+        OutputStream out = connection.getOutputStream();
+        out.flush();
+        ReentrantLock writeLock = new ReentrantLock();
+        EventSink sink = new EventSink() {
+            @Override
+            public boolean send(byte[] data) {
+                writeLock.lock();
+                try {
+                    out.write(data);
+                    out.flush();
+                    return true;
+                } catch (IOException e) {
+                    return false;
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+
+            @Override
+            public boolean isWritable() {
+                return state.get() != CLOSED;
+            }
+
+            @Override
+            public void close() {
+                state.set(CLOSED);
+                closeSocket();
+            }
+
+            @Override
+            public void abort() {
+                close();
+            }
+        };
+        byte[] buffer = bufferPool.acquire(HTTP2_READ_BUFFER_SIZE);
+        try {
+            upgrade.open(sink, Runnable::run);
+            InputStream in = connection.getInputStream();
+            while (state.get() != CLOSED) {
+                int read;
+                try {
+                    read = in.read(buffer, 0, buffer.length);
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                if (read == -1) {
+                    break;
+                }
+                upgrade.receive(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            if (state.get() != CLOSED) {
+                throw e;
+            }
+        } finally {
+            upgrade.closed();
+            bufferPool.release(buffer);
+        }
+    }
+
+    private boolean isUpgradable(HttpRequest request) {
+        return context.http2Enabled() && !(clientSocket instanceof SSLSocket) && Http2Upgrade.isRequested(request);
     }
 
     private HttpRequest parseRequest(ClientConnection connection) throws IOException {
-        HttpRequest request = Http11Parser.parse(connection.getInputStream());
+        InputStream in = connection.getInputStream();
+        HttpRequest.Builder builder = connection.readRequestHead(context.requestLimits());
+        boolean chunked = Http11Parser.isChunked(builder);
+        long contentLength = Http11Parser.contentLength(builder);
+        boolean expectsContinue = Http11Parser.expectsContinue(builder);
+        if (chunked || contentLength > 0) {
+            HttpRequest head = builder.build();
+            if (!requestDispatcher.hasRoute(head)) {
+                logger.debug("No route for {} {}, skipping request body", head.getMethod(), head.getPath());
+                if (chunked || expectsContinue || contentLength > context.requestBodyBufferSize()) {
+                    writeEarlyResponse(connection, requestDispatcher.notFound(head));
+                    return null;
+                }
+                in.skipNBytes(contentLength);
+                return head;
+            }
+            if (expectsContinue) {
+                connection.getOutputStream().write(HttpResponse.CONTINUE);
+                connection.getOutputStream().flush();
+            }
+            Http11Parser.parseBody(in, builder, context.requestBodyBufferSize(), context.requestLimits().maxBodyBytes());
+        }
+        HttpRequest request = builder.build();
         logger.debug("Received request: path => {}, method => {}", request.getPath(), request.getMethod());
         return request;
     }
 
-    private HttpResponse handleRequest(HttpRequest request) {
-        return requestDispatcher.handleRequest(request);
+    private void writeEarlyResponse(ClientConnection connection, HttpResponse response) throws IOException {
+        keepAlive = false;
+        try {
+            response.writeTo(connection.getOutputStream(), false);
+            connection.getOutputStream().flush();
+        } finally {
+            connectionTracker.requestFinished(1);
+        }
     }
 
-    private void sendResponse(ClientConnection connection, HttpResponse response) throws IOException {
-        OutputStream out = connection.getOutputStream();
-        out.write(response.getBytes());
-        out.flush();
+    private void writeResponse(ClientConnection connection, HttpRequest request, HttpResponse response)
+            throws IOException {
+        boolean completed = false;
+        try {
+            keepAlive = keepAlivePolicy.shouldKeepAlive(request, response, handledRequests)
+                    && !connectionTracker.isDraining();
+            response.writeTo(connection.getOutputStream(), keepAlive, request.getVersion());
+            completed = true;
+        } finally {
+            request.getRequestBody().discard();
+            if (completed) {
+                connectionTracker.requestFinished(1);
+            } else {
+                connectionTracker.requestAborted(1);
+            }
+        }
+    }
+
+    @Override
+    public void closeIfIdle() {
+        Http2Session session = http2Session;
+        if (session != null) {
+            session.goAway(Http2ErrorCode.NO_ERROR);
+            return;
+        }
+        if (state.compareAndSet(IDLE, CLOSED)) {
+            closeSocket();
+            connectionTracker.idleConnectionClosed();
+        }
+    }
+
+    @Override
+    public void forceClose() {
+        state.set(CLOSED);
+        closeSocket();
+    }
+
+    private void closeSocket() {
+        try {
+            clientSocket.close();
+        } catch (IOException e) {
+            logger.debug("Error closing client socket: {}", e.getMessage());
+        }
     }
 }
@@ -0,0 +1,63 @@
+package server.core;
+
+import server.http.parser.Http11Parser;
+import server.http.parser.RequestFraming;
+import server.http.parser.RequestLimits;
+import server.http.parser.RequestRejectedException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class HttpRequestFramer {
+    private static final byte[] HTTP_1 = "HTTP/1.".getBytes(StandardCharsets.US_ASCII);
+
+    private HttpRequestFramer() {
+    }
+
+    static int frameLength(byte[] buffer, int length) {
+        return frameLength(buffer, 0, length);
+    }
+
+    static int frameLength(byte[] buffer, int offset, int limit) {
+        Head head = head(buffer, offset, limit);
+        if (head == null || head.chunked()) {
+            return -1;
+        }
+        long total = head.length() + head.contentLength();
+        return total <= limit - offset ? (int) total : -1;
+    }
+
+    static Head head(byte[] buffer, int offset, int limit) {
+        return head(buffer, offset, limit, RequestLimits.UNLIMITED);
+    }
+
+    static Head head(byte[] buffer, int offset, int limit, RequestLimits limits) {
+        int headLength = Http11Parser.headLength(buffer, offset, limit, limits);
+        if (headLength < 0) {
+            return null;
+        }
+        checkVersion(buffer, offset, offset + headLength);
+        RequestFraming framing = RequestFraming.of(buffer, offset, headLength, limits);
+        return new Head(headLength, framing.contentLength(), framing.chunked(), framing.expectsContinue());
+    }
+
+    private static void checkVersion(byte[] buffer, int from, int to) {
+        int lineEnd = from;
+        while (lineEnd < to && buffer[lineEnd] != '\n') {
+            lineEnd++;
+        }
+        int end = lineEnd;
+        while (end > from && (buffer[end - 1] == '\r' || buffer[end - 1] == ' ' || buffer[end - 1] == '\t')) {
+            end--;
+        }
+        int start = end - HTTP_1.length - 2;
+        if (start < from || buffer[start] != ' ' || buffer[end - 1] < '0' || buffer[end - 1] > '9'
+                || !Arrays.equals(buffer, start + 1, end - 1, HTTP_1, 0, HTTP_1.length)) {
+            throw RequestRejectedException.badRequest("Invalid request line: "
+                    + new String(buffer, from, lineEnd - from, StandardCharsets.ISO_8859_1).strip());
+        }
+    }
+
+    record Head(int length, long contentLength, boolean chunked, boolean expectsContinue) {
+    }
+}
@@ -0,0 +1,34 @@
+package server.core;
+
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+record KeepAlivePolicy(int idleTimeoutMillis, int maxRequests) {
+    boolean shouldKeepAlive(HttpRequest request, HttpResponse response, int handledRequests) {
+        if (handledRequests >= maxRequests || response.isCloseDelimited(request.getVersion())) {
+            return false;
+        }
+        String responseConnection = response.getHeader("Connection");
+        if (responseConnection != null && hasToken(responseConnection, "close")) {
+            return false;
+        }
+        return isPersistent(request);
+    }
+
+    private static boolean isPersistent(HttpRequest request) {
+        String connection = request.getHeader("Connection");
+        if ("HTTP/1.1".equals(request.getVersion())) {
+            return connection == null || !hasToken(connection, "close");
+        }
+        return connection != null && hasToken(connection, "keep-alive");
+    }
+
+    private static boolean hasToken(String headerValue, String token) {
+        for (String part : headerValue.split(",")) {
+            if (part.trim().equalsIgnoreCase(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
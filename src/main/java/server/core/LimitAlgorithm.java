@@ -0,0 +1,7 @@
+package server.core;
+
+interface LimitAlgorithm {
+    double update(double limit, int maxInFlight, long latencyNanos);
+
+    long baselineLatencyNanos();
+}
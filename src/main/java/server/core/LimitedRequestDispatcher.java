@@ -0,0 +1,38 @@
+package server.core;
+
+import server.handler.RequestHandler;
+import server.handler.StaticFileHandler;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class LimitedRequestDispatcher extends RequestDispatcher {
+    private final ConcurrencyLimiter limiter;
+    private final HttpResponse serviceUnavailable;
+
+    LimitedRequestDispatcher(List<RequestHandler> requestHandlers, StaticFileHandler staticFileHandler,
+                             long asyncTimeoutMillis, ConcurrencyLimiter limiter, HttpResponse serviceUnavailable) {
+        super(requestHandlers, staticFileHandler, asyncTimeoutMillis);
+        this.limiter = limiter;
+        this.serviceUnavailable = serviceUnavailable;
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> handleRequestAsync(HttpRequest request) {
+        if (!limiter.tryAcquire()) {
+            return CompletableFuture.completedFuture(serviceUnavailable);
+        }
+        long startedAt = System.nanoTime();
+        CompletableFuture<HttpResponse> response;
+        try {
+            response = super.handleRequestAsync(request);
+        } catch (RuntimeException e) {
+            limiter.release(System.nanoTime() - startedAt);
+            throw e;
+        }
+        response.whenComplete((result, error) -> limiter.release(System.nanoTime() - startedAt));
+        return response;
+    }
+}
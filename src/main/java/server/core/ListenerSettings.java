@@ -0,0 +1,13 @@
+package server.core;
+
+import java.nio.file.Path;
+
+record ListenerSettings(Port port, int shards, int backlog, SocketSettings socketSettings, Path unixSocketPath) {
+    boolean reusePort() {
+        return shards > 1;
+    }
+
+    boolean hasUnixSocket() {
+        return unixSocketPath != null;
+    }
+}
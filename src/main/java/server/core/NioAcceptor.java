@@ -0,0 +1,49 @@
+package server.core;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+class NioAcceptor implements ChannelHandler {
+    private final ServerSocketChannel serverChannel;
+    private final Consumer<SocketChannel> connectionHandler;
+    private final AtomicLong acceptedCount = new AtomicLong();
+
+    NioAcceptor(ServerSocketChannel serverChannel, Consumer<SocketChannel> connectionHandler) {
+        this.serverChannel = serverChannel;
+        this.connectionHandler = connectionHandler;
+    }
+
+    @Override
+    public void onReady(SelectionKey key) throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            acceptedCount.incrementAndGet();
+            channel.configureBlocking(false);
+            connectionHandler.accept(channel);
+        }
+    }
+
+    ServerSocketChannel channel() {
+        return serverChannel;
+    }
+
+    long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    @Override
+    public void onIdleCheck(long now) {
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverChannel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
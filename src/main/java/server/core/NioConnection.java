@@ -0,0 +1,878 @@
+package server.core;
+
+import server.http.ConnectionUpgrade;
+import server.http.EventSink;
+import server.http.EventStream;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http.parser.Http11Parser;
+import server.http.parser.Http11RequestDecoder;
+import server.http.parser.RequestRejectedException;
+import server.http2.FrameSink;
+import server.http2.Http2ErrorCode;
+import server.http2.Http2Session;
+import server.http2.Http2Upgrade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+class NioConnection implements ChannelHandler, TrackedConnection {
+    private static final Logger logger = LoggerFactory.getLogger(NioConnection.class);
+    private static final int BUFFER_SIZE = 8192;
+    private static final int RESPONSE_HIGH_WATERMARK = 64 * 1024;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private final SocketChannel channel;
+    private final EventLoop eventLoop;
+    private final ConnectionContext context;
+    private final TlsChannel tls;
+    private byte[] inbound;
+    private ByteBuffer inboundView;
+    private int inboundLength;
+    private ByteBuffer[] outbound;
+    private boolean closeAfterWrite;
+    private boolean processing;
+    private int handledRequests;
+    private int pendingRequests;
+    private long lastActivity = System.currentTimeMillis();
+    private SelectionKey key;
+    private HttpRequest pendingUpgrade;
+    private Http2Session http2Session;
+    private final Queue<ByteBuffer> http2Outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private Http11RequestDecoder requestDecoder;
+    private final ResponseOutputStream responseStream;
+    private boolean responseComplete;
+    private EventStream eventStream;
+    private ConnectionUpgrade protocolUpgrade;
+    private volatile boolean http2CloseRequested;
+
+    private NioConnection(SocketChannel channel, EventLoop eventLoop, ConnectionContext context) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.context = context;
+        this.tls = context.tlsContext() == null
+                ? null
+                : new TlsChannel(channel, context.tlsContext().createEngine(), context.bufferPool());
+        this.inbound = context.bufferPool().acquire(BUFFER_SIZE);
+        this.inboundView = ByteBuffer.wrap(inbound);
+        this.responseStream = new ResponseOutputStream(this::scheduleFlush, RESPONSE_HIGH_WATERMARK);
+    }
+
+    static void open(SocketChannel channel, EventLoop eventLoop, ConnectionContext context) {
+        NioConnection connection = new NioConnection(channel, eventLoop, context);
+        try {
+            connection.key = eventLoop.register(channel, SelectionKey.OP_READ, connection);
+            context.connectionTracker().register(connection);
+        } catch (IOException e) {
+            logger.error("Error registering client connection", e);
+            connection.close();
+        }
+    }
+
+    @Override
+    public void onReady(SelectionKey key) throws IOException {
+        if (key.isReadable()) {
+            read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            if (tls != null && !tls.isEstablished()) {
+                tls.handshake();
+                read();
+            } else if (http2Session != null) {
+                flushHttp2();
+            } else {
+                flush();
+            }
+        }
+    }
+
+    private void read() {
+        int read;
+        try {
+            read = readInbound();
+        } catch (IOException e) {
+            logger.debug("Error reading request: {}", e.getMessage());
+            close();
+            return;
+        }
+        if (read == -1) {
+            close();
+            return;
+        }
+        lastActivity = System.currentTimeMillis();
+        if (tls != null && !tls.isEstablished()) {
+            key.interestOps(tls.hasPendingOutput() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            return;
+        }
+        if (http2Session != null) {
+            receiveHttp2();
+            return;
+        }
+        if (protocolUpgrade != null) {
+            receiveUpgraded();
+            return;
+        }
+        if (eventStream != null) {
+            inboundLength = 0;
+            return;
+        }
+        dispatchBufferedRequests();
+    }
+
+    private int readInbound() throws IOException {
+        int total = 0;
+        do {
+            if (inboundLength == inbound.length) {
+                grow();
+            }
+            inboundView.limit(inbound.length).position(inboundLength);
+            int read = tls == null ? channel.read(inboundView) : tls.read(inboundView);
+            if (read == -1) {
+                return total == 0 ? -1 : total;
+            }
+            inboundLength += read;
+            total += read;
+        } while (tls != null && tls.hasBufferedInput());
+        return total;
+    }
+
+    private void grow() {
+        byte[] grown = context.bufferPool().acquire(inbound.length * 2);
+        System.arraycopy(inbound, 0, grown, 0, inboundLength);
+        context.bufferPool().release(inbound);
+        inbound = grown;
+        inboundView = ByteBuffer.wrap(inbound);
+    }
+
+    private void dispatchBufferedRequests() {
+        if (requestDecoder != null) {
+            receiveBody();
+            return;
+        }
+        if (context.http2Enabled() && handledRequests == 0 && startsWithPreface()) {
+            if (inboundLength >= Http2Session.PREFACE.length) {
+                startHttp2(null);
+            }
+            return;
+        }
+        List<InboundRequest> batch;
+        try {
+            batch = takeBufferedRequests();
+        } catch (RequestRejectedException e) {
+            logger.debug("Rejecting request: {}", e.getMessage());
+            respondEarly(e.toResponse());
+            return;
+        } catch (IllegalArgumentException | IOException e) {
+            logger.error("Error processing client connection", e);
+            close();
+            return;
+        }
+        if (batch.isEmpty()) {
+            if (requestDecoder != null) {
+                receiveBody();
+            } else if (!processing) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+            return;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(List<InboundRequest> batch) {
+        processing = true;
+        pendingRequests = batch.size();
+        context.connectionTracker().requestStarted(pendingRequests);
+        int firstRequestNumber = handledRequests + 1;
+        handledRequests += batch.size();
+        key.interestOps(0);
+        Runnable task = context.concurrentPipelineDispatch() && batch.size() > 1
+                ? () -> dispatchConcurrently(batch, firstRequestNumber)
+                : () -> processSequentially(batch, firstRequestNumber);
+        if (!context.admissionController().tryExecute(task, () -> eventLoop.execute(() -> reject(batch)))) {
+            reject(batch);
+        }
+    }
+
+    private void reject(List<InboundRequest> batch) {
+        for (InboundRequest request : batch) {
+            if (request.parsed() != null) {
+                request.parsed().getRequestBody().discard();
+            }
+        }
+        try {
+            responseStream.enqueue(ByteBuffer.wrap(context.admissionController().getServiceUnavailableResponse()));
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        finishResponse(false, null);
+    }
+
+    private List<InboundRequest> takeBufferedRequests() throws IOException {
+        List<InboundRequest> batch = new ArrayList<>();
+        while (batch.size() < context.maxPipelineDepth()) {
+            if (context.http2Enabled() && handledRequests == 0 && startsWithPreface()) {
+                break;
+            }
+            HttpRequestFramer.Head head;
+            try {
+                head = HttpRequestFramer.head(inbound, 0, inboundLength, context.requestLimits());
+            } catch (RequestRejectedException e) {
+                if (batch.isEmpty()) {
+                    throw e;
+                }
+                break;
+            }
+            if (head == null) {
+                break;
+            }
+            int requestLength = head.chunked() ? -1 : head.length() + (int) head.contentLength();
+            if (head.chunked() || head.contentLength() > context.requestBodyBufferSize()
+                    || (head.expectsContinue() && requestLength > inboundLength)) {
+                if (batch.isEmpty()) {
+                    startBody(head);
+                }
+                break;
+            }
+            if (requestLength > inboundLength) {
+                break;
+            }
+            batch.add(new InboundRequest(Arrays.copyOf(inbound, requestLength), null));
+            consumeInbound(requestLength);
+        }
+        return batch;
+    }
+
+    private void startBody(HttpRequestFramer.Head head) throws IOException {
+        Http11RequestDecoder decoder = new Http11RequestDecoder(context.requestLimits(),
+                context.requestBodyBufferSize());
+        consumeInbound(decoder.decode(inbound, 0, head.length()));
+        HttpRequest request = decoder.head().build();
+        if (!context.requestDispatcher().hasRoute(request)) {
+            logger.debug("No route for {} {}, skipping request body", request.getMethod(), request.getPath());
+            respondEarly(context.requestDispatcher().notFound(request));
+            return;
+        }
+        requestDecoder = decoder;
+        if (head.expectsContinue()) {
+            responseStream.enqueue(ByteBuffer.wrap(HttpResponse.CONTINUE));
+            flush();
+        }
+    }
+
+    private void respondEarly(HttpResponse response) {
+        processing = true;
+        pendingRequests = 1;
+        context.connectionTracker().requestStarted(1);
+        key.interestOps(0);
+        try {
+            responseStream.enqueue(ByteBuffer.wrap(response.getBytes(false)));
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        finishResponse(false, null);
+    }
+
+    private void receiveBody() {
+        HttpRequest request = null;
+        try {
+            consumeInbound(requestDecoder.decode(inbound, 0, inboundLength));
+            if (requestDecoder.isComplete()) {
+                request = requestDecoder.take();
+            }
+        } catch (RequestRejectedException e) {
+            logger.debug("Rejecting request body: {}", e.getMessage());
+            requestDecoder.discard();
+            requestDecoder = null;
+            respondEarly(e.toResponse());
+            return;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error receiving request body", e);
+            close();
+            return;
+        }
+        if (request == null) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+            return;
+        }
+        requestDecoder = null;
+        dispatch(List.of(new InboundRequest(null, request)));
+    }
+
+    private void consumeInbound(int length) {
+        inboundLength -= length;
+        System.arraycopy(inbound, length, inbound, 0, inboundLength);
+    }
+
+    private void processSequentially(List<InboundRequest> batch, int firstRequestNumber) {
+        processSequentially(batch, new Exchange[batch.size()], 0, firstRequestNumber);
+    }
+
+    private void processSequentially(List<InboundRequest> batch, Exchange[] exchanges, int start, int firstRequestNumber) {
+        for (int i = start; i < exchanges.length; i++) {
+            exchanges[i] = process(batch.get(i));
+            if (exchanges[i] == null) {
+                break;
+            }
+            if (!exchanges[i].isUpgrade() && !exchanges[i].response().isDone()) {
+                int next = i + 1;
+                exchanges[i].response().whenComplete((response, error) -> resume(() ->
+                        processSequentially(batch, exchanges, next, firstRequestNumber)));
+                return;
+            }
+        }
+        completeBatch(exchanges, firstRequestNumber);
+    }
+
+    private void dispatchConcurrently(List<InboundRequest> batch, int firstRequestNumber) {
+        Exchange[] exchanges = new Exchange[batch.size()];
+        AtomicInteger remaining = new AtomicInteger(exchanges.length);
+        Runnable completion = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                completeBatch(exchanges, firstRequestNumber);
+            }
+        };
+        for (int i = 0; i < exchanges.length; i++) {
+            int index = i;
+            Runnable task = () -> {
+                exchanges[index] = process(batch.get(index));
+                if (exchanges[index] == null || exchanges[index].isUpgrade()) {
+                    completion.run();
+                } else {
+                    exchanges[index].response().whenComplete((response, error) -> completion.run());
+                }
+            };
+            Runnable reject = () -> {
+                exchanges[index] = rejected(batch.get(index));
+                completion.run();
+            };
+            boolean admitted;
+            try {
+                admitted = context.admissionController().tryExecute(task, reject);
+            } catch (RejectedExecutionException e) {
+                admitted = false;
+            }
+            if (!admitted) {
+                reject.run();
+            }
+        }
+    }
+
+    private Exchange rejected(InboundRequest inboundRequest) {
+        if (inboundRequest.parsed() != null) {
+            inboundRequest.parsed().getRequestBody().discard();
+        }
+        return new Exchange(null, CompletableFuture.completedFuture(context.admissionController().getServiceUnavailable()));
+    }
+
+    private void resume(Runnable continuation) {
+        try {
+            context.threadPool().execute(continuation);
+        } catch (RejectedExecutionException e) {
+            forceClose();
+        }
+    }
+
+    private Exchange process(InboundRequest inboundRequest) {
+        try {
+            HttpRequest request = inboundRequest.parsed() != null
+                    ? inboundRequest.parsed()
+                    : Http11Parser.parse(inboundRequest.bytes(), 0, inboundRequest.bytes().length,
+                            context.requestBodyBufferSize());
+            logger.debug("Received request: path => {}, method => {}", request.getPath(), request.getMethod());
+            if (context.http2Enabled() && tls == null && Http2Upgrade.isRequested(request)) {
+                return new Exchange(request, null);
+            }
+            return new Exchange(request, context.requestDispatcher().handleRequestAsync(request));
+        } catch (Exception e) {
+            logger.error("Error processing client connection", e);
+            return null;
+        }
+    }
+
+    private void completeBatch(Exchange[] exchanges, int firstRequestNumber) {
+        if (hasStreamingResponse(exchanges)) {
+            resume(() -> writeBatch(exchanges, firstRequestNumber));
+        } else {
+            writeBatch(exchanges, firstRequestNumber);
+        }
+    }
+
+    private static boolean hasStreamingResponse(Exchange[] exchanges) {
+        for (Exchange exchange : exchanges) {
+            if (exchange == null || exchange.isUpgrade()) {
+                return false;
+            }
+            HttpResponse response = exchange.response().join();
+            if (response.isStreaming() && !response.isEventStream()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeBatch(Exchange[] exchanges, int firstRequestNumber) {
+        boolean keepAlive = true;
+        HttpRequest upgrade = null;
+        EventStream stream = null;
+        ConnectionUpgrade switched = null;
+        try {
+            for (int i = 0; i < exchanges.length && keepAlive; i++) {
+                Exchange exchange = exchanges[i];
+                if (exchange == null) {
+                    keepAlive = false;
+                    break;
+                }
+                if (exchange.isUpgrade()) {
+                    responseStream.enqueue(ByteBuffer.wrap(Http2Upgrade.SWITCHING_PROTOCOLS));
+                    upgrade = exchange.request();
+                    break;
+                }
+                if (exchange.isRejected()) {
+                    responseStream.enqueue(ByteBuffer.wrap(context.admissionController().getServiceUnavailableResponse()));
+                    keepAlive = false;
+                    break;
+                }
+                HttpResponse response = exchange.response().join();
+                if (response.isUpgrade()) {
+                    responseStream.enqueue(ByteBuffer.wrap(response.getHeadBytes(false)));
+                    switched = response.getUpgrade();
+                    break;
+                }
+                if (response.isEventStream()) {
+                    responseStream.enqueue(ByteBuffer.wrap(response.getHeadBytes(false)));
+                    stream = response.getEventStream();
+                    break;
+                }
+                keepAlive = context.keepAlivePolicy()
+                        .shouldKeepAlive(exchange.request(), response, firstRequestNumber + i)
+                        && !context.connectionTracker().isDraining();
+                if (response.isStreaming()) {
+                    response.writeTo(responseStream, keepAlive, exchange.request().getVersion());
+                    responseStream.flush();
+                } else {
+                    responseStream.enqueue(ByteBuffer.wrap(response.getHeadBytes(keepAlive)));
+                    responseStream.enqueue(ByteBuffer.wrap(response.getBody()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Error writing response: {}", e.getMessage());
+            forceClose();
+            return;
+        } finally {
+            discardRequestBodies(exchanges);
+        }
+        if (switched != null) {
+            ConnectionUpgrade opened = switched;
+            eventLoop.execute(() -> openUpgrade(opened));
+            return;
+        }
+        if (stream != null) {
+            EventStream opened = stream;
+            eventLoop.execute(() -> openEventStream(opened));
+            return;
+        }
+        boolean persistent = keepAlive;
+        HttpRequest upgradeRequest = upgrade;
+        eventLoop.execute(() -> finishResponse(persistent, upgradeRequest));
+    }
+
+    private static void discardRequestBodies(Exchange[] exchanges) {
+        for (Exchange exchange : exchanges) {
+            if (exchange != null && !exchange.isUpgrade() && !exchange.isRejected()) {
+                exchange.request().getRequestBody().discard();
+            }
+        }
+    }
+
+    private void openEventStream(EventStream stream) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        eventStream = stream;
+        closeAfterWrite = true;
+        finishPendingRequests();
+        stream.open(new ChannelEventSink(true));
+        flushResponse();
+    }
+
+    private void openUpgrade(ConnectionUpgrade upgrade) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        protocolUpgrade = upgrade;
+        closeAfterWrite = true;
+        finishPendingRequests();
+        upgrade.open(new ChannelEventSink(false), context.threadPool()::execute);
+        flushResponse();
+        if (inboundLength > 0 && channel.isOpen()) {
+            receiveUpgraded();
+        }
+    }
+
+    private void receiveUpgraded() {
+        try {
+            protocolUpgrade.receive(inbound, 0, inboundLength);
+        } catch (RuntimeException e) {
+            logger.error("Error processing upgraded connection", e);
+            close();
+            return;
+        }
+        inboundLength = 0;
+    }
+
+    private void finishResponse(boolean keepAlive, HttpRequest upgradeRequest) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        closeAfterWrite = !keepAlive;
+        pendingUpgrade = upgradeRequest;
+        responseComplete = true;
+        flushResponse();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(this::runScheduledFlush);
+        }
+    }
+
+    private void runScheduledFlush() {
+        flushScheduled.set(false);
+        if (http2Session != null) {
+            flushHttp2();
+        } else if (channel.isOpen()) {
+            flushResponse();
+        }
+    }
+
+    private void flushResponse() {
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.debug("Error writing response: {}", e.getMessage());
+            close();
+        }
+    }
+
+    private void flush() throws IOException {
+        outbound = responseStream.drain(outbound);
+        long queued = remaining(outbound);
+        writeOutbound();
+        long unwritten = remaining(outbound);
+        responseStream.written(queued - unwritten);
+        int readInterest = requestDecoder != null || eventStream != null || protocolUpgrade != null
+                ? SelectionKey.OP_READ : 0;
+        if (unwritten > 0 || (tls != null && tls.hasPendingOutput())) {
+            key.interestOps(SelectionKey.OP_WRITE | readInterest);
+            return;
+        }
+        outbound = null;
+        if (!responseComplete) {
+            key.interestOps(readInterest);
+            if (eventStream != null) {
+                eventStream.writable();
+            } else if (protocolUpgrade != null) {
+                protocolUpgrade.writable();
+            }
+            return;
+        }
+        responseComplete = false;
+        finishPendingRequests();
+        if (pendingUpgrade != null) {
+            HttpRequest upgrade = pendingUpgrade;
+            pendingUpgrade = null;
+            startHttp2(upgrade);
+            return;
+        }
+        if (closeAfterWrite || context.connectionTracker().isDraining()) {
+            close();
+            return;
+        }
+        processing = false;
+        lastActivity = System.currentTimeMillis();
+        dispatchBufferedRequests();
+    }
+
+    private static long remaining(ByteBuffer[] buffers) {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        return remaining;
+    }
+
+    private void writeOutbound() throws IOException {
+        if (tls == null) {
+            channel.write(outbound);
+        } else {
+            tls.write(outbound);
+        }
+    }
+
+    private boolean startsWithPreface() {
+        byte[] preface = Http2Session.PREFACE;
+        for (int i = 0; i < Math.min(inboundLength, preface.length); i++) {
+            if (inbound[i] != preface[i]) {
+                return false;
+            }
+        }
+        return inboundLength > 0;
+    }
+
+    private void startHttp2(HttpRequest upgradeRequest) {
+        logger.debug("Switching client connection to HTTP/2");
+        processing = false;
+        http2Session = new Http2Session(context.http2MaxConcurrentStreams(), context.requestBodyBufferSize(),
+                context.requestLimits(), new ChannelFrameSink(), new Http2StreamDispatcher(context));
+        key.interestOps(SelectionKey.OP_READ);
+        http2Session.start();
+        if (upgradeRequest != null) {
+            http2Session.upgrade(upgradeRequest, Http2Upgrade.settingsOf(upgradeRequest));
+        }
+        if (context.connectionTracker().isDraining()) {
+            http2Session.goAway(Http2ErrorCode.NO_ERROR);
+        }
+        receiveHttp2();
+    }
+
+    private void receiveHttp2() {
+        if (inboundLength > 0) {
+            http2Session.receive(inbound, 0, inboundLength);
+            inboundLength = 0;
+        }
+    }
+
+    private void flushHttp2() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        List<ByteBuffer> buffers = new ArrayList<>();
+        if (outbound != null) {
+            buffers.addAll(Arrays.asList(outbound));
+        }
+        ByteBuffer frame;
+        while ((frame = http2Outbound.poll()) != null) {
+            buffers.add(frame);
+        }
+        outbound = buffers.toArray(new ByteBuffer[0]);
+        try {
+            writeOutbound();
+        } catch (IOException e) {
+            logger.debug("Error writing HTTP/2 frames: {}", e.getMessage());
+            close();
+            return;
+        }
+        for (int i = 0; i < outbound.length; i++) {
+            if (outbound[i].hasRemaining()) {
+                outbound = Arrays.copyOfRange(outbound, i, outbound.length);
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+        outbound = null;
+        if (tls != null && tls.hasPendingOutput()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (http2CloseRequested && http2Outbound.isEmpty()) {
+            close();
+        }
+    }
+
+    private void finishPendingRequests() {
+        if (pendingRequests > 0) {
+            context.connectionTracker().requestFinished(pendingRequests);
+            pendingRequests = 0;
+        }
+    }
+
+    @Override
+    public void closeIfIdle() {
+        eventLoop.execute(() -> {
+            if (http2Session != null) {
+                http2Session.goAway(Http2ErrorCode.NO_ERROR);
+                return;
+            }
+            if ((!processing || eventStream != null || protocolUpgrade != null) && channel.isOpen()) {
+                close();
+                context.connectionTracker().idleConnectionClosed();
+            }
+        });
+    }
+
+    @Override
+    public void forceClose() {
+        eventLoop.execute(this::close);
+    }
+
+    @Override
+    public void onIdleCheck(long now) {
+        if (http2Session != null) {
+            if (http2Session.getActiveStreams() == 0 && now - lastActivity > context.keepAlivePolicy().idleTimeoutMillis()) {
+                http2Session.goAway(Http2ErrorCode.NO_ERROR);
+            }
+            return;
+        }
+        if (!processing && now - lastActivity > context.keepAlivePolicy().idleTimeoutMillis()) {
+            logger.debug("Closing idle connection");
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pendingRequests > 0) {
+            context.connectionTracker().requestAborted(pendingRequests);
+            pendingRequests = 0;
+        }
+        context.connectionTracker().unregister(this);
+        responseStream.abort();
+        if (requestDecoder != null) {
+            requestDecoder.discard();
+            requestDecoder = null;
+        }
+        if (eventStream != null) {
+            EventStream stream = eventStream;
+            eventStream = null;
+            stream.closed();
+        }
+        if (protocolUpgrade != null) {
+            ConnectionUpgrade upgrade = protocolUpgrade;
+            protocolUpgrade = null;
+            upgrade.closed();
+        }
+        if (key != null) {
+            key.cancel();
+        }
+        if (tls != null) {
+            tls.close();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage());
+        }
+        if (inbound != null) {
+            context.bufferPool().release(inbound);
+            inbound = null;
+            inboundView = null;
+        }
+        if (http2Session != null) {
+            http2Session.close();
+        }
+    }
+
+    private record InboundRequest(byte[] bytes, HttpRequest parsed) {
+    }
+
+    private record Exchange(HttpRequest request, CompletableFuture<HttpResponse> response) {
+        boolean isUpgrade() {
+            return response == null;
+        }
+
+        boolean isRejected() {
+            return request == null;
+        }
+    }
+
+    private class ChannelFrameSink implements FrameSink {
+        @Override
+        public void write(byte[] frame) {
+            http2Outbound.add(ByteBuffer.wrap(frame));
+        }
+
+        @Override
+        public void flush() {
+            scheduleFlush();
+        }
+
+        @Override
+        public void close() {
+            http2CloseRequested = true;
+            eventLoop.execute(NioConnection.this::flushHttp2);
+        }
+    }
+
+    private class ChannelEventSink implements EventSink {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final boolean chunked;
+
+        ChannelEventSink(boolean chunked) {
+            this.chunked = chunked;
+        }
+
+        @Override
+        public boolean send(byte[] data) {
+            lock.lock();
+            try {
+                if (!chunked) {
+                    responseStream.enqueue(ByteBuffer.wrap(data));
+                } else {
+                    responseStream.enqueue(ByteBuffer.wrap(Integer.toHexString(data.length).getBytes(StandardCharsets.US_ASCII)));
+                    responseStream.enqueue(ByteBuffer.wrap(CRLF));
+                    responseStream.enqueue(ByteBuffer.wrap(data));
+                    responseStream.enqueue(ByteBuffer.wrap(CRLF));
+                }
+            } catch (IOException e) {
+                return false;
+            } finally {
+                lock.unlock();
+            }
+            scheduleFlush();
+            return true;
+        }
+
+        @Override
+        public boolean isWritable() {
+            return responseStream.hasCapacity();
+        }
+
+        @Override
+        public void close() {
+            eventLoop.execute(this::finish);
+        }
+
+        @Override
+        public void abort() {
+            forceClose();
+        }
+
+        private void finish() {
+            if ((eventStream == null && protocolUpgrade == null) || !channel.isOpen()) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (chunked) {
+                    responseStream.enqueue(ByteBuffer.wrap(LAST_CHUNK));
+                }
+            } catch (IOException e) {
+                NioConnection.this.close();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            responseComplete = true;
+            flushResponse();
+        }
+    }
+}
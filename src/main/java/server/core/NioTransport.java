@@ -0,0 +1,134 @@
+package server.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class NioTransport implements Transport {
+    private static final Logger logger = LoggerFactory.getLogger(NioTransport.class);
+    private final ListenerSettings listener;
+    private final EventLoop[] eventLoops;
+    private final NioAcceptor[] acceptors;
+    private final ConnectionContext context;
+    private final ConnectionContext unixSocketContext;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    NioTransport(ListenerSettings listener, int eventLoopCount, ConnectionContext context) throws IOException {
+        this.listener = listener;
+        this.context = context;
+        this.unixSocketContext = context.withoutTls();
+        this.acceptors = new NioAcceptor[listener.shards() + (listener.hasUnixSocket() ? 1 : 0)];
+        try {
+            for (int i = 0; i < listener.shards(); i++) {
+                acceptors[i] = new NioAcceptor(openServerChannel(listener), this::openConnection);
+            }
+            if (listener.hasUnixSocket()) {
+                ServerSocketChannel serverChannel =
+                        UnixDomainAcceptor.openServerChannel(listener.unixSocketPath(), listener.backlog());
+                serverChannel.configureBlocking(false);
+                acceptors[listener.shards()] = new NioAcceptor(serverChannel, this::openUnixSocketConnection);
+            }
+        } catch (IOException e) {
+            closeAcceptors();
+            throw e;
+        }
+        this.eventLoops = new EventLoop[eventLoopCount];
+        for (int i = 0; i < eventLoopCount; i++) {
+            eventLoops[i] = new EventLoop("nio-event-loop-" + i);
+        }
+    }
+
+    private static ServerSocketChannel openServerChannel(ListenerSettings listener) throws IOException {
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            if (listener.reusePort()) {
+                serverChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            }
+            serverChannel.bind(new InetSocketAddress(listener.port().getValue()), listener.backlog());
+            serverChannel.configureBlocking(false);
+            return serverChannel;
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void serve() {
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.start();
+        }
+        for (int i = 0; i < acceptors.length; i++) {
+            EventLoop acceptLoop = eventLoops[i % eventLoops.length];
+            NioAcceptor acceptor = acceptors[i];
+            acceptLoop.execute(() -> {
+                try {
+                    acceptLoop.register(acceptor.channel(), SelectionKey.OP_ACCEPT, acceptor);
+                } catch (IOException e) {
+                    logger.error("Error registering server channel", e);
+                }
+            });
+        }
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.awaitTermination();
+        }
+    }
+
+    private void openConnection(SocketChannel channel) {
+        try {
+            listener.socketSettings().apply(channel);
+        } catch (IOException e) {
+            logger.error("Error applying socket options", e);
+        }
+        dispatch(channel, context);
+    }
+
+    private void openUnixSocketConnection(SocketChannel channel) {
+        dispatch(channel, unixSocketContext);
+    }
+
+    private void dispatch(SocketChannel channel, ConnectionContext connectionContext) {
+        EventLoop eventLoop = eventLoops[Math.floorMod(nextLoop.getAndIncrement(), eventLoops.length)];
+        eventLoop.execute(() -> NioConnection.open(channel, eventLoop, connectionContext));
+    }
+
+    @Override
+    public long[] getAcceptedCounts() {
+        long[] counts = new long[acceptors.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = acceptors[i].getAcceptedCount();
+        }
+        return counts;
+    }
+
+    @Override
+    public void stopAccepting() {
+        closeAcceptors();
+    }
+
+    @Override
+    public void close() {
+        closeAcceptors();
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+
+    private void closeAcceptors() {
+        for (NioAcceptor acceptor : acceptors) {
+            if (acceptor != null) {
+                acceptor.close();
+            }
+        }
+        if (listener.hasUnixSocket()) {
+            UnixDomainAcceptor.unlink(listener.unixSocketPath());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package server.core;
+
+import server.http.HttpRequest;
+import server.http.parser.Http11Parser;
+import server.http.parser.RequestLimits;
+import server.http.parser.RequestRejectedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+class PooledInputStream extends InputStream {
+    private final InputStream in;
+    private final BufferPool pool;
+    private byte[] buffer;
+    private int position;
+    private int count;
+
+    PooledInputStream(InputStream in, BufferPool pool, int size) {
+        this.in = in;
+        this.pool = pool;
+        this.buffer = pool.acquire(size);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position >= count && fill() <= 0) {
+            return -1;
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int buffered = count - position;
+        if (buffered <= 0) {
+            if (len >= buffer.length) {
+                return in.read(b, off, len);
+            }
+            if (fill() <= 0) {
+                return -1;
+            }
+            buffered = count - position;
+        }
+        int read = Math.min(buffered, len);
+        System.arraycopy(buffer, position, b, off, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (count - position) + in.available();
+    }
+
+    boolean awaitData() throws IOException {
+        return position < count || fill() > 0;
+    }
+
+    boolean startsWith(byte[] prefix) throws IOException {
+        while (true) {
+            int compared = Math.min(count - position, prefix.length);
+            for (int i = 0; i < compared; i++) {
+                if (buffer[position + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            if (compared == prefix.length) {
+                return true;
+            }
+            compact();
+            int read = in.read(buffer, count, buffer.length - count);
+            if (read <= 0) {
+                return false;
+            }
+            count += read;
+        }
+    }
+
+    boolean hasBufferedRequest() throws IOException {
+        int available = in.available();
+        if (available > 0) {
+            compact();
+            int read = in.read(buffer, count, Math.min(available, buffer.length - count));
+            if (read > 0) {
+                count += read;
+            }
+        }
+        if (position >= count) {
+            return false;
+        }
+        try {
+            return HttpRequestFramer.frameLength(buffer, position, count) >= 0;
+        } catch (RequestRejectedException e) {
+            return true;
+        }
+    }
+
+    HttpRequest.Builder parseHead(RequestLimits limits) throws IOException {
+        while (true) {
+            int headLength = Http11Parser.headLength(buffer, position, count, limits);
+            if (headLength >= 0) {
+                HttpRequest.Builder builder = Http11Parser.parseHead(buffer, position, headLength, limits);
+                position += headLength;
+                return builder;
+            }
+            compact();
+            if (count == buffer.length) {
+                byte[] larger = pool.acquire(buffer.length * 2);
+                System.arraycopy(buffer, 0, larger, 0, count);
+                pool.release(buffer);
+                buffer = larger;
+            }
+            int read = in.read(buffer, count, buffer.length - count);
+            if (read == -1) {
+                HttpRequest.Builder builder = Http11Parser.parseHead(buffer, position, count - position, limits);
+                position = count;
+                return builder;
+            }
+            count += read;
+        }
+    }
+
+    private int fill() throws IOException {
+        position = 0;
+        count = 0;
+        int read = in.read(buffer, 0, buffer.length);
+        if (read > 0) {
+            count = read;
+        }
+        return read;
+    }
+
+    private void compact() {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, count - position);
+            count -= position;
+            position = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+        in.close();
+    }
+}
@@ -0,0 +1,66 @@
+package server.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+class PooledOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final BufferPool pool;
+    private byte[] buffer;
+    private int count;
+
+    PooledOutputStream(OutputStream out, BufferPool pool, int size) {
+        this.out = out;
+        this.pool = pool;
+        this.buffer = pool.acquire(size);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count >= buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len >= buffer.length) {
+            flushBuffer();
+            out.write(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) {
+            flushBuffer();
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            pool.release(buffer);
+            buffer = null;
+            out.close();
+        }
+    }
+}
@@ -1,26 +1,96 @@
 package server.core;
 
+import server.handler.AsyncRequestHandler;
 import server.handler.RequestHandler;
 import server.handler.StaticFileHandler;
 import server.http.HttpRequest;
 import server.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class RequestDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(RequestDispatcher.class);
+    private static final long DEFAULT_ASYNC_TIMEOUT_MILLIS = 30_000;
+    private static final ClassValue<Boolean> DISPATCHES_ASYNC = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return dispatchesAsync(type);
+        }
+    };
     private final List<RequestHandler> requestHandlers;
     private final StaticFileHandler staticFileHandler;
+    private final long asyncTimeoutMillis;
 
     public RequestDispatcher(List<RequestHandler> requestHandlers, StaticFileHandler staticFileHandler) {
+        this(requestHandlers, staticFileHandler, DEFAULT_ASYNC_TIMEOUT_MILLIS);
+    }
+
+    public RequestDispatcher(List<RequestHandler> requestHandlers, StaticFileHandler staticFileHandler,
+                             long asyncTimeoutMillis) {
         this.requestHandlers = requestHandlers;
         this.staticFileHandler = staticFileHandler;
+        this.asyncTimeoutMillis = asyncTimeoutMillis;
     }
 
     public HttpResponse handleRequest(HttpRequest request) {
-        return requestHandlers.stream()
-                .filter(handler -> handler.canHandle(request))
+        return handleRequestAsync(request).join();
+    }
+
+    public CompletableFuture<HttpResponse> handleRequestAsync(HttpRequest request) {
+        RequestHandler handler = requestHandlers.stream()
+                .filter(candidate -> candidate.canHandle(request))
                 .findFirst()
-                .map(handler -> handler.handle(request))
-                .orElseGet(() -> staticFileHandler.handle(request));
+                .orElse(staticFileHandler);
+        if (!(handler instanceof AsyncRequestHandler asyncHandler) || !DISPATCHES_ASYNC.get(handler.getClass())) {
+            return CompletableFuture.completedFuture(handler.handle(request));
+        }
+        CompletableFuture<HttpResponse> response;
+        try {
+            response = asyncHandler.handleAsync(request).toCompletableFuture();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        if (!response.isDone()) {
+            response = response.copy().orTimeout(asyncTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return response.handle((result, error) -> complete(request, result, error));
+    }
+
+    public boolean hasRoute(HttpRequest request) {
+        return staticFileHandler.canHandle(request)
+                || requestHandlers.stream().anyMatch(candidate -> candidate.canHandle(request));
+    }
+
+    public HttpResponse notFound(HttpRequest request) {
+        return staticFileHandler.handle(request);
+    }
+
+    private HttpResponse complete(HttpRequest request, HttpResponse response, Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            logger.warn("Handler for {} did not complete within {} ms", request.getPath(), asyncTimeoutMillis);
+            return staticFileHandler.internalServerError(request);
+        }
+        if (cause != null || response == null) {
+            logger.error("Handler for " + request.getPath() + " failed", cause);
+            return staticFileHandler.internalServerError(request);
+        }
+        return response;
+    }
+
+    private static boolean dispatchesAsync(Class<?> type) {
+        try {
+            Class<?> handle = type.getMethod("handle", HttpRequest.class).getDeclaringClass();
+            Class<?> handleAsync = type.getMethod("handleAsync", HttpRequest.class).getDeclaringClass();
+            return handle == handleAsync || !handleAsync.isAssignableFrom(handle);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 }
@@ -0,0 +1,141 @@
+package server.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+class ResponseOutputStream extends OutputStream {
+    private static final int SEGMENT_SIZE = 16 * 1024;
+    private final Queue<ByteBuffer> segments = new ConcurrentLinkedQueue<>();
+    private final Runnable flushScheduler;
+    private final long highWatermark;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition drained = lock.newCondition();
+    private long queuedBytes;
+    private boolean aborted;
+    private byte[] segment;
+    private int count;
+
+    ResponseOutputStream(Runnable flushScheduler, long highWatermark) {
+        this.flushScheduler = flushScheduler;
+        this.highWatermark = highWatermark;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (segment == null) {
+                segment = new byte[SEGMENT_SIZE];
+            }
+            int length = Math.min(len, segment.length - count);
+            System.arraycopy(b, off, segment, count, length);
+            count += length;
+            off += length;
+            len -= length;
+            if (count == segment.length) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(segment, 0, count);
+            segment = null;
+            count = 0;
+            enqueue(buffer);
+            flushScheduler.run();
+        }
+        awaitCapacity();
+    }
+
+    void enqueue(ByteBuffer buffer) throws IOException {
+        lock.lock();
+        try {
+            if (aborted) {
+                throw new IOException("Connection closed while writing response");
+            }
+            queuedBytes += buffer.remaining();
+        } finally {
+            lock.unlock();
+        }
+        segments.add(buffer);
+    }
+
+    ByteBuffer[] drain(ByteBuffer[] unwritten) {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        if (unwritten != null) {
+            for (ByteBuffer buffer : unwritten) {
+                if (buffer.hasRemaining()) {
+                    buffers.add(buffer);
+                }
+            }
+        }
+        ByteBuffer buffer;
+        while ((buffer = segments.poll()) != null) {
+            buffers.add(buffer);
+        }
+        return buffers.toArray(new ByteBuffer[0]);
+    }
+
+    void written(long bytes) {
+        lock.lock();
+        try {
+            queuedBytes -= bytes;
+            if (queuedBytes <= highWatermark) {
+                drained.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean hasCapacity() {
+        lock.lock();
+        try {
+            return queuedBytes <= highWatermark && !aborted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void abort() {
+        lock.lock();
+        try {
+            aborted = true;
+            drained.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitCapacity() throws IOException {
+        lock.lock();
+        try {
+            while (queuedBytes > highWatermark && !aborted) {
+                drained.await();
+            }
+            if (aborted) {
+                throw new IOException("Connection closed while writing response");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the client to read");
+        } finally {
+            lock.unlock();
+        }
+    }
+}
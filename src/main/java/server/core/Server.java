@@ -2,62 +2,192 @@ package server.core;
 
 import server.handler.RequestHandler;
 import server.handler.StaticFileHandler;
+import server.http.parser.RequestLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.Socket;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class Server {
     private static final Logger logger = LoggerFactory.getLogger(Server.class);
     private final Port port;
+    private final String unixSocketPath;
     private final ThreadPool threadPool;
     private final ServerStatus status;
-    private final ConnectionAcceptor connectionAcceptor;
     private final RequestDispatcher requestDispatcher;
+    private final AdmissionController admissionController;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ConnectionTracker connectionTracker;
+    private final long drainTimeoutMillis;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Transport transport;
 
     public Server(int port, int threadPoolSize, String basePackage) throws IOException {
-        this.port = new Port(port);
-        this.threadPool = new ThreadPool(threadPoolSize);
+        this(ServerConfig.builder()
+                .port(port)
+                .threadPoolSize(threadPoolSize)
+                .basePackage(basePackage)
+                .build());
+    }
+
+    public Server(ServerConfig config) throws IOException {
+        this.port = new Port(config.getPort());
+        this.unixSocketPath = config.getUnixSocketPath();
+        this.threadPool = createThreadPool(config);
         this.status = new ServerStatus();
-        this.connectionAcceptor = new ConnectionAcceptor(this.port);
-        this.requestDispatcher = new RequestDispatcher(scanHandlers(basePackage), new StaticFileHandler());
+        this.admissionController = new AdmissionController(threadPool,
+                config.getMaxQueuedRequests(), config.getMaxQueueWaitMillis(), config.getRetryAfterSeconds());
+        this.concurrencyLimiter = createConcurrencyLimiter(config);
+        this.requestDispatcher = createRequestDispatcher(config);
+        this.connectionTracker = new ConnectionTracker();
+        this.drainTimeoutMillis = config.getDrainTimeoutMillis();
+        this.transport = createTransport(config);
+    }
+
+    private ThreadPool createThreadPool(ServerConfig config) {
+        if (config.getExecutionMode() == ExecutionMode.VIRTUAL) {
+            return new ThreadPool(ExecutionMode.VIRTUAL, config.getMaxConcurrentRequests());
+        }
+        return new ThreadPool(ExecutionMode.PLATFORM, config.getThreadPoolSize());
+    }
+
+    private ConcurrencyLimiter createConcurrencyLimiter(ServerConfig config) {
+        LimitAlgorithm algorithm = switch (config.getConcurrencyLimitMode()) {
+            case GRADIENT -> new GradientLimit();
+            case AIMD -> new AimdLimit(config.getConcurrencyLimitLatencyThresholdMillis());
+            case OFF -> null;
+        };
+        if (algorithm == null) {
+            return null;
+        }
+        return new ConcurrencyLimiter(algorithm, config.getInitialConcurrencyLimit(),
+                config.getMinConcurrencyLimit(), config.getMaxConcurrencyLimit());
+    }
+
+    private RequestDispatcher createRequestDispatcher(ServerConfig config) {
+        List<RequestHandler> handlers = scanHandlers(config.getBasePackage());
+        if (concurrencyLimiter == null) {
+            return new RequestDispatcher(handlers, new StaticFileHandler(), config.getAsyncHandlerTimeoutMillis());
+        }
+        return new LimitedRequestDispatcher(handlers, new StaticFileHandler(), config.getAsyncHandlerTimeoutMillis(),
+                concurrencyLimiter, admissionController.getServiceUnavailable());
     }
 
     private List<RequestHandler> scanHandlers(String basePackage) {
         return new HandlerScanner(basePackage).scanForHandlers();
     }
 
+    private Transport createTransport(ServerConfig config) throws IOException {
+        ConnectionContext context = new ConnectionContext(
+                threadPool,
+                admissionController,
+                connectionTracker,
+                requestDispatcher,
+                new BufferPool(config.getMaxPooledBufferBytes()),
+                new KeepAlivePolicy(config.getKeepAliveTimeoutMillis(), config.getMaxRequestsPerConnection()),
+                config.getMaxPipelineDepth(),
+                config.isConcurrentPipelineDispatch(),
+                config.isHttp2Enabled(),
+                config.getHttp2MaxConcurrentStreams(),
+                config.getRequestBodyBufferSize(),
+                new RequestLimits(config.getMaxHeaderBytes(), config.getMaxHeaderCount(), config.getMaxRequestBodyBytes()),
+                createTlsContext(config));
+        ListenerSettings listener = createListenerSettings(config);
+        if (config.getTransportMode() == TransportMode.NIO) {
+            return new NioTransport(listener, config.getEventLoopCount(), context);
+        }
+        return new BlockingTransport(listener, context, status);
+    }
+
+    private TlsContext createTlsContext(ServerConfig config) throws IOException {
+        if (!config.isTlsEnabled()) {
+            return null;
+        }
+        return TlsContext.load(Path.of(config.getKeyStorePath()), config.getKeyStorePassword(),
+                config.getKeyStoreType(), config.getTlsSessionCacheSize(), config.getTlsSessionTimeoutSeconds(),
+                config.isHttp2Enabled());
+    }
+
+    private ListenerSettings createListenerSettings(ServerConfig config) {
+        int shards = config.getAcceptorShards();
+        if (shards > 1 && !ConnectionAcceptor.isReusePortSupported()) {
+            logger.warn("SO_REUSEPORT is not supported on this platform, falling back to a single acceptor");
+            shards = 1;
+        }
+        SocketSettings socketSettings = new SocketSettings(
+                config.isTcpNoDelay(), config.getSendBufferSize(), config.getReceiveBufferSize());
+        Path unixSocket = config.isUnixSocketEnabled() ? Path.of(config.getUnixSocketPath()) : null;
+        return new ListenerSettings(port, shards, config.getAcceptBacklog(), socketSettings, unixSocket);
+    }
+
     public void start() {
         logger.debug("Listening for connection on port {} ....", port.getValue());
-        while (status.isRunning()) {
-            processNextConnection();
+        if (unixSocketPath != null) {
+            logger.debug("Listening for connection on unix socket {} ....", unixSocketPath);
         }
-        shutdown();
+        transport.serve();
+        awaitTermination();
     }
 
-    private void processNextConnection() {
+    private void awaitTermination() {
         try {
-            Socket clientSocket = connectionAcceptor.accept();
-            threadPool.execute(new HttpConnectionProcessor(clientSocket, requestDispatcher));
-        } catch (IOException e) {
-            handleAcceptError(e);
+            terminated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    private void handleAcceptError(IOException e) {
-        if (status.isRunning()) {
-            logger.error("Error accepting client connection", e);
+    public long[] getAcceptedConnectionCounts() {
+        return transport.getAcceptedCounts();
+    }
+
+    public AdmissionStats getAdmissionStats() {
+        return admissionController.getStats();
+    }
+
+    public ConcurrencyLimitStats getConcurrencyLimitStats() {
+        if (concurrencyLimiter == null) {
+            return null;
         }
+        return concurrencyLimiter.getStats();
+    }
+
+    public int getInFlightRequests() {
+        return connectionTracker.getInFlightRequests();
+    }
+
+    public int getOpenConnections() {
+        return connectionTracker.getOpenConnections();
     }
 
     public void stop() {
+        if (status.isRunning()) {
+            drain(drainTimeoutMillis);
+        }
+    }
+
+    public DrainReport drain(long timeoutMillis) {
         status.stop();
-        connectionAcceptor.close();
+        transport.stopAccepting();
+        DrainReport report = connectionTracker.drain(timeoutMillis);
+        transport.close();
+        shutdown();
+        if (report.isClean()) {
+            logger.info("Drained in {} ms: {} requests completed, {} idle connections closed",
+                    report.elapsedMillis(), report.requestsCompleted(), report.idleConnectionsClosed());
+        } else {
+            logger.warn("Drain deadline of {} ms exceeded: {} requests and {} connections cut off",
+                    timeoutMillis, report.requestsCutOff(), report.connectionsCutOff());
+        }
+        terminated.countDown();
+        return report;
     }
 
     private void shutdown() {
-        threadPool.shutdown();
+        threadPool.shutdown(1, TimeUnit.SECONDS);
     }
 }
@@ -0,0 +1,578 @@
+package server.core;
+
+public class ServerConfig {
+    private final int port;
+    private final int threadPoolSize;
+    private final String basePackage;
+    private final TransportMode transportMode;
+    private final int eventLoopCount;
+    private final ExecutionMode executionMode;
+    private final int maxConcurrentRequests;
+    private final int keepAliveTimeoutMillis;
+    private final int maxRequestsPerConnection;
+    private final int maxPipelineDepth;
+    private final boolean concurrentPipelineDispatch;
+    private final int acceptorShards;
+    private final int acceptBacklog;
+    private final boolean tcpNoDelay;
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+    private final int maxQueuedRequests;
+    private final long maxQueueWaitMillis;
+    private final int retryAfterSeconds;
+    private final long drainTimeoutMillis;
+    private final long maxPooledBufferBytes;
+    private final boolean http2Enabled;
+    private final int http2MaxConcurrentStreams;
+    private final String keyStorePath;
+    private final String keyStorePassword;
+    private final String keyStoreType;
+    private final int tlsSessionCacheSize;
+    private final int tlsSessionTimeoutSeconds;
+    private final ConcurrencyLimitMode concurrencyLimitMode;
+    private final int initialConcurrencyLimit;
+    private final int minConcurrencyLimit;
+    private final int maxConcurrencyLimit;
+    private final long concurrencyLimitLatencyThresholdMillis;
+    private final String unixSocketPath;
+    private final long asyncHandlerTimeoutMillis;
+    private final int requestBodyBufferSize;
+    private final int maxHeaderBytes;
+    private final int maxHeaderCount;
+    private final long maxRequestBodyBytes;
+
+    private ServerConfig(Builder builder) {
+        this.port = builder.port;
+        this.threadPoolSize = builder.threadPoolSize;
+        this.basePackage = builder.basePackage;
+        this.transportMode = builder.transportMode;
+        this.eventLoopCount = builder.eventLoopCount;
+        this.executionMode = builder.executionMode;
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.keepAliveTimeoutMillis = builder.keepAliveTimeoutMillis;
+        this.maxRequestsPerConnection = builder.maxRequestsPerConnection;
+        this.maxPipelineDepth = builder.maxPipelineDepth;
+        this.concurrentPipelineDispatch = builder.concurrentPipelineDispatch;
+        this.acceptorShards = builder.acceptorShards;
+        this.acceptBacklog = builder.acceptBacklog;
+        this.tcpNoDelay = builder.tcpNoDelay;
+        this.sendBufferSize = builder.sendBufferSize;
+        this.receiveBufferSize = builder.receiveBufferSize;
+        this.maxQueuedRequests = builder.maxQueuedRequests;
+        this.maxQueueWaitMillis = builder.maxQueueWaitMillis;
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+        this.drainTimeoutMillis = builder.drainTimeoutMillis;
+        this.maxPooledBufferBytes = builder.maxPooledBufferBytes;
+        this.http2Enabled = builder.http2Enabled;
+        this.http2MaxConcurrentStreams = builder.http2MaxConcurrentStreams;
+        this.keyStorePath = builder.keyStorePath;
+        this.keyStorePassword = builder.keyStorePassword;
+        this.keyStoreType = builder.keyStoreType;
+        this.tlsSessionCacheSize = builder.tlsSessionCacheSize;
+        this.tlsSessionTimeoutSeconds = builder.tlsSessionTimeoutSeconds;
+        this.concurrencyLimitMode = builder.concurrencyLimitMode;
+        this.initialConcurrencyLimit = builder.initialConcurrencyLimit;
+        this.minConcurrencyLimit = builder.minConcurrencyLimit;
+        this.maxConcurrencyLimit = builder.maxConcurrencyLimit;
+        this.concurrencyLimitLatencyThresholdMillis = builder.concurrencyLimitLatencyThresholdMillis;
+        this.unixSocketPath = builder.unixSocketPath;
+        this.asyncHandlerTimeoutMillis = builder.asyncHandlerTimeoutMillis;
+        this.requestBodyBufferSize = builder.requestBodyBufferSize;
+        this.maxHeaderBytes = builder.maxHeaderBytes;
+        this.maxHeaderCount = builder.maxHeaderCount;
+        this.maxRequestBodyBytes = builder.maxRequestBodyBytes;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    public String getBasePackage() {
+        return basePackage;
+    }
+
+    public TransportMode getTransportMode() {
+        return transportMode;
+    }
+
+    public int getEventLoopCount() {
+        return eventLoopCount;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getKeepAliveTimeoutMillis() {
+        return keepAliveTimeoutMillis;
+    }
+
+    public int getMaxRequestsPerConnection() {
+        return maxRequestsPerConnection;
+    }
+
+    public int getMaxPipelineDepth() {
+        return maxPipelineDepth;
+    }
+
+    public boolean isConcurrentPipelineDispatch() {
+        return concurrentPipelineDispatch;
+    }
+
+    public int getAcceptorShards() {
+        return acceptorShards;
+    }
+
+    public int getAcceptBacklog() {
+        return acceptBacklog;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    public long getMaxQueueWaitMillis() {
+        return maxQueueWaitMillis;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public long getDrainTimeoutMillis() {
+        return drainTimeoutMillis;
+    }
+
+    public long getMaxPooledBufferBytes() {
+        return maxPooledBufferBytes;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public int getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    public String getKeyStorePath() {
+        return keyStorePath;
+    }
+
+    public boolean isTlsEnabled() {
+        return keyStorePath != null;
+    }
+
+    public String getKeyStorePassword() {
+        return keyStorePassword;
+    }
+
+    public String getKeyStoreType() {
+        return keyStoreType;
+    }
+
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    public int getTlsSessionTimeoutSeconds() {
+        return tlsSessionTimeoutSeconds;
+    }
+
+    public ConcurrencyLimitMode getConcurrencyLimitMode() {
+        return concurrencyLimitMode;
+    }
+
+    public int getInitialConcurrencyLimit() {
+        return initialConcurrencyLimit;
+    }
+
+    public int getMinConcurrencyLimit() {
+        return minConcurrencyLimit;
+    }
+
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    public long getConcurrencyLimitLatencyThresholdMillis() {
+        return concurrencyLimitLatencyThresholdMillis;
+    }
+
+    public String getUnixSocketPath() {
+        return unixSocketPath;
+    }
+
+    public boolean isUnixSocketEnabled() {
+        return unixSocketPath != null;
+    }
+
+    public long getAsyncHandlerTimeoutMillis() {
+        return asyncHandlerTimeoutMillis;
+    }
+
+    public int getRequestBodyBufferSize() {
+        return requestBodyBufferSize;
+    }
+
+    public int getMaxHeaderBytes() {
+        return maxHeaderBytes;
+    }
+
+    public int getMaxHeaderCount() {
+        return maxHeaderCount;
+    }
+
+    public long getMaxRequestBodyBytes() {
+        return maxRequestBodyBytes;
+    }
+
+    public static class Builder {
+        private int port = 8080;
+        private int threadPoolSize = 10;
+        private String basePackage = "";
+        private TransportMode transportMode = TransportMode.BLOCKING;
+        private int eventLoopCount = Runtime.getRuntime().availableProcessors();
+        private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+        private int maxConcurrentRequests = 10_000;
+        private int keepAliveTimeoutMillis = 5_000;
+        private int maxRequestsPerConnection = 100;
+        private int maxPipelineDepth = 16;
+        private boolean concurrentPipelineDispatch = false;
+        private int acceptorShards = 1;
+        private int acceptBacklog = 1024;
+        private boolean tcpNoDelay = true;
+        private int sendBufferSize = 0;
+        private int receiveBufferSize = 0;
+        private int maxQueuedRequests = 1_000;
+        private long maxQueueWaitMillis = 10_000;
+        private int retryAfterSeconds = 1;
+        private long drainTimeoutMillis = 30_000;
+        private long maxPooledBufferBytes = 32L * 1024 * 1024;
+        private boolean http2Enabled = true;
+        private int http2MaxConcurrentStreams = 100;
+        private String keyStorePath = null;
+        private String keyStorePassword = "";
+        private String keyStoreType = "PKCS12";
+        private int tlsSessionCacheSize = 20_480;
+        private int tlsSessionTimeoutSeconds = 86_400;
+        private ConcurrencyLimitMode concurrencyLimitMode = ConcurrencyLimitMode.OFF;
+        private int initialConcurrencyLimit = 20;
+        private int minConcurrencyLimit = 1;
+        private int maxConcurrencyLimit = 1_000;
+        private long concurrencyLimitLatencyThresholdMillis = 1_000;
+        private String unixSocketPath = null;
+        private long asyncHandlerTimeoutMillis = 30_000;
+        private int requestBodyBufferSize = 65_536;
+        private int maxHeaderBytes = 16_384;
+        private int maxHeaderCount = 100;
+        private long maxRequestBodyBytes = 64L * 1024 * 1024;
+
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder threadPoolSize(int threadPoolSize) {
+            this.threadPoolSize = threadPoolSize;
+            return this;
+        }
+
+        public Builder basePackage(String basePackage) {
+            this.basePackage = basePackage;
+            return this;
+        }
+
+        public Builder transportMode(TransportMode transportMode) {
+            this.transportMode = transportMode;
+            return this;
+        }
+
+        public Builder eventLoopCount(int eventLoopCount) {
+            this.eventLoopCount = eventLoopCount;
+            return this;
+        }
+
+        public Builder executionMode(ExecutionMode executionMode) {
+            this.executionMode = executionMode;
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public Builder keepAliveTimeoutMillis(int keepAliveTimeoutMillis) {
+            this.keepAliveTimeoutMillis = keepAliveTimeoutMillis;
+            return this;
+        }
+
+        public Builder maxRequestsPerConnection(int maxRequestsPerConnection) {
+            this.maxRequestsPerConnection = maxRequestsPerConnection;
+            return this;
+        }
+
+        public Builder maxPipelineDepth(int maxPipelineDepth) {
+            this.maxPipelineDepth = maxPipelineDepth;
+            return this;
+        }
+
+        public Builder concurrentPipelineDispatch(boolean concurrentPipelineDispatch) {
+            this.concurrentPipelineDispatch = concurrentPipelineDispatch;
+            return this;
+        }
+
+        public Builder acceptorShards(int acceptorShards) {
+            this.acceptorShards = acceptorShards;
+            return this;
+        }
+
+        public Builder acceptBacklog(int acceptBacklog) {
+            this.acceptBacklog = acceptBacklog;
+            return this;
+        }
+
+        public Builder tcpNoDelay(boolean tcpNoDelay) {
+            this.tcpNoDelay = tcpNoDelay;
+            return this;
+        }
+
+        public Builder sendBufferSize(int sendBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+            return this;
+        }
+
+        public Builder receiveBufferSize(int receiveBufferSize) {
+            this.receiveBufferSize = receiveBufferSize;
+            return this;
+        }
+
+        public Builder maxQueuedRequests(int maxQueuedRequests) {
+            this.maxQueuedRequests = maxQueuedRequests;
+            return this;
+        }
+
+        public Builder maxQueueWaitMillis(long maxQueueWaitMillis) {
+            this.maxQueueWaitMillis = maxQueueWaitMillis;
+            return this;
+        }
+
+        public Builder retryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        public Builder drainTimeoutMillis(long drainTimeoutMillis) {
+            this.drainTimeoutMillis = drainTimeoutMillis;
+            return this;
+        }
+
+        public Builder maxPooledBufferBytes(long maxPooledBufferBytes) {
+            this.maxPooledBufferBytes = maxPooledBufferBytes;
+            return this;
+        }
+
+        public Builder http2Enabled(boolean http2Enabled) {
+            this.http2Enabled = http2Enabled;
+            return this;
+        }
+
+        public Builder http2MaxConcurrentStreams(int http2MaxConcurrentStreams) {
+            this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+            return this;
+        }
+
+        public Builder keyStorePath(String keyStorePath) {
+            this.keyStorePath = keyStorePath;
+            return this;
+        }
+
+        public Builder keyStorePassword(String keyStorePassword) {
+            this.keyStorePassword = keyStorePassword;
+            return this;
+        }
+
+        public Builder keyStoreType(String keyStoreType) {
+            this.keyStoreType = keyStoreType;
+            return this;
+        }
+
+        public Builder tlsSessionCacheSize(int tlsSessionCacheSize) {
+            this.tlsSessionCacheSize = tlsSessionCacheSize;
+            return this;
+        }
+
+        public Builder tlsSessionTimeoutSeconds(int tlsSessionTimeoutSeconds) {
+            this.tlsSessionTimeoutSeconds = tlsSessionTimeoutSeconds;
+            return this;
+        }
+
+        public Builder concurrencyLimitMode(ConcurrencyLimitMode concurrencyLimitMode) {
+            this.concurrencyLimitMode = concurrencyLimitMode;
+            return this;
+        }
+
+        public Builder initialConcurrencyLimit(int initialConcurrencyLimit) {
+            this.initialConcurrencyLimit = initialConcurrencyLimit;
+            return this;
+        }
+
+        public Builder minConcurrencyLimit(int minConcurrencyLimit) {
+            this.minConcurrencyLimit = minConcurrencyLimit;
+            return this;
+        }
+
+        public Builder maxConcurrencyLimit(int maxConcurrencyLimit) {
+            this.maxConcurrencyLimit = maxConcurrencyLimit;
+            return this;
+        }
+
+        public Builder concurrencyLimitLatencyThresholdMillis(long concurrencyLimitLatencyThresholdMillis) {
+            this.concurrencyLimitLatencyThresholdMillis = concurrencyLimitLatencyThresholdMillis;
+            return this;
+        }
+
+        public Builder unixSocketPath(String unixSocketPath) {
+            this.unixSocketPath = unixSocketPath;
+            return this;
+        }
+
+        public Builder asyncHandlerTimeoutMillis(long asyncHandlerTimeoutMillis) {
+            this.asyncHandlerTimeoutMillis = asyncHandlerTimeoutMillis;
+            return this;
+        }
+
+        public Builder requestBodyBufferSize(int requestBodyBufferSize) {
+            this.requestBodyBufferSize = requestBodyBufferSize;
+            return this;
+        }
+
+        public Builder maxHeaderBytes(int maxHeaderBytes) {
+            this.maxHeaderBytes = maxHeaderBytes;
+            return this;
+        }
+
+        public Builder maxHeaderCount(int maxHeaderCount) {
+            this.maxHeaderCount = maxHeaderCount;
+            return this;
+        }
+
+        public Builder maxRequestBodyBytes(long maxRequestBodyBytes) {
+            this.maxRequestBodyBytes = maxRequestBodyBytes;
+            return this;
+        }
+
+        public ServerConfig build() {
+            if (threadPoolSize <= 0) {
+                throw new IllegalArgumentException("Thread pool size must be positive");
+            }
+            if (eventLoopCount <= 0) {
+                throw new IllegalArgumentException("Event loop count must be positive");
+            }
+            if (maxConcurrentRequests <= 0) {
+                throw new IllegalArgumentException("Max concurrent requests must be positive");
+            }
+            if (keepAliveTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("Keep-alive timeout must be positive");
+            }
+            if (maxRequestsPerConnection <= 0) {
+                throw new IllegalArgumentException("Max requests per connection must be positive");
+            }
+            if (maxPipelineDepth <= 0) {
+                throw new IllegalArgumentException("Max pipeline depth must be positive");
+            }
+            if (acceptorShards <= 0) {
+                throw new IllegalArgumentException("Acceptor shard count must be positive");
+            }
+            if (acceptBacklog <= 0) {
+                throw new IllegalArgumentException("Accept backlog must be positive");
+            }
+            if (sendBufferSize < 0) {
+                throw new IllegalArgumentException("Send buffer size must not be negative");
+            }
+            if (receiveBufferSize < 0) {
+                throw new IllegalArgumentException("Receive buffer size must not be negative");
+            }
+            if (maxQueuedRequests <= 0) {
+                throw new IllegalArgumentException("Max queued requests must be positive");
+            }
+            if (maxQueueWaitMillis <= 0) {
+                throw new IllegalArgumentException("Max queue wait must be positive");
+            }
+            if (retryAfterSeconds < 0) {
+                throw new IllegalArgumentException("Retry-After must not be negative");
+            }
+            if (drainTimeoutMillis < 0) {
+                throw new IllegalArgumentException("Drain timeout must not be negative");
+            }
+            if (maxPooledBufferBytes < 0) {
+                throw new IllegalArgumentException("Max pooled buffer bytes must not be negative");
+            }
+            if (http2MaxConcurrentStreams <= 0) {
+                throw new IllegalArgumentException("HTTP/2 max concurrent streams must be positive");
+            }
+            if (keyStorePath != null && keyStorePassword == null) {
+                throw new IllegalArgumentException("Key store password must not be null");
+            }
+            if (tlsSessionCacheSize < 0) {
+                throw new IllegalArgumentException("TLS session cache size must not be negative");
+            }
+            if (tlsSessionTimeoutSeconds < 0) {
+                throw new IllegalArgumentException("TLS session timeout must not be negative");
+            }
+            if (initialConcurrencyLimit < minConcurrencyLimit || initialConcurrencyLimit > maxConcurrencyLimit) {
+                throw new IllegalArgumentException("Initial concurrency limit must be between min and max concurrency limit");
+            }
+            if (minConcurrencyLimit <= 0) {
+                throw new IllegalArgumentException("Min concurrency limit must be positive");
+            }
+            if (maxConcurrencyLimit < minConcurrencyLimit) {
+                throw new IllegalArgumentException("Max concurrency limit must not be less than min concurrency limit");
+            }
+            if (concurrencyLimitLatencyThresholdMillis <= 0) {
+                throw new IllegalArgumentException("Concurrency limit latency threshold must be positive");
+            }
+            if (asyncHandlerTimeoutMillis <= 0) {
+                throw new IllegalArgumentException("Async handler timeout must be positive");
+            }
+            if (requestBodyBufferSize <= 0) {
+                throw new IllegalArgumentException("Request body buffer size must be greater than 0");
+            }
+            if (maxHeaderBytes <= 0) {
+                throw new IllegalArgumentException("Max header bytes must be greater than 0");
+            }
+            if (maxHeaderCount <= 0) {
+                throw new IllegalArgumentException("Max header count must be greater than 0");
+            }
+            if (maxRequestBodyBytes < 0) {
+                throw new IllegalArgumentException("Max request body bytes must not be negative");
+            }
+            return new ServerConfig(this);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,12 @@
+package server.core;
+
+import java.io.IOException;
+import java.net.Socket;
+
+interface SocketAcceptor {
+    Socket accept() throws IOException;
+
+    long getAcceptedCount();
+
+    void close();
+}
@@ -0,0 +1,30 @@
+package server.core;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+
+record SocketSettings(boolean tcpNoDelay, int sendBufferSize, int receiveBufferSize) {
+    static final SocketSettings DEFAULT = new SocketSettings(false, 0, 0);
+
+    void apply(Socket socket) throws IOException {
+        socket.setTcpNoDelay(tcpNoDelay);
+        if (sendBufferSize > 0) {
+            socket.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize > 0) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+    }
+
+    void apply(SocketChannel channel) throws IOException {
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, tcpNoDelay);
+        if (sendBufferSize > 0) {
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, sendBufferSize);
+        }
+        if (receiveBufferSize > 0) {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+        }
+    }
+}
@@ -1,24 +1,81 @@
 package server.core;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 public class ThreadPool {
     private final ExecutorService executor;
+    private final Semaphore concurrencyLimit;
+    private final int concurrency;
 
     public ThreadPool(int size) {
-        this.executor = Executors.newFixedThreadPool(size);
+        this(ExecutionMode.PLATFORM, size);
+    }
+
+    public ThreadPool(ExecutionMode mode, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Thread pool size must be positive");
+        }
+        this.concurrency = size;
+        if (mode == ExecutionMode.VIRTUAL) {
+            this.executor = newVirtualThreadPerTaskExecutor();
+            this.concurrencyLimit = new Semaphore(size);
+        } else {
+            this.executor = Executors.newFixedThreadPool(size);
+            this.concurrencyLimit = null;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
     }
 
     public void execute(Runnable task) {
-        executor.execute(task);
+        if (concurrencyLimit == null) {
+            executor.execute(task);
+            return;
+        }
+        // Virtual threads are cheap to park, so waiting for a permit happens on the task thread
+        // instead of stalling the acceptor or an event loop.
+        executor.execute(() -> runLimited(task));
+    }
+
+    private void runLimited(Runnable task) {
+        try {
+            concurrencyLimit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            concurrencyLimit.release();
+        }
     }
 
     public void shutdown() {
+        shutdown(60, TimeUnit.SECONDS);
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) {
         executor.shutdown();
         try {
-            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            if (!executor.awaitTermination(timeout, unit)) {
                 executor.shutdownNow();
             }
         } catch (InterruptedException ie) {
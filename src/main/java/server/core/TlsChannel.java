@@ -0,0 +1,238 @@
+package server.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+class TlsChannel {
+    private static final Logger logger = LoggerFactory.getLogger(TlsChannel.class);
+    private static final ByteBuffer[] EMPTY = {ByteBuffer.allocate(0)};
+    private final SocketChannel channel;
+    private final SSLEngine engine;
+    private final BufferPool bufferPool;
+    private ByteBuffer netIn;
+    private ByteBuffer netOut;
+    private ByteBuffer appIn;
+    private boolean established;
+    private boolean inboundDone;
+
+    TlsChannel(SocketChannel channel, SSLEngine engine, BufferPool bufferPool) {
+        this.channel = channel;
+        this.engine = engine;
+        this.bufferPool = bufferPool;
+        SSLSession session = engine.getSession();
+        this.netIn = allocate(session.getPacketBufferSize());
+        this.netOut = allocate(session.getPacketBufferSize()).flip();
+        this.appIn = allocate(session.getApplicationBufferSize()).flip();
+    }
+
+    int read(ByteBuffer dst) throws IOException {
+        if (!appIn.hasRemaining() && !inboundDone) {
+            int read = netIn.hasRemaining() ? channel.read(netIn) : 0;
+            process();
+            if (read == -1) {
+                closeInbound();
+            }
+        }
+        if (appIn.hasRemaining()) {
+            int length = Math.min(appIn.remaining(), dst.remaining());
+            dst.put(appIn.slice(appIn.position(), length));
+            appIn.position(appIn.position() + length);
+            return length;
+        }
+        return inboundDone ? -1 : 0;
+    }
+
+    long write(ByteBuffer[] srcs) throws IOException {
+        long consumed = 0;
+        while (flush() && hasRemaining(srcs)) {
+            HandshakeStatus status = engine.getHandshakeStatus();
+            if (status == HandshakeStatus.NEED_TASK) {
+                runDelegatedTasks();
+                continue;
+            }
+            if (status == HandshakeStatus.NEED_UNWRAP || status == HandshakeStatus.NEED_UNWRAP_AGAIN) {
+                break;
+            }
+            SSLEngineResult result = wrap(srcs);
+            if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                throw new SSLException("TLS connection is closed");
+            }
+            consumed += result.bytesConsumed();
+        }
+        return consumed;
+    }
+
+    boolean flush() throws IOException {
+        if (netOut.hasRemaining()) {
+            channel.write(netOut);
+        }
+        return !netOut.hasRemaining();
+    }
+
+    void handshake() throws IOException {
+        if (flush()) {
+            process();
+        }
+    }
+
+    boolean isEstablished() {
+        return established;
+    }
+
+    boolean hasPendingOutput() {
+        return netOut.hasRemaining();
+    }
+
+    boolean hasBufferedInput() {
+        return appIn.hasRemaining();
+    }
+
+    String getApplicationProtocol() {
+        return engine.getApplicationProtocol();
+    }
+
+    void close() {
+        if (netIn == null) {
+            return;
+        }
+        try {
+            engine.closeOutbound();
+            if (flush()) {
+                wrap(EMPTY);
+                flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Error sending TLS close_notify: {}", e.getMessage());
+        } finally {
+            bufferPool.release(netIn.array());
+            bufferPool.release(netOut.array());
+            bufferPool.release(appIn.array());
+            netIn = null;
+        }
+    }
+
+    private void process() throws IOException {
+        while (true) {
+            HandshakeStatus status = engine.getHandshakeStatus();
+            if (status == HandshakeStatus.NEED_TASK) {
+                runDelegatedTasks();
+            } else if (status == HandshakeStatus.NEED_WRAP) {
+                if (!flush() || wrap(EMPTY).getStatus() == SSLEngineResult.Status.CLOSED) {
+                    return;
+                }
+            } else if (!unwrap()) {
+                return;
+            }
+        }
+    }
+
+    private boolean unwrap() throws IOException {
+        netIn.flip();
+        SSLEngineResult result;
+        try {
+            if (!netIn.hasRemaining() && engine.getHandshakeStatus() != HandshakeStatus.NEED_UNWRAP_AGAIN) {
+                return false;
+            }
+            appIn.compact();
+            try {
+                result = engine.unwrap(netIn, appIn);
+            } finally {
+                appIn.flip();
+            }
+        } finally {
+            netIn.compact();
+        }
+        updateEstablished(result);
+        switch (result.getStatus()) {
+            case BUFFER_UNDERFLOW -> {
+                int packetSize = engine.getSession().getPacketBufferSize();
+                if (netIn.capacity() < packetSize) {
+                    netIn = enlarge(netIn.flip(), packetSize);
+                }
+                return false;
+            }
+            case BUFFER_OVERFLOW -> {
+                appIn = enlarge(appIn, appIn.remaining() + engine.getSession().getApplicationBufferSize()).flip();
+                return true;
+            }
+            case CLOSED -> {
+                inboundDone = true;
+                return false;
+            }
+            default -> {
+                return result.bytesConsumed() > 0 || result.bytesProduced() > 0
+                        || result.getHandshakeStatus() == HandshakeStatus.NEED_TASK
+                        || result.getHandshakeStatus() == HandshakeStatus.NEED_WRAP;
+            }
+        }
+    }
+
+    private SSLEngineResult wrap(ByteBuffer[] srcs) throws IOException {
+        while (true) {
+            netOut.compact();
+            SSLEngineResult result;
+            try {
+                result = engine.wrap(srcs, netOut);
+            } finally {
+                netOut.flip();
+            }
+            updateEstablished(result);
+            if (result.getStatus() != SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                flush();
+                return result;
+            }
+            netOut = enlarge(netOut, netOut.remaining() + engine.getSession().getPacketBufferSize()).flip();
+        }
+    }
+
+    private void updateEstablished(SSLEngineResult result) {
+        if (result.getHandshakeStatus() == HandshakeStatus.FINISHED) {
+            established = true;
+        }
+    }
+
+    private void runDelegatedTasks() {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    private void closeInbound() {
+        inboundDone = true;
+        try {
+            engine.closeInbound();
+        } catch (SSLException e) {
+            logger.debug("Connection closed without TLS close_notify: {}", e.getMessage());
+        }
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return ByteBuffer.wrap(bufferPool.acquire(capacity));
+    }
+
+    private ByteBuffer enlarge(ByteBuffer buffer, int capacity) {
+        ByteBuffer enlarged = allocate(capacity);
+        enlarged.put(buffer);
+        bufferPool.release(buffer.array());
+        return enlarged;
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package server.core;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.List;
+
+public class TlsContext {
+    public static final String HTTP_2 = "h2";
+    public static final String HTTP_1_1 = "http/1.1";
+    private final SSLContext sslContext;
+    private final boolean http2Enabled;
+
+    public TlsContext(SSLContext sslContext, boolean http2Enabled) {
+        this.sslContext = sslContext;
+        this.http2Enabled = http2Enabled;
+    }
+
+    public static TlsContext load(Path keyStorePath, String password, String keyStoreType,
+                                  int sessionCacheSize, int sessionTimeoutSeconds,
+                                  boolean http2Enabled) throws IOException {
+        char[] secret = password.toCharArray();
+        try (InputStream in = Files.newInputStream(keyStorePath)) {
+            KeyStore keyStore = KeyStore.getInstance(keyStoreType);
+            keyStore.load(in, secret);
+            KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagers.init(keyStore, secret);
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagers.getKeyManagers(), null, null);
+            SSLSessionContext sessions = sslContext.getServerSessionContext();
+            sessions.setSessionCacheSize(sessionCacheSize);
+            sessions.setSessionTimeout(sessionTimeoutSeconds);
+            return new TlsContext(sslContext, http2Enabled);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to load key store " + keyStorePath, e);
+        }
+    }
+
+    public SSLEngine createEngine() {
+        SSLEngine engine = sslContext.createSSLEngine();
+        engine.setUseClientMode(false);
+        engine.setHandshakeApplicationProtocolSelector((sslEngine, offered) -> selectProtocol(offered));
+        return engine;
+    }
+
+    Socket wrap(Socket socket) throws IOException {
+        SSLSocket sslSocket = (SSLSocket) sslContext.getSocketFactory().createSocket(socket, null, true);
+        sslSocket.setHandshakeApplicationProtocolSelector((ssl, offered) -> selectProtocol(offered));
+        return sslSocket;
+    }
+
+    String selectProtocol(List<String> offered) {
+        if (http2Enabled && offered.contains(HTTP_2)) {
+            return HTTP_2;
+        }
+        if (offered.contains(HTTP_1_1)) {
+            return HTTP_1_1;
+        }
+        return "";
+    }
+
+    public SSLSessionContext getSessionContext() {
+        return sslContext.getServerSessionContext();
+    }
+}
@@ -0,0 +1,7 @@
+package server.core;
+
+interface TrackedConnection {
+    void closeIfIdle();
+
+    void forceClose();
+}
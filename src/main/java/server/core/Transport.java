@@ -0,0 +1,11 @@
+package server.core;
+
+interface Transport {
+    void serve();
+
+    long[] getAcceptedCounts();
+
+    void stopAccepting();
+
+    void close();
+}
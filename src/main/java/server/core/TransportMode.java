@@ -0,0 +1,6 @@
+package server.core;
+
+public enum TransportMode {
+    BLOCKING,
+    NIO
+}
@@ -0,0 +1,74 @@
+package server.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+class UnixDomainAcceptor implements SocketAcceptor {
+    private static final Logger logger = LoggerFactory.getLogger(UnixDomainAcceptor.class);
+    private final ServerSocketChannel serverChannel;
+    private final Path path;
+    private final AtomicLong acceptedCount = new AtomicLong();
+
+    UnixDomainAcceptor(Path path, int backlog) throws IOException {
+        this.serverChannel = openServerChannel(path, backlog);
+        this.path = path;
+    }
+
+    static ServerSocketChannel openServerChannel(Path path, int backlog) throws IOException {
+        Files.deleteIfExists(path);
+        ServerSocketChannel serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            serverChannel.bind(UnixDomainSocketAddress.of(path), backlog);
+            return serverChannel;
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+    }
+
+    static void unlink(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to remove unix socket file {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public Socket accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        acceptedCount.incrementAndGet();
+        try {
+            return new UnixDomainSocket(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage());
+        } finally {
+            unlink(path);
+        }
+    }
+}
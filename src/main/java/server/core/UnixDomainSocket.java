@@ -0,0 +1,188 @@
+package server.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+class UnixDomainSocket extends Socket {
+    private final SocketChannel channel;
+    private final ReentrantLock readLock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final InputStream inputStream = new ChannelInputStream();
+    private final OutputStream outputStream = new ChannelOutputStream();
+    private volatile Selector readSelector;
+    private volatile Selector writeSelector;
+    private volatile int soTimeout;
+
+    UnixDomainSocket(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(false);
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) {
+        this.soTimeout = timeout;
+    }
+
+    @Override
+    public int getSoTimeout() {
+        return soTimeout;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public void shutdownOutput() throws IOException {
+        channel.shutdownOutput();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            wakeup(readSelector);
+            wakeup(writeSelector);
+            super.close();
+        }
+    }
+
+    private int read(ByteBuffer buffer) throws IOException {
+        readLock.lock();
+        try {
+            long deadline = deadline();
+            int read;
+            while ((read = channel.read(buffer)) == 0) {
+                if (readSelector == null) {
+                    readSelector = open(SelectionKey.OP_READ);
+                }
+                await(readSelector, deadline);
+            }
+            return read;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        writeLock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.write(buffer) == 0) {
+                    if (writeSelector == null) {
+                        writeSelector = open(SelectionKey.OP_WRITE);
+                    }
+                    await(writeSelector, 0);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long deadline() {
+        int timeout = soTimeout;
+        return timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+    }
+
+    private Selector open(int interestOps) throws IOException {
+        Selector selector = Selector.open();
+        try {
+            channel.register(selector, interestOps);
+            return selector;
+        } catch (IOException e) {
+            selector.close();
+            throw e;
+        }
+    }
+
+    private void await(Selector selector, long deadline) throws IOException {
+        long timeoutMillis = 0;
+        if (deadline != 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("Read timed out");
+            }
+            timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+        }
+        try {
+            selector.select(timeoutMillis);
+            selector.selectedKeys().clear();
+        } catch (ClosedSelectorException e) {
+            throw new AsynchronousCloseException();
+        }
+    }
+
+    private static void wakeup(Selector selector) throws IOException {
+        if (selector != null) {
+            selector.wakeup();
+            selector.close();
+        }
+    }
+
+    private class ChannelInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            return UnixDomainSocket.this.read(ByteBuffer.wrap(b, off, len));
+        }
+
+        @Override
+        public void close() throws IOException {
+            UnixDomainSocket.this.close();
+        }
+    }
+
+    private class ChannelOutputStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            UnixDomainSocket.this.write(ByteBuffer.wrap(b, off, len));
+        }
+
+        @Override
+        public void close() throws IOException {
+            UnixDomainSocket.this.close();
+        }
+    }
+}
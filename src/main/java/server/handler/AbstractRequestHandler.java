@@ -2,6 +2,7 @@ package server.handler;
 
 import server.http.ContentType;
 import server.http.HttpResponse;
+import server.http.StreamingBody;
 
 import static server.util.FileUtils.readFileContent;
 
@@ -15,6 +16,13 @@ public abstract class AbstractRequestHandler implements RequestHandler {
                 .body(body);
     }
 
+    protected HttpResponse.Builder ok(StreamingBody body) {
+        return HttpResponse.builder()
+                .statusCode(200)
+                .statusText("OK")
+                .body(body);
+    }
+
     protected HttpResponse.Builder redirect(String url) {
         return HttpResponse.builder()
                 .statusCode(302)
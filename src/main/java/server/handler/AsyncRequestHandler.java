@@ -0,0 +1,15 @@
+package server.handler;
+
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+import java.util.concurrent.CompletionStage;
+
+public interface AsyncRequestHandler extends RequestHandler {
+    CompletionStage<HttpResponse> handleAsync(HttpRequest request);
+
+    @Override
+    default HttpResponse handle(HttpRequest request) {
+        return handleAsync(request).toCompletableFuture().join();
+    }
+}
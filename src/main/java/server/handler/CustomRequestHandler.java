@@ -5,23 +5,37 @@ import server.handler.annotation.HttpMethod;
 import server.http.HttpRequest;
 import server.http.HttpResponse;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
-public abstract class CustomRequestHandler extends AbstractRequestHandler {
+public abstract class CustomRequestHandler extends AbstractRequestHandler implements AsyncRequestHandler {
     @Override
-    public HttpResponse handle(HttpRequest request) {
+    public CompletionStage<HttpResponse> handleAsync(HttpRequest request) {
         String httpMethod = request.getMethod();
         for (Method method : this.getClass().getDeclaredMethods()) {
             HttpMethod httpMethodAnnotation = method.getAnnotation(HttpMethod.class);
             if (httpMethodAnnotation != null && httpMethodAnnotation.value().equalsIgnoreCase(httpMethod)) {
-                try {
-                    return (HttpResponse) method.invoke(this, request);
-                } catch (Exception e) {
-                    return internalServerError().build();
-                }
+                return invoke(method, request);
             }
         }
-        return notFound().build();
+        return CompletableFuture.completedFuture(notFound().build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletionStage<HttpResponse> invoke(Method method, HttpRequest request) {
+        try {
+            Object result = method.invoke(this, request);
+            if (result instanceof CompletionStage<?> stage) {
+                return (CompletionStage<HttpResponse>) stage;
+            }
+            return CompletableFuture.completedFuture((HttpResponse) result);
+        } catch (InvocationTargetException e) {
+            return CompletableFuture.failedFuture(e.getCause());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -30,6 +30,10 @@ public class StaticFileHandler extends AbstractRequestHandler {
                 .build();
     }
 
+    public HttpResponse internalServerError(HttpRequest request) {
+        return internalServerError().build();
+    }
+
     @Override
     public boolean canHandle(HttpRequest request) {
         return staticFiles.containsKey(request.getPath());
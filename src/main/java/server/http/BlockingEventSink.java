@@ -0,0 +1,68 @@
+package server.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+class BlockingEventSink implements EventSink, StreamingBody {
+    private static final int MAX_QUEUED = 64;
+    private static final byte[] END = new byte[0];
+    private final EventStream stream;
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    BlockingEventSink(EventStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.flush();
+        stream.open(this);
+        try {
+            byte[] data;
+            while ((data = queue.take()) != END) {
+                out.write(data);
+                if (queue.isEmpty()) {
+                    out.flush();
+                    stream.writable();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming events");
+        } finally {
+            closed = true;
+            stream.closed();
+        }
+    }
+
+    @Override
+    public boolean send(byte[] data) {
+        if (closed) {
+            return false;
+        }
+        queue.add(data);
+        return true;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return !closed && queue.size() < MAX_QUEUED;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        queue.add(END);
+    }
+
+    @Override
+    public void abort() {
+        closed = true;
+        queue.clear();
+        queue.add(END);
+    }
+}
@@ -0,0 +1,81 @@
+package server.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+class ChunkedOutputStream extends OutputStream {
+    private static final int CHUNK_SIZE = 8192;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private final OutputStream out;
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int count;
+    private boolean finished;
+
+    ChunkedOutputStream(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (finished) {
+            throw new IOException("Chunked body already finished");
+        }
+        if (count == buffer.length) {
+            flushChunk();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Chunked body already finished");
+        }
+        if (len >= buffer.length) {
+            flushChunk();
+            writeChunk(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) {
+            flushChunk();
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushChunk();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        flushChunk();
+        out.write(LAST_CHUNK);
+        finished = true;
+    }
+
+    private void flushChunk() throws IOException {
+        if (count > 0) {
+            writeChunk(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeChunk(byte[] b, int off, int len) throws IOException {
+        out.write(Integer.toHexString(len).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+        out.write(b, off, len);
+        out.write(CRLF);
+    }
+}
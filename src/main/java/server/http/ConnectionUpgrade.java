@@ -0,0 +1,13 @@
+package server.http;
+
+import java.util.concurrent.Executor;
+
+public interface ConnectionUpgrade {
+    void open(EventSink sink, Executor callbackExecutor);
+
+    void receive(byte[] data, int offset, int length);
+
+    void writable();
+
+    void closed();
+}
@@ -0,0 +1,11 @@
+package server.http;
+
+public interface EventSink {
+    boolean send(byte[] data);
+
+    boolean isWritable();
+
+    void close();
+
+    void abort();
+}
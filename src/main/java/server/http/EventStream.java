@@ -0,0 +1,9 @@
+package server.http;
+
+public interface EventStream {
+    void open(EventSink sink);
+
+    void writable();
+
+    void closed();
+}
@@ -0,0 +1,329 @@
+package server.http;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public final class HttpHeaders extends AbstractMap<String, String> {
+    public static final String ACCEPT = "Accept";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String ACCEPT_LANGUAGE = "Accept-Language";
+    public static final String AUTHORIZATION = "Authorization";
+    public static final String CACHE_CONTROL = "Cache-Control";
+    public static final String CONNECTION = "Connection";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String CONTENT_LENGTH = "Content-Length";
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final String COOKIE = "Cookie";
+    public static final String DATE = "Date";
+    public static final String ETAG = "ETag";
+    public static final String EXPECT = "Expect";
+    public static final String HOST = "Host";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String LOCATION = "Location";
+    public static final String ORIGIN = "Origin";
+    public static final String PRAGMA = "Pragma";
+    public static final String REFERER = "Referer";
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String SEC_FETCH_DEST = "Sec-Fetch-Dest";
+    public static final String SEC_FETCH_MODE = "Sec-Fetch-Mode";
+    public static final String SEC_FETCH_SITE = "Sec-Fetch-Site";
+    public static final String SEC_FETCH_USER = "Sec-Fetch-User";
+    public static final String SET_COOKIE = "Set-Cookie";
+    public static final String TRANSFER_ENCODING = "Transfer-Encoding";
+    public static final String UPGRADE = "Upgrade";
+    public static final String UPGRADE_INSECURE_REQUESTS = "Upgrade-Insecure-Requests";
+    public static final String USER_AGENT = "User-Agent";
+    public static final String VARY = "Vary";
+    public static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    public static final String X_REQUESTED_WITH = "X-Requested-With";
+    private static final String[] WELL_KNOWN = {
+            HOST, USER_AGENT, ACCEPT, ACCEPT_ENCODING, ACCEPT_LANGUAGE, CONNECTION, COOKIE, CONTENT_TYPE,
+            CONTENT_LENGTH, TRANSFER_ENCODING, AUTHORIZATION, CACHE_CONTROL, REFERER, ORIGIN, UPGRADE, EXPECT,
+            PRAGMA, IF_NONE_MATCH, IF_MODIFIED_SINCE, UPGRADE_INSECURE_REQUESTS, SEC_FETCH_SITE, SEC_FETCH_MODE,
+            SEC_FETCH_DEST, SEC_FETCH_USER, X_FORWARDED_FOR, X_REQUESTED_WITH, CONTENT_ENCODING, DATE, ETAG,
+            LAST_MODIFIED, LOCATION, RETRY_AFTER, SET_COOKIE, VARY
+    };
+    private static final String[] EMPTY = new String[0];
+    private static final String[][] WELL_KNOWN_BY_LENGTH = byLength(WELL_KNOWN);
+    private static final int INITIAL_CAPACITY = 8;
+    private final boolean readOnly;
+    private String[] fields;
+    private int size;
+    private Set<Entry<String, String>> entrySet;
+
+    public HttpHeaders() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public HttpHeaders(int capacity) {
+        this.fields = capacity == 0 ? EMPTY : new String[capacity * 2];
+        this.readOnly = false;
+    }
+
+    private HttpHeaders(String[] fields, int size) {
+        this.fields = fields;
+        this.size = size;
+        this.readOnly = true;
+    }
+
+    public static String wellKnownName(byte[] buffer, int from, int to) {
+        int length = to - from;
+        if (length >= WELL_KNOWN_BY_LENGTH.length) {
+            return null;
+        }
+        for (String candidate : WELL_KNOWN_BY_LENGTH[length]) {
+            if (equalsIgnoreCase(candidate, buffer, from)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public static String wellKnownName(String name) {
+        if (name.length() >= WELL_KNOWN_BY_LENGTH.length) {
+            return null;
+        }
+        for (String candidate : WELL_KNOWN_BY_LENGTH[name.length()]) {
+            if (candidate.equalsIgnoreCase(name)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public HttpHeaders add(String name, String value) {
+        checkWritable();
+        if (name == null || value == null) {
+            throw new IllegalArgumentException("Header name and value must not be null");
+        }
+        if (size * 2 == fields.length) {
+            fields = Arrays.copyOf(fields, Math.max(INITIAL_CAPACITY * 2, fields.length * 2));
+        }
+        fields[size * 2] = name;
+        fields[size * 2 + 1] = value;
+        size++;
+        return this;
+    }
+
+    public HttpHeaders set(String name, String value) {
+        removeAll(name);
+        return add(name, value);
+    }
+
+    @Override
+    public String get(Object name) {
+        int index = indexOf(name);
+        return index < 0 ? null : fields[index * 2 + 1];
+    }
+
+    public List<String> getAll(String name) {
+        List<String> values = new ArrayList<>(1);
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(fields[i * 2], name)) {
+                values.add(fields[i * 2 + 1]);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return indexOf(name) >= 0;
+    }
+
+    @Override
+    public String put(String name, String value) {
+        String previous = get(name);
+        set(name, value);
+        return previous;
+    }
+
+    @Override
+    public String remove(Object name) {
+        String previous = get(name);
+        if (name instanceof String) {
+            removeAll((String) name);
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (isFirstOccurrence(i)) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int fieldCount() {
+        return size;
+    }
+
+    public String name(int index) {
+        return fields[checkIndex(index) * 2];
+    }
+
+    public String value(int index) {
+        return fields[checkIndex(index) * 2 + 1];
+    }
+
+    public void forEachField(BiConsumer<? super String, ? super String> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(fields[i * 2], fields[i * 2 + 1]);
+        }
+    }
+
+    public HttpHeaders toReadOnly() {
+        if (readOnly) {
+            return this;
+        }
+        return new HttpHeaders(size == 0 ? EMPTY : Arrays.copyOf(fields, size * 2), size);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        Set<Entry<String, String>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    private void removeAll(String name) {
+        checkWritable();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!nameEquals(fields[i * 2], name)) {
+                fields[kept * 2] = fields[i * 2];
+                fields[kept * 2 + 1] = fields[i * 2 + 1];
+                kept++;
+            }
+        }
+        Arrays.fill(fields, kept * 2, size * 2, null);
+        size = kept;
+    }
+
+    private int indexOf(Object name) {
+        if (!(name instanceof String)) {
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(fields[i * 2], (String) name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isFirstOccurrence(int index) {
+        String name = fields[index * 2];
+        for (int i = 0; i < index; i++) {
+            if (nameEquals(fields[i * 2], name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Header index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Headers are read-only");
+        }
+    }
+
+    private static boolean nameEquals(String name, String other) {
+        return name == other || name.length() == other.length() && name.equalsIgnoreCase(other);
+    }
+
+    private static boolean equalsIgnoreCase(String name, byte[] buffer, int from) {
+        for (int i = 0; i < name.length(); i++) {
+            int c = buffer[from + i];
+            int expected = name.charAt(i);
+            if (c != expected && toLowerCase(c) != toLowerCase(expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toLowerCase(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static String[][] byLength(String[] names) {
+        int maxLength = 0;
+        for (String name : names) {
+            maxLength = Math.max(maxLength, name.length());
+        }
+        String[][] table = new String[maxLength + 1][];
+        Arrays.fill(table, EMPTY);
+        for (String name : names) {
+            String[] bucket = table[name.length()];
+            bucket = Arrays.copyOf(bucket, bucket.length + 1);
+            bucket[bucket.length - 1] = name;
+            table[name.length()] = bucket;
+        }
+        return table;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new Iterator<>() {
+                private int index = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    if (index >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<String, String> entry = new SimpleImmutableEntry<>(fields[index * 2], fields[index * 2 + 1]);
+                    index = advance(index + 1);
+                    return entry;
+                }
+
+                private int advance(int from) {
+                    while (from < size && !isFirstOccurrence(from)) {
+                        from++;
+                    }
+                    return from;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return HttpHeaders.this.size();
+        }
+    }
+}
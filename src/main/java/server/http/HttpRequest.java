@@ -1,27 +1,39 @@
 package server.http;
 
+import server.http.parser.RequestHead;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
 public class HttpRequest {
+    private static final String FORM_URLENCODED = "application/x-www-form-urlencoded";
     private final String method;
     private final String path;
     private final String version;
-    private final Map<String, String> headers;
+    private final HttpHeaders headers;
     private final Map<String, String> cookies;
-    private final Map<String, String> queryParams;
-    private final String body;
-    private final byte[] bodyBytes;
+    private final Parameters queryParams;
+    private final RequestHead head;
+    private final RequestBody requestBody;
+    private volatile String body;
+    private volatile byte[] bodyBytes;
+    private volatile Parameters query;
+    private volatile Parameters parameters;
+    private volatile HttpHeaders mergedHeaders;
 
     private HttpRequest(Builder builder) {
         this.method = builder.method;
         this.path = builder.path;
         this.version = builder.version;
-        this.headers = Map.copyOf(builder.headers);
+        this.headers = builder.headers.toReadOnly();
         this.cookies = Map.copyOf(builder.cookies);
-        this.queryParams = Map.copyOf(builder.queryParams);
+        this.queryParams = builder.queryParams.build();
+        this.head = builder.head;
         this.body = builder.body;
-        this.bodyBytes = builder.bodyBytes;
+        this.requestBody = builder.requestBody;
     }
 
     public String getMethod() {
@@ -36,39 +48,133 @@ public class HttpRequest {
         return version;
     }
 
-    public Map<String, String> getHeaders() {
-        return headers;
+    public HttpHeaders getHeaders() {
+        if (head == null) {
+            return headers;
+        }
+        if (headers.isEmpty()) {
+            return head.headers();
+        }
+        HttpHeaders result = mergedHeaders;
+        if (result == null) {
+            HttpHeaders parsed = head.headers();
+            HttpHeaders merged = new HttpHeaders(parsed.fieldCount() + headers.fieldCount());
+            parsed.forEachField((name, value) -> {
+                if (!headers.containsKey(name)) {
+                    merged.add(name, value);
+                }
+            });
+            headers.forEachField(merged::add);
+            result = merged.toReadOnly();
+            mergedHeaders = result;
+        }
+        return result;
+    }
+
+    public String getHeader(String name) {
+        String value = headers.get(name);
+        return value == null && head != null ? head.header(name) : value;
     }
 
     public String getCookie(String name) {
-        return cookies.get(name);
+        return getCookies().get(name);
     }
 
     public String getQueryParam(String name) {
-        return queryParams.get(name);
+        return getQuery().get(name);
     }
 
     public Map<String, String> getQueryParams() {
-        return new HashMap<>(queryParams);
+        return getQuery().toMap();
+    }
+
+    public Parameters getQuery() {
+        Parameters result = query;
+        if (result == null) {
+            if (head == null) {
+                result = queryParams;
+            } else if (queryParams.isEmpty()) {
+                result = head.queryParameters();
+            } else {
+                result = Parameters.builder().addAll(head.queryParameters()).addAll(queryParams).build();
+            }
+            query = result;
+        }
+        return result;
+    }
+
+    public Parameters getParameters() {
+        Parameters result = parameters;
+        if (result == null) {
+            byte[] form = isFormUrlEncoded() ? formBytes() : null;
+            result = form == null || form.length == 0
+                    ? getQuery()
+                    : Parameters.builder().addAll(getQuery()).addEncoded(form, 0, form.length).build();
+            parameters = result;
+        }
+        return result;
+    }
+
+    public String getParameter(String name) {
+        return getParameters().get(name);
+    }
+
+    private boolean isFormUrlEncoded() {
+        String contentType = getHeader("Content-Type");
+        return contentType != null && contentType.regionMatches(true, 0, FORM_URLENCODED, 0, FORM_URLENCODED.length());
+    }
+
+    private byte[] formBytes() {
+        if (body != null && requestBody == null) {
+            return body.getBytes(StandardCharsets.UTF_8);
+        }
+        return getBodyBytes();
+    }
+
+    private Map<String, String> getCookies() {
+        return head == null ? cookies : merge(head.cookies(), cookies);
+    }
+
+    private static Map<String, String> merge(Map<String, String> parsed, Map<String, String> added) {
+        if (added.isEmpty()) {
+            return parsed;
+        }
+        Map<String, String> merged = new HashMap<>(parsed);
+        merged.putAll(added);
+        return Map.copyOf(merged);
     }
 
     public String getBody() {
+        if (body == null && requestBody != null && getHeader("Content-Type") != null) {
+            body = new String(getBodyBytes(), StandardCharsets.UTF_8).trim();
+        }
         return body;
     }
 
     public byte[] getBodyBytes() {
+        if (bodyBytes == null && requestBody != null) {
+            bodyBytes = requestBody.toByteArray();
+        }
         return bodyBytes;
     }
 
+    public RequestBody getRequestBody() {
+        return requestBody == null ? RequestBody.EMPTY : requestBody;
+    }
+
+    public InputStream getBodyStream() throws IOException {
+        return getRequestBody().openStream();
+    }
+
     @Override
     public String toString() {
         return "HttpRequest{" +
                 "method='" + method + '\'' +
                 ", path='" + path + '\'' +
                 ", version='" + version + '\'' +
-                ", headers=" + headers +
-                ", queryParams=" + queryParams +
-                ", body='" + body + '\'' +
+                ", headers=" + getHeaders() +
+                ", queryParams=" + getQueryParams() +
+                ", bodyLength=" + getRequestBody().length() +
                 '}';
     }
 
@@ -76,11 +182,12 @@ public class HttpRequest {
         private String method;
         private String path;
         private String version;
-        private Map<String, String> headers = new HashMap<>();
+        private HttpHeaders headers = new HttpHeaders();
         private Map<String, String> cookies = new HashMap<>();
-        private Map<String, String> queryParams = new HashMap<>();
+        private Parameters.Builder queryParams = Parameters.builder();
+        private RequestHead head;
         private String body;
-        private byte[] bodyBytes;
+        private RequestBody requestBody;
 
         public Builder method(String method) {
             this.method = method;
@@ -98,7 +205,7 @@ public class HttpRequest {
         }
 
         public Builder addHeader(String name, String value) {
-            this.headers.put(name, value);
+            this.headers.add(name, value);
             return this;
         }
 
@@ -107,12 +214,27 @@ public class HttpRequest {
             return this;
         }
 
+        public Builder head(RequestHead head) {
+            this.head = head;
+            return this;
+        }
+
+        public RequestHead getHead() {
+            return head;
+        }
+
         public String getHeader(String name) {
-            return this.headers.get(name);
+            String value = this.headers.get(name);
+            return value == null && head != null ? head.header(name) : value;
         }
 
         public Builder addQueryParam(String name, String value) {
-            this.queryParams.put(name, value);
+            this.queryParams.add(name, value);
+            return this;
+        }
+
+        public Builder rawQuery(byte[] query) {
+            this.queryParams.addEncoded(query, 0, query.length);
             return this;
         }
 
@@ -122,7 +244,12 @@ public class HttpRequest {
         }
 
         public Builder bodyBytes(byte[] bodyBytes) {
-            this.bodyBytes = bodyBytes;
+            this.requestBody = RequestBody.of(bodyBytes);
+            return this;
+        }
+
+        public Builder body(RequestBody requestBody) {
+            this.requestBody = requestBody;
             return this;
         }
 
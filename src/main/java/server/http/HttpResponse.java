@@ -1,22 +1,32 @@
 package server.http;
 
-import java.util.HashMap;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class HttpResponse {
+    public static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
     private final String version;
     private final int statusCode;
     private final String statusText;
-    private final Map<String, String> headers;
+    private final HttpHeaders headers;
     private final byte[] body;
+    private final StreamingBody streamingBody;
+    private final EventStream eventStream;
+    private final ConnectionUpgrade upgrade;
 
     private HttpResponse(Builder builder) {
         this.version = builder.version;
         this.statusCode = builder.statusCode;
         this.statusText = builder.statusText;
-        this.headers = Map.copyOf(builder.headers);
+        this.headers = builder.headersWithCookies().toReadOnly();
         this.body = builder.body;
+        this.streamingBody = builder.streamingBody;
+        this.eventStream = builder.eventStream;
+        this.upgrade = builder.upgrade;
     }
 
     public String getVersion() {
@@ -31,28 +41,97 @@ public class HttpResponse {
         return statusText;
     }
 
-    public Map<String, String> getHeaders() {
+    public HttpHeaders getHeaders() {
         return headers;
     }
 
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
     public byte[] getBody() {
         return body;
     }
 
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
+    public boolean isStreaming() {
+        return streamingBody != null;
+    }
+
+    public EventStream getEventStream() {
+        return eventStream;
+    }
+
+    public boolean isEventStream() {
+        return eventStream != null;
+    }
+
+    public ConnectionUpgrade getUpgrade() {
+        return upgrade;
+    }
+
+    public boolean isUpgrade() {
+        return upgrade != null;
+    }
+
     public byte[] getBytes() {
-        StringBuilder response = new StringBuilder();
-        response.append(version).append(" ")
-                .append(statusCode).append(" ")
-                .append(statusText).append("\r\n");
+        return toBytes(null);
+    }
+
+    public byte[] getBytes(boolean keepAlive) {
+        return toBytes(keepAlive ? "keep-alive" : "close");
+    }
+
+    public byte[] getHeadBytes(boolean keepAlive) {
+        return head(keepAlive ? "keep-alive" : "close").getBytes();
+    }
+
+    public boolean isCloseDelimited(String requestVersion) {
+        return streamingBody != null && allowsBody() && !hasHeader("Content-Length")
+                && !"HTTP/1.1".equals(requestVersion);
+    }
+
+    public void writeTo(OutputStream out, boolean keepAlive) throws IOException {
+        writeTo(out, keepAlive, "HTTP/1.1");
+    }
 
-        for (Map.Entry<String, String> header : headers.entrySet()) {
-            response.append(header.getKey()).append(": ")
-                    .append(header.getValue()).append("\r\n");
+    public void writeTo(OutputStream out, boolean keepAlive, String requestVersion) throws IOException {
+        boolean closeDelimited = isCloseDelimited(requestVersion);
+        out.write(head(keepAlive && !closeDelimited ? "keep-alive" : "close", !closeDelimited).getBytes());
+        if (streamingBody == null) {
+            out.write(body);
+            return;
         }
+        if (!allowsBody()) {
+            return;
+        }
+        if (closeDelimited || hasHeader("Content-Length")) {
+            streamingBody.writeTo(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
 
-        response.append("\r\n");
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            });
+            return;
+        }
+        ChunkedOutputStream chunked = new ChunkedOutputStream(out);
+        streamingBody.writeTo(chunked);
+        chunked.finish();
+    }
 
-        byte[] headerBytes = response.toString().getBytes();
+    private byte[] toBytes(String connection) {
+        if (streamingBody != null) {
+            throw new IllegalStateException("Streaming responses must be written with writeTo");
+        }
+        byte[] headerBytes = head(connection).getBytes();
         byte[] responseBytes = new byte[headerBytes.length + body.length];
 
         System.arraycopy(headerBytes, 0, responseBytes, 0, headerBytes.length);
@@ -61,6 +140,46 @@ public class HttpResponse {
         return responseBytes;
     }
 
+    private String head(String connection) {
+        return head(connection, true);
+    }
+
+    private String head(String connection, boolean chunked) {
+        StringBuilder response = new StringBuilder();
+        response.append(version).append(" ")
+                .append(statusCode).append(" ")
+                .append(statusText).append("\r\n");
+
+        for (int i = 0; i < headers.fieldCount(); i++) {
+            response.append(headers.name(i)).append(": ")
+                    .append(headers.value(i)).append("\r\n");
+        }
+
+        if (allowsBody() && !hasHeader("Content-Length")) {
+            if (streamingBody != null) {
+                if (chunked) {
+                    response.append("Transfer-Encoding: chunked\r\n");
+                }
+            } else {
+                response.append("Content-Length: ").append(body.length).append("\r\n");
+            }
+        }
+        if (connection != null && !hasHeader("Connection")) {
+            response.append("Connection: ").append(connection).append("\r\n");
+        }
+
+        response.append("\r\n");
+        return response.toString();
+    }
+
+    private boolean allowsBody() {
+        return statusCode >= 200 && statusCode != 204 && statusCode != 304;
+    }
+
+    private boolean hasHeader(String name) {
+        return headers.containsKey(name);
+    }
+
     @Override
     public String toString() {
         StringBuilder response = new StringBuilder();
@@ -68,9 +187,9 @@ public class HttpResponse {
                 .append(statusCode).append(" ")
                 .append(statusText).append("\r\n");
 
-        for (Map.Entry<String, String> header : headers.entrySet()) {
-            response.append(header.getKey()).append(": ")
-                    .append(header.getValue()).append("\r\n");
+        for (int i = 0; i < headers.fieldCount(); i++) {
+            response.append(headers.name(i)).append(": ")
+                    .append(headers.value(i)).append("\r\n");
         }
 
         response.append("\r\n");
@@ -86,9 +205,12 @@ public class HttpResponse {
         private String version = "HTTP/1.1";
         private int statusCode = 200;
         private String statusText = "OK";
-        private Map<String, String> headers = new HashMap<>();
+        private HttpHeaders headers = new HttpHeaders();
         private Map<String, Cookie> cookies = new LinkedHashMap<>();
         private byte[] body = new byte[0];
+        private StreamingBody streamingBody;
+        private EventStream eventStream;
+        private ConnectionUpgrade upgrade;
 
         public Builder version(String version) {
             this.version = version;
@@ -106,7 +228,12 @@ public class HttpResponse {
         }
 
         public Builder addHeader(String name, String value) {
-            this.headers.put(name, value);
+            this.headers.set(name, value);
+            return this;
+        }
+
+        public Builder appendHeader(String name, String value) {
+            this.headers.add(name, value);
             return this;
         }
 
@@ -117,32 +244,60 @@ public class HttpResponse {
 
         public Builder body(byte[] body) {
             this.body = body;
+            this.streamingBody = null;
+            this.eventStream = null;
+            return this;
+        }
+
+        public Builder body(StreamingBody streamingBody) {
+            this.body = new byte[0];
+            this.streamingBody = streamingBody;
+            this.eventStream = null;
+            return this;
+        }
+
+        public Builder body(EventStream eventStream) {
+            this.body = new byte[0];
+            this.streamingBody = new BlockingEventSink(eventStream);
+            this.eventStream = eventStream;
+            return this;
+        }
+
+        public Builder upgrade(ConnectionUpgrade upgrade) {
+            this.upgrade = upgrade;
             return this;
         }
 
         public HttpResponse build() {
-            if (!cookies.isEmpty()) {
-                cookies.values().forEach(cookie -> {
-                    StringBuilder cookieBuilder = new StringBuilder();
-                    cookieBuilder.append(cookie.name()).append("=").append(cookie.value())
-                            .append("; Path=/");
-
-                    if (cookie.maxAge() > 0) {
-                        cookieBuilder.append("; Max-Age=").append(cookie.maxAge());
-                    } else if (cookie.maxAge() == 0) {
-                        cookieBuilder.append("; Max-Age=0")
-                                .append("; Expires=Thu, 01 Jan 1970 00:00:00 GMT");
-                    }
-
-                    if (cookie.httpOnly()) {
-                        cookieBuilder.append("; HttpOnly");
-                    }
-
-                    this.headers.put("Set-Cookie", cookieBuilder.toString());
-                });
-            }
             return new HttpResponse(this);
         }
+
+        private HttpHeaders headersWithCookies() {
+            if (cookies.isEmpty()) {
+                return headers;
+            }
+            HttpHeaders result = new HttpHeaders(headers.fieldCount() + cookies.size());
+            headers.forEachField(result::add);
+            cookies.values().forEach(cookie -> {
+                StringBuilder cookieBuilder = new StringBuilder();
+                cookieBuilder.append(cookie.name()).append("=").append(cookie.value())
+                        .append("; Path=/");
+
+                if (cookie.maxAge() > 0) {
+                    cookieBuilder.append("; Max-Age=").append(cookie.maxAge());
+                } else if (cookie.maxAge() == 0) {
+                    cookieBuilder.append("; Max-Age=0")
+                            .append("; Expires=Thu, 01 Jan 1970 00:00:00 GMT");
+                }
+
+                if (cookie.httpOnly()) {
+                    cookieBuilder.append("; HttpOnly");
+                }
+
+                result.add(HttpHeaders.SET_COOKIE, cookieBuilder.toString());
+            });
+            return result;
+        }
     }
 
     public static Builder builder() {
@@ -0,0 +1,254 @@
+package server.http;
+
+import server.http.parser.ByteScanner;
+import server.http.parser.PercentDecoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class Parameters {
+    public static final Parameters EMPTY = builder().build();
+    private static final int SLOTS = 6;
+    private static final int SOURCE = 0;
+    private static final int KEY_START = 1;
+    private static final int KEY_END = 2;
+    private static final int VALUE_START = 3;
+    private static final int VALUE_END = 4;
+    private static final int PLAIN_KEY = 5;
+    private final byte[][] sources;
+    private final int[] bounds;
+    private final String[] decoded;
+    private volatile Index index;
+    private volatile Map<String, String> map;
+
+    private Parameters(Builder builder) {
+        this.sources = builder.sources.toArray(new byte[0][]);
+        this.bounds = Arrays.copyOf(builder.bounds, builder.sources.size() * 2);
+        this.decoded = builder.decoded.toArray(new String[0]);
+    }
+
+    public String get(String name) {
+        Index index = index();
+        for (int i = 0; i < index.count(); i++) {
+            if (keyEquals(index, i, name)) {
+                return value(index, i);
+            }
+        }
+        return null;
+    }
+
+    public List<String> getAll(String name) {
+        Index index = index();
+        List<String> result = new ArrayList<>(1);
+        for (int i = 0; i < index.count(); i++) {
+            if (keyEquals(index, i, name)) {
+                result.add(value(index, i));
+            }
+        }
+        return result;
+    }
+
+    public boolean contains(String name) {
+        Index index = index();
+        for (int i = 0; i < index.count(); i++) {
+            if (keyEquals(index, i, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> names() {
+        Index index = index();
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < index.count(); i++) {
+            names.add(key(index, i));
+        }
+        return names;
+    }
+
+    public int size() {
+        return index().count();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public Map<String, String> toMap() {
+        Map<String, String> result = map;
+        if (result == null) {
+            Index index = index();
+            Map<String, String> collected = new HashMap<>();
+            for (int i = 0; i < index.count(); i++) {
+                collected.putIfAbsent(key(index, i), value(index, i));
+            }
+            result = Map.copyOf(collected);
+            map = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private Index index() {
+        Index result = index;
+        if (result == null) {
+            result = buildIndex();
+            index = result;
+        }
+        return result;
+    }
+
+    private Index buildIndex() {
+        int[] indexed = new int[SLOTS * 4];
+        int count = 0;
+        for (int source = 0; source < sources.length; source++) {
+            byte[] buffer = sources[source];
+            int to = bounds[source * 2 + 1];
+            int start = bounds[source * 2];
+            while (start <= to) {
+                int end = indexOf(buffer, start, to, (byte) '&');
+                int equals = indexOf(buffer, start, end, (byte) '=');
+                if (end > start) {
+                    if ((count + 1) * SLOTS > indexed.length) {
+                        indexed = Arrays.copyOf(indexed, indexed.length * 2);
+                    }
+                    int slot = count * SLOTS;
+                    boolean hasValue = equals < end;
+                    int keyEnd = hasValue ? equals : end;
+                    indexed[slot + SOURCE] = source;
+                    indexed[slot + KEY_START] = start;
+                    indexed[slot + KEY_END] = keyEnd;
+                    indexed[slot + VALUE_START] = hasValue ? equals + 1 : end;
+                    indexed[slot + VALUE_END] = end;
+                    indexed[slot + PLAIN_KEY] = isPlain(buffer, start, keyEnd) ? 1 : 0;
+                    count++;
+                }
+                start = end + 1;
+            }
+        }
+        int total = count + decoded.length / 2;
+        String[] keys = new String[total];
+        String[] values = new String[total];
+        for (int i = 0; i < decoded.length / 2; i++) {
+            keys[count + i] = decoded[i * 2];
+            values[count + i] = decoded[i * 2 + 1];
+        }
+        return new Index(indexed, total, keys, values);
+    }
+
+    private boolean keyEquals(Index index, int pair, String name) {
+        int[] pairs = index.pairs();
+        int slot = pair * SLOTS;
+        if (index.keys()[pair] != null || pairs[slot + PLAIN_KEY] == 0) {
+            return key(index, pair).equals(name);
+        }
+        byte[] buffer = sources[pairs[slot + SOURCE]];
+        int start = pairs[slot + KEY_START];
+        if (pairs[slot + KEY_END] - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (buffer[start + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String key(Index index, int pair) {
+        String key = index.keys()[pair];
+        if (key == null) {
+            int[] pairs = index.pairs();
+            int slot = pair * SLOTS;
+            key = PercentDecoder.decodeComponent(sources[pairs[slot + SOURCE]], pairs[slot + KEY_START],
+                    pairs[slot + KEY_END]);
+            index.keys()[pair] = key;
+        }
+        return key;
+    }
+
+    private String value(Index index, int pair) {
+        String value = index.values()[pair];
+        if (value == null) {
+            int[] pairs = index.pairs();
+            int slot = pair * SLOTS;
+            value = PercentDecoder.decodeComponent(sources[pairs[slot + SOURCE]], pairs[slot + VALUE_START],
+                    pairs[slot + VALUE_END]);
+            index.values()[pair] = value;
+        }
+        return value;
+    }
+
+    private static boolean isPlain(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (b < 0 || b == '%' || b == '+') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, byte target) {
+        int index = ByteScanner.indexOf(buffer, from, to, target);
+        return index < 0 ? to : index;
+    }
+
+    private record Index(int[] pairs, int count, String[] keys, String[] values) {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<byte[]> sources = new ArrayList<>();
+        private int[] bounds = new int[4];
+        private final List<String> decoded = new ArrayList<>();
+
+        public Builder addEncoded(byte[] buffer, int from, int to) {
+            if (from < 0 || to > buffer.length || from > to) {
+                throw new IllegalArgumentException("Invalid range " + from + ".." + to + " for " + buffer.length + " bytes");
+            }
+            int index = sources.size();
+            if ((index + 1) * 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            sources.add(buffer);
+            bounds[index * 2] = from;
+            bounds[index * 2 + 1] = to;
+            return this;
+        }
+
+        public Builder add(String name, String value) {
+            if (name == null || value == null) {
+                throw new IllegalArgumentException("Parameter name and value must not be null");
+            }
+            decoded.add(name);
+            decoded.add(value);
+            return this;
+        }
+
+        public Builder addAll(Parameters parameters) {
+            for (int i = 0; i < parameters.sources.length; i++) {
+                addEncoded(parameters.sources[i], parameters.bounds[i * 2], parameters.bounds[i * 2 + 1]);
+            }
+            decoded.addAll(Arrays.asList(parameters.decoded));
+            return this;
+        }
+
+        public Parameters build() {
+            return new Parameters(this);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package server.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class RequestBody {
+    public static final RequestBody EMPTY = new RequestBody(new byte[0], null, 0);
+    private final byte[] bytes;
+    private final Path file;
+    private final long length;
+
+    private RequestBody(byte[] bytes, Path file, long length) {
+        this.bytes = bytes;
+        this.file = file;
+        this.length = length;
+    }
+
+    public static RequestBody of(byte[] bytes) {
+        return new RequestBody(bytes, null, bytes.length);
+    }
+
+    static RequestBody ofFile(Path file, long length) {
+        return new RequestBody(null, file, length);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    public InputStream openStream() throws IOException {
+        if (file == null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        return Files.newInputStream(file);
+    }
+
+    public byte[] toByteArray() {
+        if (file == null) {
+            return bytes;
+        }
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Request body of " + length + " bytes does not fit in an array");
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spilled request body", e);
+        }
+    }
+
+    public void discard() {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete spilled request body " + file, e);
+        }
+    }
+}
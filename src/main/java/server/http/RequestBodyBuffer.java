@@ -0,0 +1,70 @@
+package server.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RequestBodyBuffer extends OutputStream {
+    public static final int DEFAULT_MEMORY_THRESHOLD = 64 * 1024;
+    private final int memoryThreshold;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Path file;
+    private OutputStream fileOut;
+    private long length;
+
+    public RequestBodyBuffer(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (fileOut == null && memory.size() + len > memoryThreshold) {
+            spill();
+        }
+        if (fileOut != null) {
+            fileOut.write(b, off, len);
+        } else {
+            memory.write(b, off, len);
+        }
+        length += len;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public RequestBody toBody() throws IOException {
+        if (fileOut == null) {
+            return RequestBody.of(memory.toByteArray());
+        }
+        fileOut.close();
+        return RequestBody.ofFile(file, length);
+    }
+
+    public void discard() {
+        try {
+            if (fileOut != null) {
+                fileOut.close();
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ignored) {
+        } finally {
+            memory = null;
+            fileOut = null;
+        }
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile("request-body", ".tmp");
+        fileOut = Files.newOutputStream(file);
+        memory.writeTo(fileOut);
+        memory = null;
+    }
+}
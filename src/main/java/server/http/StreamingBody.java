@@ -0,0 +1,9 @@
+package server.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface StreamingBody {
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,46 @@
+package server.http.parser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class ByteScanner {
+    private static final Logger logger = LoggerFactory.getLogger(ByteScanner.class);
+    private static final Implementation IMPLEMENTATION = load();
+
+    private ByteScanner() {
+    }
+
+    public static int indexOf(byte[] buffer, int from, int to, byte target) {
+        return IMPLEMENTATION.indexOf(buffer, from, to, target);
+    }
+
+    public static int indexOf(byte[] buffer, int from, int to, byte[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Empty pattern");
+        }
+        return IMPLEMENTATION.indexOf(buffer, from, to, pattern);
+    }
+
+    public static boolean isVectorized() {
+        return IMPLEMENTATION instanceof VectorByteScanner;
+    }
+
+    private static Implementation load() {
+        if (!"scalar".equals(System.getProperty("server.parser.scanner"))) {
+            try {
+                VectorByteScanner scanner = new VectorByteScanner();
+                logger.debug("Scanning with {}-bit vectors", scanner.vectorBitSize());
+                return scanner;
+            } catch (LinkageError e) {
+                logger.debug("Vector API is not available, scanning one byte at a time");
+            }
+        }
+        return new ScalarByteScanner();
+    }
+
+    interface Implementation {
+        int indexOf(byte[] buffer, int from, int to, byte target);
+
+        int indexOf(byte[] buffer, int from, int to, byte[] pattern);
+    }
+}
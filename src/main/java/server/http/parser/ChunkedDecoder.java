@@ -0,0 +1,107 @@
+package server.http.parser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class ChunkedDecoder {
+    private static final int SIZE = 0;
+    private static final int EXTENSION = 1;
+    private static final int SIZE_LF = 2;
+    private static final int DATA = 3;
+    private static final int DATA_CR = 4;
+    private static final int DATA_LF = 5;
+    private static final int TRAILER_START = 6;
+    private static final int TRAILER_LINE = 7;
+    private static final int TRAILER_LF = 8;
+    private static final int FINISHED = 9;
+    private static final long MAX_CHUNK_SIZE = Long.MAX_VALUE >> 4;
+    private int state = SIZE;
+    private long chunkSize;
+    private boolean sizeDigitSeen;
+    private long remaining;
+
+    public int decode(byte[] data, int offset, int length, OutputStream out) throws IOException {
+        int position = offset;
+        int limit = offset + length;
+        while (position < limit && state != FINISHED) {
+            if (state == DATA) {
+                int count = (int) Math.min(remaining, limit - position);
+                out.write(data, position, count);
+                position += count;
+                remaining -= count;
+                if (remaining == 0) {
+                    state = DATA_CR;
+                }
+                continue;
+            }
+            step(data[position++]);
+        }
+        return position - offset;
+    }
+
+    public boolean isFinished() {
+        return state == FINISHED;
+    }
+
+    public long pendingData() {
+        return state == DATA ? remaining : 0;
+    }
+
+    private void step(byte b) {
+        switch (state) {
+            case SIZE -> {
+                int digit = Character.digit(b, 16);
+                if (digit >= 0) {
+                    if (chunkSize > MAX_CHUNK_SIZE) {
+                        throw new IllegalArgumentException("Chunk size too large");
+                    }
+                    chunkSize = chunkSize * 16 + digit;
+                    sizeDigitSeen = true;
+                } else if (b == ';' && sizeDigitSeen) {
+                    state = EXTENSION;
+                } else if (b == '\r' && sizeDigitSeen) {
+                    state = SIZE_LF;
+                } else if (b != ' ' && b != '\t') {
+                    throw new IllegalArgumentException("Invalid chunk size");
+                }
+            }
+            case EXTENSION -> {
+                if (b == '\r') {
+                    state = SIZE_LF;
+                }
+            }
+            case SIZE_LF -> {
+                expect(b, '\n');
+                remaining = chunkSize;
+                state = chunkSize == 0 ? TRAILER_START : DATA;
+                chunkSize = 0;
+                sizeDigitSeen = false;
+            }
+            case DATA_CR -> {
+                expect(b, '\r');
+                state = DATA_LF;
+            }
+            case DATA_LF -> {
+                expect(b, '\n');
+                state = SIZE;
+            }
+            case TRAILER_START -> state = b == '\r' ? TRAILER_LF : TRAILER_LINE;
+            case TRAILER_LINE -> {
+                if (b == '\n') {
+                    state = TRAILER_START;
+                }
+            }
+            case TRAILER_LF -> {
+                expect(b, '\n');
+                state = FINISHED;
+            }
+            default -> throw new IllegalStateException("Unexpected decoder state " + state);
+        }
+    }
+
+    private static void expect(byte actual, char expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Malformed chunked encoding");
+        }
+    }
+}
@@ -1,141 +1,357 @@
 package server.http.parser;
 
+import server.http.HttpHeaders;
 import server.http.HttpRequest;
+import server.http.RequestBodyBuffer;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
 
 public class Http11Parser {
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int HEAD_BUFFER_SIZE = 512;
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "HEAD", "OPTIONS", "PATCH"};
+    private static final byte[][] METHOD_BYTES = asciiBytes(METHODS);
+    private static final String[] VERSIONS = {"HTTP/1.1", "HTTP/1.0"};
+    private static final byte[][] VERSION_BYTES = asciiBytes(VERSIONS);
+
     private Http11Parser() {
     }
 
     public static HttpRequest parse(InputStream inputStream) throws IOException {
-        HttpRequest.Builder builder = HttpRequest.builder();
+        return parse(inputStream, RequestBodyBuffer.DEFAULT_MEMORY_THRESHOLD);
+    }
 
-        parseRequestLine(inputStream, builder);
-        parseHeaders(inputStream, builder);
-        parseBody(inputStream, builder);
+    public static HttpRequest parse(InputStream inputStream, int bodyBufferSize) throws IOException {
+        return parse(inputStream, bodyBufferSize, RequestLimits.UNLIMITED);
+    }
 
+    public static HttpRequest parse(InputStream inputStream, int bodyBufferSize, RequestLimits limits)
+            throws IOException {
+        HttpRequest.Builder builder = parseHead(inputStream, limits);
+        parseBody(inputStream, builder, bodyBufferSize, limits.maxBodyBytes());
         return builder.build();
     }
 
-    private static void parseRequestLine(InputStream inputStream, HttpRequest.Builder builder) throws IOException {
-        String requestLine = readLine(inputStream);
-        if (requestLine == null || requestLine.isEmpty()) {
-            throw new IllegalArgumentException("Empty request line");
+    public static HttpRequest.Builder parseHead(InputStream inputStream) throws IOException {
+        return parseHead(inputStream, RequestLimits.UNLIMITED);
+    }
+
+    public static HttpRequest.Builder parseHead(InputStream inputStream, RequestLimits limits) throws IOException {
+        if (!inputStream.markSupported()) {
+            return parseHeadUnbuffered(inputStream, limits);
         }
-        String[] parts = requestLine.split(" ");
-        if (parts.length != 3) {
-            throw new IllegalArgumentException("Invalid request line: " + requestLine);
+        inputStream.mark(Integer.MAX_VALUE);
+        byte[] buffer = new byte[HEAD_BUFFER_SIZE];
+        int length = 0;
+        int headLength;
+        while ((headLength = headLength(buffer, 0, length, limits)) < 0) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            int read = inputStream.read(buffer, length, buffer.length - length);
+            if (read == -1) {
+                headLength = length;
+                break;
+            }
+            length += read;
         }
-        builder.method(parts[0]);
-        parsePathAndQueryParams(parts[1], builder);
-        builder.version(parts[2]);
+        inputStream.reset();
+        inputStream.skipNBytes(headLength);
+        return parseHead(buffer, 0, headLength, limits);
     }
 
-    private static void parseHeaders(InputStream inputStream, HttpRequest.Builder builder) throws IOException {
-        String headerLine;
-        while (!(headerLine = readLine(inputStream)).isEmpty()) {
-            int colonIndex = headerLine.indexOf(':');
-            if (colonIndex > 0) {
-                String name = headerLine.substring(0, colonIndex).trim();
-                String value = headerLine.substring(colonIndex + 1).trim();
-                builder.addHeader(name, value);
+    private static HttpRequest.Builder parseHeadUnbuffered(InputStream inputStream, RequestLimits limits)
+            throws IOException {
+        byte[] buffer = new byte[HEAD_BUFFER_SIZE];
+        int length = 0;
+        int read;
+        while ((read = inputStream.read()) != -1) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            buffer[length++] = (byte) read;
+            if (read == '\n' && endsHead(buffer, length)) {
+                break;
+            }
+            if (length > limits.maxHeaderBytes()) {
+                throw headTooLarge(buffer, 0, limits);
+            }
+        }
+        return parseHead(buffer, 0, length, limits);
+    }
 
-                if (name.equalsIgnoreCase("Cookie")) {
-                    parseCookies(value, builder);
-                }
+    public static HttpRequest parse(byte[] buffer, int offset, int length, int bodyBufferSize) throws IOException {
+        int headLength = headLength(buffer, offset, offset + length, RequestLimits.UNLIMITED);
+        if (headLength < 0) {
+            headLength = length;
+        }
+        HttpRequest.Builder builder = parseHead(buffer, offset, headLength, RequestLimits.UNLIMITED);
+        parseBody(new ByteArrayInputStream(buffer, offset + headLength, length - headLength), builder,
+                bodyBufferSize, RequestLimits.UNLIMITED.maxBodyBytes());
+        return builder.build();
+    }
+
+    public static int headLength(byte[] buffer, int offset, int limit, RequestLimits limits) {
+        int scanLimit = (int) Math.min(limit, (long) offset + limits.maxHeaderBytes() + 4);
+        int lineFeed = indexOf(buffer, offset, scanLimit, '\n');
+        while (lineFeed < scanLimit) {
+            int next = lineFeed + 1;
+            if (next < scanLimit && buffer[next] == '\n') {
+                return checkHeadLength(buffer, offset, next + 1 - offset, limits);
             }
+            if (next + 1 < scanLimit && buffer[next] == '\r' && buffer[next + 1] == '\n') {
+                return checkHeadLength(buffer, offset, next + 2 - offset, limits);
+            }
+            lineFeed = indexOf(buffer, next, scanLimit, '\n');
         }
+        checkHeadLength(buffer, offset, limit - offset, limits);
+        return -1;
     }
 
-    private static void parseCookies(String cookieHeader, HttpRequest.Builder builder) {
-        String[] cookies = cookieHeader.split(";");
-        for (String cookie : cookies) {
-            String[] parts = cookie.trim().split("=", 2);
-            if (parts.length == 2) {
-                String name = parts[0].trim();
-                String value = urlDecode(parts[1].trim());
-                builder.addCookie(name, value);
+    public static HttpRequest.Builder parseHead(byte[] buffer, int offset, int length, RequestLimits limits) {
+        HttpRequest.Builder builder = HttpRequest.builder();
+        byte[] head = Arrays.copyOfRange(buffer, offset, offset + length);
+        int lineEnd = indexOf(head, 0, length, '\n');
+        int[] query = parseRequestLine(head, 0, lineEnd, builder);
+        RequestFraming framing = RequestFraming.of(head, 0, length, limits);
+        int[] fields = new int[RequestHead.FIELD_SLOTS * 16];
+        int fieldCount = 0;
+        int position = lineEnd + 1;
+        while (position < length) {
+            lineEnd = indexOf(head, position, length, '\n');
+            int contentEnd = lineEnd > position && head[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd == position) {
+                break;
+            }
+            if (fieldCount * RequestHead.FIELD_SLOTS == fields.length) {
+                fields = Arrays.copyOf(fields, fields.length * 2);
+            }
+            if (parseHeader(head, position, contentEnd, fields, fieldCount * RequestHead.FIELD_SLOTS)) {
+                fieldCount++;
             }
+            position = lineEnd + 1;
+        }
+        builder.head(new RequestHead(head, fields, fieldCount, query[0], query[1], framing));
+        return builder;
+    }
+
+    public static boolean isChunked(HttpRequest.Builder builder) {
+        RequestHead head = builder.getHead();
+        if (head != null) {
+            return head.framing().chunked();
+        }
+        String transferEncoding = builder.getHeader("Transfer-Encoding");
+        return transferEncoding != null && transferEncoding.toLowerCase().endsWith("chunked");
+    }
+
+    public static boolean expectsContinue(HttpRequest.Builder builder) {
+        RequestHead head = builder.getHead();
+        if (head != null) {
+            return head.framing().expectsContinue();
+        }
+        return "100-continue".equalsIgnoreCase(builder.getHeader("Expect"))
+                && (isChunked(builder) || contentLength(builder) > 0);
+    }
+
+    public static long contentLength(HttpRequest.Builder builder) {
+        RequestHead head = builder.getHead();
+        if (head != null) {
+            return head.framing().contentLength();
+        }
+        String contentLengthHeader = builder.getHeader("Content-Length");
+        if (contentLengthHeader == null) {
+            return 0;
         }
+        return RequestFraming.parseContentLength(contentLengthHeader);
     }
 
-    private static void parsePathAndQueryParams(String fullPath, HttpRequest.Builder builder) {
-        String decodedPath = urlDecode(fullPath);
-        String[] pathParts = decodedPath.split("\\?", 2);
-        builder.path(pathParts[0]);
+    private static int[] parseRequestLine(byte[] buffer, int from, int to, HttpRequest.Builder builder) {
+        int start = skipWhitespace(buffer, from, to);
+        int end = trimWhitespace(buffer, start, to);
+        if (start == end) {
+            throw new IllegalArgumentException("Empty request line");
+        }
+        int methodEnd = indexOf(buffer, start, end, ' ');
+        int targetEnd = methodEnd < end ? indexOf(buffer, methodEnd + 1, end, ' ') : end;
+        if (methodEnd == start || targetEnd == end || targetEnd == methodEnd + 1
+                || indexOf(buffer, targetEnd + 1, end, ' ') != end) {
+            throw new IllegalArgumentException("Invalid request line: " + decode(buffer, start, end));
+        }
+        builder.method(lookup(METHODS, METHOD_BYTES, buffer, start, methodEnd));
+        int question = indexOf(buffer, methodEnd + 1, targetEnd, '?');
+        builder.path(PercentDecoder.decodePath(buffer, methodEnd + 1, question));
+        builder.version(lookup(VERSIONS, VERSION_BYTES, buffer, targetEnd + 1, end));
+        return question < targetEnd ? new int[]{question + 1, targetEnd} : new int[]{-1, -1};
+    }
 
-        if (pathParts.length > 1) {
-            parseQueryParams(pathParts[1], builder);
+    private static boolean parseHeader(byte[] buffer, int from, int to, int[] fields, int slot) {
+        int start = skipWhitespace(buffer, from, to);
+        int colon = indexOf(buffer, start, to, ':');
+        if (colon == to || colon == start) {
+            return false;
         }
+        int valueStart = skipWhitespace(buffer, colon + 1, to);
+        fields[slot] = start;
+        fields[slot + 1] = trimWhitespace(buffer, start, colon);
+        fields[slot + 2] = valueStart;
+        fields[slot + 3] = trimWhitespace(buffer, valueStart, to);
+        return true;
     }
 
-    private static void parseQueryParams(String queryString, HttpRequest.Builder builder) {
-        String[] pairs = queryString.split("&");
-        for (String pair : pairs) {
-            int idx = pair.indexOf("=");
-            if (idx > 0) {
-                String key = urlDecode(pair.substring(0, idx));
-                String value = idx < pair.length() - 1 ? urlDecode(pair.substring(idx + 1)) : "";
-                builder.addQueryParam(key, value);
-            } else {
-                builder.addQueryParam(urlDecode(pair), "");
+    static String headerName(byte[] buffer, int from, int to) {
+        String name = HttpHeaders.wellKnownName(buffer, from, to);
+        return name == null ? decode(buffer, from, to) : name;
+    }
+
+    private static String lookup(String[] known, byte[][] knownBytes, byte[] buffer, int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < knownBytes.length; i++) {
+            byte[] candidate = knownBytes[i];
+            if (candidate.length == length && Arrays.equals(candidate, 0, length, buffer, from, to)) {
+                return known[i];
             }
         }
+        return decode(buffer, from, to);
     }
 
-    private static String urlDecode(String value) {
-        if (value == null) {
-            return null;
+    static String decode(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] < 0) {
+                return new String(buffer, from, to - from, StandardCharsets.UTF_8);
+            }
         }
-        try {
-            return java.net.URLDecoder.decode(value, "UTF-8");
-        } catch (IllegalArgumentException e) {
-            return value.replaceAll("%(?![0-9a-fA-F]{2})", "%25");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException("UTF-8 is unsupported", e);
+        return new String(buffer, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, char target) {
+        int index = ByteScanner.indexOf(buffer, from, to, (byte) target);
+        return index < 0 ? to : index;
+    }
+
+    private static int skipWhitespace(byte[] buffer, int from, int to) {
+        while (from < to && (buffer[from] & 0xff) <= ' ') {
+            from++;
         }
+        return from;
     }
 
-    private static void parseBody(InputStream inputStream, HttpRequest.Builder builder) throws IOException {
-        String contentLengthHeader = builder.getHeader("Content-Length");
-        if (contentLengthHeader != null) {
-            int contentLength = Integer.parseInt(contentLengthHeader);
-            byte[] bodyBytes = new byte[contentLength];
-            int bytesRead = 0;
-            int read;
-            while (bytesRead < contentLength && (read = inputStream.read(bodyBytes, bytesRead, contentLength - bytesRead)) != -1) {
-                bytesRead += read;
-            }
-            builder.bodyBytes(bodyBytes);
-            String contentType = builder.getHeader("Content-Type");
-            if (contentType != null) {
-                builder.body(new String(bodyBytes, "UTF-8").trim());
-            }
-        }
-    }
-
-    private static String readLine(InputStream inputStream) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        int lastByte = -1;
-        int currentByte;
-        while ((currentByte = inputStream.read()) != -1) {
-            if (lastByte == '\r' && currentByte == '\n') {
-                baos.write(lastByte);
-                baos.write(currentByte);
-                break;
+    private static int trimWhitespace(byte[] buffer, int from, int to) {
+        while (to > from && (buffer[to - 1] & 0xff) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static boolean endsHead(byte[] buffer, int length) {
+        return length >= 2 && buffer[length - 2] == '\n'
+                || length >= 3 && buffer[length - 2] == '\r' && buffer[length - 3] == '\n';
+    }
+
+    private static int checkHeadLength(byte[] buffer, int offset, int headLength, RequestLimits limits) {
+        if (headLength > limits.maxHeaderBytes()) {
+            throw headTooLarge(buffer, offset, limits);
+        }
+        return headLength;
+    }
+
+    private static RequestRejectedException headTooLarge(byte[] buffer, int offset, RequestLimits limits) {
+        int requestLineEnd = indexOf(buffer, offset, offset + limits.maxHeaderBytes(), '\n');
+        return requestLineEnd < offset + limits.maxHeaderBytes()
+                ? RequestRejectedException.headersTooLarge("Request head exceeds " + limits.maxHeaderBytes() + " bytes")
+                : RequestRejectedException.uriTooLong(limits.maxHeaderBytes());
+    }
+
+    private static byte[][] asciiBytes(String[] values) {
+        byte[][] bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+
+    static void parseCookies(String cookieHeader, HttpRequest.Builder builder) {
+        parseCookies(cookieHeader, builder::addCookie);
+    }
+
+    static void parseCookies(String cookieHeader, BiConsumer<String, String> cookies) {
+        int start = 0;
+        while (start <= cookieHeader.length()) {
+            int end = cookieHeader.indexOf(';', start);
+            if (end < 0) {
+                end = cookieHeader.length();
             }
-            if (lastByte != -1) {
-                baos.write(lastByte);
+            int equals = cookieHeader.indexOf('=', start);
+            if (equals >= 0 && equals < end) {
+                String name = cookieHeader.substring(start, equals).trim();
+                String value = PercentDecoder.decodeComponent(cookieHeader.substring(equals + 1, end).trim());
+                cookies.accept(name, value);
+            }
+            start = end + 1;
+        }
+    }
+
+    static void parsePathAndQueryParams(String fullPath, HttpRequest.Builder builder) {
+        int question = fullPath.indexOf('?');
+        if (question < 0) {
+            builder.path(PercentDecoder.decodePath(fullPath));
+            return;
+        }
+        builder.path(PercentDecoder.decodePath(fullPath.substring(0, question)));
+        builder.rawQuery(fullPath.substring(question + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void parseBody(InputStream inputStream, HttpRequest.Builder builder, int bodyBufferSize,
+                                 long maxBodyBytes) throws IOException {
+        if (isChunked(builder)) {
+            parseChunkedBody(inputStream, builder, bodyBufferSize, maxBodyBytes);
+            return;
+        }
+        if (builder.getHeader("Content-Length") != null) {
+            long contentLength = contentLength(builder);
+            RequestBodyBuffer body = new RequestBodyBuffer(bodyBufferSize);
+            try {
+                byte[] buffer = new byte[(int) Math.min(READ_BUFFER_SIZE, contentLength)];
+                long remaining = contentLength;
+                int read;
+                while (remaining > 0 && (read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                    body.write(buffer, 0, read);
+                    remaining -= read;
+                }
+                builder.body(body.toBody());
+            } catch (IOException | RuntimeException e) {
+                body.discard();
+                throw e;
             }
-            lastByte = currentByte;
         }
-        if (baos.size() == 0) {
-            return "";
+    }
+
+    private static void parseChunkedBody(InputStream inputStream, HttpRequest.Builder builder, int bodyBufferSize,
+                                         long maxBodyBytes) throws IOException {
+        ChunkedDecoder decoder = new ChunkedDecoder();
+        RequestBodyBuffer body = new RequestBodyBuffer(bodyBufferSize);
+        try {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            while (!decoder.isFinished()) {
+                int wanted = (int) Math.max(1, Math.min(buffer.length, decoder.pendingData()));
+                int read = inputStream.read(buffer, 0, wanted);
+                if (read == -1) {
+                    throw new EOFException("Connection closed inside chunked request body");
+                }
+                decoder.decode(buffer, 0, read, body);
+                if (body.length() > maxBodyBytes) {
+                    throw RequestRejectedException.contentTooLarge(maxBodyBytes);
+                }
+            }
+            builder.body(body.toBody());
+        } catch (IOException | RuntimeException e) {
+            body.discard();
+            throw e;
         }
-        return new String(baos.toByteArray(), "UTF-8").trim();
     }
 }
@@ -0,0 +1,158 @@
+package server.http.parser;
+
+import server.http.HttpRequest;
+import server.http.RequestBodyBuffer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class Http11RequestDecoder {
+    private static final int HEAD = 0;
+    private static final int BODY = 1;
+    private static final int CHUNKED_BODY = 2;
+    private static final int COMPLETE = 3;
+    private static final int INITIAL_HEAD_BUFFER_SIZE = 512;
+    private final RequestLimits limits;
+    private final int bodyBufferSize;
+    private int state = HEAD;
+    private byte[] head = new byte[INITIAL_HEAD_BUFFER_SIZE];
+    private int buffered;
+    private HttpRequest.Builder builder;
+    private RequestBodyBuffer body;
+    private ChunkedDecoder chunkedDecoder;
+    private long remaining;
+
+    public Http11RequestDecoder() {
+        this(RequestLimits.UNLIMITED, RequestBodyBuffer.DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    public Http11RequestDecoder(RequestLimits limits, int bodyBufferSize) {
+        this.limits = limits;
+        this.bodyBufferSize = bodyBufferSize;
+    }
+
+    public int decode(byte[] data, int offset, int length) throws IOException {
+        int position = offset;
+        int limit = offset + length;
+        if (state == HEAD && position < limit) {
+            position += decodeHead(data, position, limit - position);
+        }
+        if (state == BODY && position < limit) {
+            int count = (int) Math.min(remaining, limit - position);
+            body.write(data, position, count);
+            position += count;
+            remaining -= count;
+            if (remaining == 0) {
+                state = COMPLETE;
+            }
+        }
+        if (state == CHUNKED_BODY && position < limit) {
+            position += chunkedDecoder.decode(data, position, limit - position, body);
+            if (body.length() > limits.maxBodyBytes()) {
+                throw RequestRejectedException.contentTooLarge(limits.maxBodyBytes());
+            }
+            if (chunkedDecoder.isFinished()) {
+                state = COMPLETE;
+            }
+        }
+        return position - offset;
+    }
+
+    public boolean isHeadComplete() {
+        return state != HEAD;
+    }
+
+    public HttpRequest.Builder head() {
+        if (state == HEAD) {
+            throw new IllegalStateException("Request head is not complete");
+        }
+        return builder;
+    }
+
+    public boolean expectsContinue() {
+        return Http11Parser.expectsContinue(head());
+    }
+
+    public boolean isComplete() {
+        return state == COMPLETE;
+    }
+
+    public HttpRequest take() throws IOException {
+        if (state != COMPLETE) {
+            throw new IllegalStateException("Request is not complete");
+        }
+        if (body != null) {
+            builder.body(body.toBody());
+        }
+        HttpRequest request = builder.build();
+        reset();
+        return request;
+    }
+
+    public void discard() {
+        if (body != null) {
+            body.discard();
+        }
+        reset();
+    }
+
+    private int decodeHead(byte[] data, int offset, int length) {
+        int start = buffered;
+        int count = (int) Math.min(length, (long) limits.maxHeaderBytes() + 1 - start);
+        if (start + count > head.length) {
+            head = Arrays.copyOf(head, Math.max(start + count, head.length * 2));
+        }
+        System.arraycopy(data, offset, head, start, count);
+        buffered += count;
+        int end = headEnd(start);
+        if (end < 0) {
+            if (buffered > limits.maxHeaderBytes()) {
+                Http11Parser.headLength(head, 0, buffered, limits);
+            }
+            return count;
+        }
+        if (end > limits.maxHeaderBytes()) {
+            Http11Parser.headLength(head, 0, end, limits);
+        }
+        builder = Http11Parser.parseHead(head, 0, end, limits);
+        buffered = 0;
+        startBody();
+        return end - start;
+    }
+
+    private int headEnd(int from) {
+        int i = Math.max(from, 1);
+        while ((i = ByteScanner.indexOf(head, i, buffered, (byte) '\n')) >= 0) {
+            if (head[i - 1] == '\n' || i >= 2 && head[i - 1] == '\r' && head[i - 2] == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private void startBody() {
+        if (Http11Parser.isChunked(builder)) {
+            body = new RequestBodyBuffer(bodyBufferSize);
+            chunkedDecoder = new ChunkedDecoder();
+            state = CHUNKED_BODY;
+            return;
+        }
+        remaining = Http11Parser.contentLength(builder);
+        if (remaining > 0) {
+            body = new RequestBodyBuffer(bodyBufferSize);
+            state = BODY;
+        } else {
+            state = COMPLETE;
+        }
+    }
+
+    private void reset() {
+        state = HEAD;
+        buffered = 0;
+        builder = null;
+        body = null;
+        chunkedDecoder = null;
+        remaining = 0;
+    }
+}
@@ -0,0 +1,91 @@
+package server.http.parser;
+
+import server.http.HttpHeaders;
+import server.http.HttpRequest;
+import server.http.RequestBody;
+import server.http2.HeaderField;
+
+import java.util.List;
+
+public class Http2RequestParser {
+    private static final String VERSION = "HTTP/2.0";
+
+    private Http2RequestParser() {
+    }
+
+    public static HttpRequest parse(List<HeaderField> fields, byte[] body) {
+        return parse(fields, RequestBody.of(body));
+    }
+
+    public static HttpRequest parse(List<HeaderField> fields, RequestBody body) {
+        HttpRequest.Builder builder = HttpRequest.builder().version(VERSION);
+        String method = null;
+        String path = null;
+        String authority = null;
+        StringBuilder cookies = null;
+        boolean regularHeaderSeen = false;
+
+        for (HeaderField field : fields) {
+            String name = field.name();
+            if (name.startsWith(":")) {
+                if (regularHeaderSeen) {
+                    throw new IllegalArgumentException("Pseudo-header after regular header: " + name);
+                }
+                switch (name) {
+                    case ":method" -> method = field.value();
+                    case ":path" -> path = field.value();
+                    case ":authority" -> authority = field.value();
+                    case ":scheme" -> {
+                    }
+                    default -> throw new IllegalArgumentException("Unknown pseudo-header: " + name);
+                }
+                continue;
+            }
+            regularHeaderSeen = true;
+            if (name.equals("connection")) {
+                throw new IllegalArgumentException("Connection-specific header in HTTP/2 request");
+            }
+            if (name.equals("cookie")) {
+                cookies = cookies == null ? new StringBuilder(field.value()) : cookies.append("; ").append(field.value());
+                continue;
+            }
+            builder.addHeader(canonicalName(name), field.value());
+        }
+
+        if (method == null || path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("Missing :method or :path pseudo-header");
+        }
+        builder.method(method);
+        Http11Parser.parsePathAndQueryParams(path, builder);
+        if (authority != null && builder.getHeader("Host") == null) {
+            builder.addHeader("Host", authority);
+        }
+        if (cookies != null) {
+            builder.addHeader("Cookie", cookies.toString());
+            Http11Parser.parseCookies(cookies.toString(), builder);
+        }
+        if (body.length() > 0 || builder.getHeader("Content-Length") != null) {
+            if (builder.getHeader("Content-Length") == null) {
+                builder.addHeader("Content-Length", String.valueOf(body.length()));
+            }
+            builder.body(body);
+        }
+        return builder.build();
+    }
+
+    private static String canonicalName(String name) {
+        String known = HttpHeaders.wellKnownName(name);
+        if (known != null) {
+            return known;
+        }
+        char[] chars = name.toCharArray();
+        boolean upper = true;
+        for (int i = 0; i < chars.length; i++) {
+            if (upper) {
+                chars[i] = Character.toUpperCase(chars[i]);
+            }
+            upper = chars[i] == '-';
+        }
+        return new String(chars);
+    }
+}
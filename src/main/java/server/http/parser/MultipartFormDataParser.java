@@ -5,20 +5,22 @@ import server.http.HttpRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.*;
+import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class MultipartFormDataParser {
     private static final Logger logger = LoggerFactory.getLogger(MultipartFormDataParser.class);
     private static final String UTF_8 = "UTF-8";
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
 
     private MultipartFormDataParser() {
     }
 
     public static ParsedData parse(HttpRequest request) {
-        String contentType = request.getHeaders().get("Content-Type");
+        String contentType = request.getHeader("Content-Type");
         if (contentType == null || !contentType.startsWith("multipart/form-data")) {
             throw new IllegalArgumentException("Not a multipart request");
         }
@@ -64,58 +66,35 @@ public class MultipartFormDataParser {
         Map<String, FileData> fileData = new HashMap<>();
         String boundaryString = "--" + boundary;
 
-        try (InputStream is = new ByteArrayInputStream(body)) {
+        try {
             byte[] boundaryBytes = boundaryString.getBytes(charset);
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            boolean inHeader = false;
-            StringBuilder headerBuilder = new StringBuilder();
-            ByteArrayOutputStream contentBuilder = new ByteArrayOutputStream();
-
-            while ((bytesRead = is.read(buffer)) != -1) {
-                int i = 0;
-                while (i < bytesRead) {
-                    if (matchesBoundary(buffer, i, boundaryBytes)) {
-                        if (!headerBuilder.isEmpty() || contentBuilder.size() > 0) {
-                            processPartContent(headerBuilder.toString(), contentBuilder.toByteArray(), formData, fileData, charset);
-                        }
-                        headerBuilder = new StringBuilder();
-                        contentBuilder = new ByteArrayOutputStream();
-                        inHeader = true;
-                        i += boundaryBytes.length;
-                    } else if (inHeader) {
-                        if (i + 3 < bytesRead && buffer[i] == '\r' && buffer[i+1] == '\n' && buffer[i+2] == '\r' && buffer[i+3] == '\n') {
-                            inHeader = false;
-                            i += 4;
-                        } else {
-                            headerBuilder.append((char) buffer[i]);
-                            i++;
-                        }
-                    } else {
-                        contentBuilder.write(buffer[i]);
-                        i++;
-                    }
+            int position = ByteScanner.indexOf(body, 0, body.length, boundaryBytes);
+            while (position >= 0) {
+                int partStart = position + boundaryBytes.length;
+                int next = ByteScanner.indexOf(body, partStart, body.length, boundaryBytes);
+                if (next < 0) {
+                    break;
                 }
+                int headerEnd = ByteScanner.indexOf(body, partStart, next, HEADER_END);
+                if (headerEnd < 0) {
+                    processPartContent(new String(body, partStart, next - partStart, charset), new byte[0],
+                            formData, fileData, charset);
+                } else {
+                    int contentStart = headerEnd + HEADER_END.length;
+                    int contentEnd = next - contentStart >= 2 && body[next - 2] == '\r' && body[next - 1] == '\n'
+                            ? next - 2 : next;
+                    processPartContent(new String(body, partStart, headerEnd - partStart, charset),
+                            Arrays.copyOfRange(body, contentStart, contentEnd), formData, fileData, charset);
+                }
+                position = next;
             }
-        } catch (IOException e) {
+        } catch (UnsupportedEncodingException e) {
             logger.error("Error parsing multipart form data", e);
         }
 
         return new ParsedData(formData, fileData);
     }
 
-    private static boolean matchesBoundary(byte[] buffer, int index, byte[] boundary) {
-        if (buffer.length - index < boundary.length) {
-            return false;
-        }
-        for (int i = 0; i < boundary.length; i++) {
-            if (buffer[index + i] != boundary[i]) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private static void processPartContent(String headers, byte[] content, Map<String, String> formData, Map<String, FileData> fileData, String charset) throws UnsupportedEncodingException {
         String[] headerLines = headers.split("\r\n");
         String fieldName = null;
@@ -0,0 +1,95 @@
+package server.http.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class PercentDecoder {
+    private static final byte[] HEX_VALUES = hexValues();
+
+    private PercentDecoder() {
+    }
+
+    public static String decodePath(byte[] buffer, int from, int to) {
+        return decode(buffer, from, to, false);
+    }
+
+    public static String decodeComponent(byte[] buffer, int from, int to) {
+        return decode(buffer, from, to, true);
+    }
+
+    public static String decodePath(String value) {
+        return decode(value, false);
+    }
+
+    public static String decodeComponent(String value) {
+        return decode(value, true);
+    }
+
+    static String decode(byte[] buffer, int from, int to, boolean plusAsSpace) {
+        int first = firstEscape(buffer, from, to, plusAsSpace);
+        if (first == to) {
+            return Http11Parser.decode(buffer, from, to);
+        }
+        byte[] decoded = new byte[to - from];
+        System.arraycopy(buffer, from, decoded, 0, first - from);
+        int length = unescape(buffer, first, to, plusAsSpace, decoded, first - from);
+        return Http11Parser.decode(decoded, 0, length);
+    }
+
+    static String decode(String value, boolean plusAsSpace) {
+        if (value == null) {
+            return null;
+        }
+        if (value.indexOf('%') < 0 && (!plusAsSpace || value.indexOf('+') < 0)) {
+            return value;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return decode(bytes, 0, bytes.length, plusAsSpace);
+    }
+
+    private static int firstEscape(byte[] buffer, int from, int to, boolean plusAsSpace) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (b == '%' || plusAsSpace && b == '+') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int unescape(byte[] buffer, int from, int to, boolean plusAsSpace, byte[] out, int position) {
+        int i = from;
+        while (i < to) {
+            byte b = buffer[i];
+            if (b == '%' && i + 2 < to) {
+                int high = hexValue(buffer[i + 1]);
+                int low = hexValue(buffer[i + 2]);
+                if ((high | low) >= 0) {
+                    out[position++] = (byte) (high << 4 | low);
+                    i += 3;
+                    continue;
+                }
+            }
+            out[position++] = plusAsSpace && b == '+' ? (byte) ' ' : b;
+            i++;
+        }
+        return position;
+    }
+
+    private static int hexValue(byte b) {
+        return HEX_VALUES[b & 0xff];
+    }
+
+    private static byte[] hexValues() {
+        byte[] values = new byte[256];
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            values['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            values['a' + i] = (byte) (10 + i);
+            values['A' + i] = (byte) (10 + i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,149 @@
+package server.http.parser;
+
+import java.nio.charset.StandardCharsets;
+
+public record RequestFraming(long contentLength, boolean chunked, boolean expectsContinue) {
+    private static final byte[] CONTENT_LENGTH = ascii("content-length");
+    private static final byte[] TRANSFER_ENCODING = ascii("transfer-encoding");
+    private static final byte[] EXPECT = ascii("expect");
+    private static final byte[] CHUNKED = ascii("chunked");
+    private static final byte[] CONTINUE = ascii("100-continue");
+    private static final int MAX_CONTENT_LENGTH_DIGITS = 18;
+
+    public static RequestFraming of(byte[] buffer, int offset, int headLength, RequestLimits limits) {
+        int end = offset + headLength;
+        long contentLength = -1;
+        boolean transferEncoding = false;
+        boolean chunked = false;
+        boolean expectsContinue = false;
+        int headerCount = 0;
+        int position = indexOf(buffer, offset, end, '\n') + 1;
+        while (position < end) {
+            int lineEnd = indexOf(buffer, position, end, '\n');
+            int contentEnd = lineEnd > position && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (contentEnd == position) {
+                break;
+            }
+            if (++headerCount > limits.maxHeaderCount()) {
+                throw RequestRejectedException.headersTooLarge("More than " + limits.maxHeaderCount() + " header fields");
+            }
+            int colon = indexOf(buffer, position, contentEnd, ':');
+            if (colon == contentEnd || colon == position || isWhitespace(buffer[position])) {
+                throw RequestRejectedException.badRequest("Invalid header field: " + text(buffer, position, contentEnd));
+            }
+            if (isWhitespace(buffer[colon - 1])) {
+                throw RequestRejectedException.badRequest("Whitespace before colon in header field: "
+                        + text(buffer, position, colon));
+            }
+            int valueStart = skipWhitespace(buffer, colon + 1, contentEnd);
+            int valueEnd = trimWhitespace(buffer, valueStart, contentEnd);
+            if (nameEquals(buffer, position, colon, CONTENT_LENGTH)) {
+                long value = parseContentLength(buffer, valueStart, valueEnd);
+                if (contentLength >= 0) {
+                    throw RequestRejectedException.badRequest("Duplicate Content-Length");
+                }
+                contentLength = value;
+            } else if (nameEquals(buffer, position, colon, TRANSFER_ENCODING)) {
+                transferEncoding = true;
+                chunked = endsWithCoding(buffer, valueStart, valueEnd, CHUNKED);
+            } else if (nameEquals(buffer, position, colon, EXPECT)) {
+                expectsContinue = valueEnd - valueStart == CONTINUE.length
+                        && regionMatchesIgnoreCase(buffer, valueStart, CONTINUE);
+            }
+            position = lineEnd + 1;
+        }
+        if (transferEncoding) {
+            if (contentLength >= 0) {
+                throw RequestRejectedException.badRequest("Content-Length with Transfer-Encoding");
+            }
+            if (!chunked) {
+                throw RequestRejectedException.badRequest("Transfer-Encoding must end with chunked");
+            }
+        }
+        long length = Math.max(contentLength, 0);
+        if (!chunked && length > limits.maxBodyBytes()) {
+            throw RequestRejectedException.contentTooLarge(limits.maxBodyBytes());
+        }
+        return new RequestFraming(length, chunked, expectsContinue && (chunked || length > 0));
+    }
+
+    static long parseContentLength(String value) {
+        byte[] bytes = value.trim().getBytes(StandardCharsets.ISO_8859_1);
+        return parseContentLength(bytes, 0, bytes.length);
+    }
+
+    private static long parseContentLength(byte[] buffer, int from, int to) {
+        if (from == to || to - from > MAX_CONTENT_LENGTH_DIGITS) {
+            throw invalidContentLength(buffer, from, to);
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidContentLength(buffer, from, to);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static RequestRejectedException invalidContentLength(byte[] buffer, int from, int to) {
+        return RequestRejectedException.badRequest("Invalid Content-Length: " + text(buffer, from, to));
+    }
+
+    private static boolean endsWithCoding(byte[] buffer, int from, int to, byte[] coding) {
+        int start = to - coding.length;
+        if (start < from || !regionMatchesIgnoreCase(buffer, start, coding)) {
+            return false;
+        }
+        return start == from || buffer[start - 1] == ',' || isWhitespace(buffer[start - 1]);
+    }
+
+    private static boolean nameEquals(byte[] buffer, int from, int to, byte[] lowerCase) {
+        return to - from == lowerCase.length && regionMatchesIgnoreCase(buffer, from, lowerCase);
+    }
+
+    private static boolean regionMatchesIgnoreCase(byte[] buffer, int from, byte[] lowerCase) {
+        for (int i = 0; i < lowerCase.length; i++) {
+            int b = buffer[from + i];
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b != lowerCase[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, char target) {
+        int index = ByteScanner.indexOf(buffer, from, to, (byte) target);
+        return index < 0 ? to : index;
+    }
+
+    private static int skipWhitespace(byte[] buffer, int from, int to) {
+        while (from < to && isWhitespace(buffer[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimWhitespace(byte[] buffer, int from, int to) {
+        while (to > from && isWhitespace(buffer[to - 1])) {
+            to--;
+        }
+        return to;
+    }
+
+    private static String text(byte[] buffer, int from, int to) {
+        return new String(buffer, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,104 @@
+package server.http.parser;
+
+import server.http.HttpHeaders;
+import server.http.Parameters;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class RequestHead {
+    static final int FIELD_SLOTS = 4;
+    private final byte[] bytes;
+    private final int[] fields;
+    private final int fieldCount;
+    private final int queryStart;
+    private final int queryEnd;
+    private final RequestFraming framing;
+    private volatile HttpHeaders headers;
+    private volatile Map<String, String> cookies;
+    private volatile Parameters queryParameters;
+
+    RequestHead(byte[] bytes, int[] fields, int fieldCount, int queryStart, int queryEnd,
+                RequestFraming framing) {
+        this.bytes = bytes;
+        this.fields = fields;
+        this.fieldCount = fieldCount;
+        this.queryStart = queryStart;
+        this.queryEnd = queryEnd;
+        this.framing = framing;
+    }
+
+    public RequestFraming framing() {
+        return framing;
+    }
+
+    public String header(String name) {
+        for (int i = 0; i < fieldCount; i++) {
+            if (nameEquals(i * FIELD_SLOTS, name)) {
+                return value(i * FIELD_SLOTS);
+            }
+        }
+        return null;
+    }
+
+    public HttpHeaders headers() {
+        HttpHeaders result = headers;
+        if (result == null) {
+            HttpHeaders parsed = new HttpHeaders(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                int slot = i * FIELD_SLOTS;
+                parsed.add(Http11Parser.headerName(bytes, fields[slot], fields[slot + 1]), value(slot));
+            }
+            result = parsed.toReadOnly();
+            headers = result;
+        }
+        return result;
+    }
+
+    public Map<String, String> cookies() {
+        Map<String, String> result = cookies;
+        if (result == null) {
+            Map<String, String> parsed = new HashMap<>();
+            for (int i = 0; i < fieldCount; i++) {
+                if (nameEquals(i * FIELD_SLOTS, "Cookie")) {
+                    Http11Parser.parseCookies(value(i * FIELD_SLOTS), parsed::put);
+                }
+            }
+            result = Map.copyOf(parsed);
+            cookies = result;
+        }
+        return result;
+    }
+
+    public Parameters queryParameters() {
+        Parameters result = queryParameters;
+        if (result == null) {
+            Parameters.Builder builder = Parameters.builder();
+            if (queryStart >= 0) {
+                builder.addEncoded(bytes, queryStart, queryEnd);
+            }
+            result = builder.build();
+            queryParameters = result;
+        }
+        return result;
+    }
+
+    private boolean nameEquals(int slot, String name) {
+        int start = fields[slot];
+        if (fields[slot + 1] - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = (char) (bytes[start + i] & 0xff);
+            char expected = name.charAt(i);
+            if (c != expected && Character.toLowerCase(c) != Character.toLowerCase(expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String value(int slot) {
+        return Http11Parser.decode(bytes, fields[slot + 2], fields[slot + 3]);
+    }
+}
@@ -0,0 +1,5 @@
+package server.http.parser;
+
+public record RequestLimits(int maxHeaderBytes, int maxHeaderCount, long maxBodyBytes) {
+    public static final RequestLimits UNLIMITED = new RequestLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+}
@@ -0,0 +1,41 @@
+package server.http.parser;
+
+import server.http.HttpResponse;
+
+public class RequestRejectedException extends IllegalArgumentException {
+    private final int statusCode;
+    private final String statusText;
+
+    public RequestRejectedException(int statusCode, String statusText, String message) {
+        super(message);
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+    }
+
+    public static RequestRejectedException badRequest(String message) {
+        return new RequestRejectedException(400, "Bad Request", message);
+    }
+
+    public static RequestRejectedException uriTooLong(int limit) {
+        return new RequestRejectedException(414, "URI Too Long", "Request line exceeds " + limit + " bytes");
+    }
+
+    public static RequestRejectedException headersTooLarge(String message) {
+        return new RequestRejectedException(431, "Request Header Fields Too Large", message);
+    }
+
+    public static RequestRejectedException contentTooLarge(long limit) {
+        return new RequestRejectedException(413, "Content Too Large", "Request body exceeds " + limit + " bytes");
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpResponse toResponse() {
+        return HttpResponse.builder()
+                .statusCode(statusCode)
+                .statusText(statusText)
+                .build();
+    }
+}
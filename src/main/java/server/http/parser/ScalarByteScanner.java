@@ -0,0 +1,30 @@
+package server.http.parser;
+
+import java.util.Arrays;
+
+final class ScalarByteScanner implements ByteScanner.Implementation {
+    @Override
+    public int indexOf(byte[] buffer, int from, int to, byte target) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(byte[] buffer, int from, int to, byte[] pattern) {
+        int last = to - pattern.length;
+        for (int i = from; i <= last; i++) {
+            i = indexOf(buffer, i, last + 1, pattern[0]);
+            if (i < 0) {
+                return -1;
+            }
+            if (Arrays.equals(buffer, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,8 +1,8 @@
 package server.http.parser;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.util.HashMap;
+import server.http.Parameters;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 public class UrlEncodedBodyParser {
@@ -10,21 +10,13 @@ public class UrlEncodedBodyParser {
     }
 
     public static Map<String, String> parse(String body) {
-        Map<String, String> parameters = new HashMap<>();
-        if (body != null && !body.isEmpty()) {
-            String[] pairs = body.split("&");
-            for (String pair : pairs) {
-                int idx = pair.indexOf("=");
-                if (idx != -1) {
-                    try {
-                        String key = URLDecoder.decode(pair.substring(0, idx), "UTF-8");
-                        String value = URLDecoder.decode(pair.substring(idx + 1), "UTF-8");
-                        parameters.put(key, value);
-                    } catch (UnsupportedEncodingException e) {
-                    }
-                }
-            }
+        if (body == null || body.isEmpty()) {
+            return Map.of();
         }
-        return parameters;
+        return parse(body.getBytes(StandardCharsets.UTF_8)).toMap();
+    }
+
+    public static Parameters parse(byte[] body) {
+        return Parameters.builder().addEncoded(body, 0, body.length).build();
     }
 }
@@ -0,0 +1,56 @@
+package server.http.parser;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+final class VectorByteScanner implements ByteScanner.Implementation {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private final ScalarByteScanner tail = new ScalarByteScanner();
+
+    int vectorBitSize() {
+        return SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public int indexOf(byte[] buffer, int from, int to, byte target) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(Math.max(0, to - from));
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> matches = ByteVector.fromArray(SPECIES, buffer, i).eq(target);
+            if (matches.anyTrue()) {
+                return i + matches.firstTrue();
+            }
+        }
+        return tail.indexOf(buffer, i, to, target);
+    }
+
+    // Compares the first and last pattern byte across a whole vector at once and only verifies lanes where both
+    // match, so runs of data that merely contain the first byte are skipped without a per-byte comparison.
+    @Override
+    public int indexOf(byte[] buffer, int from, int to, byte[] pattern) {
+        int last = pattern.length - 1;
+        byte first = pattern[0];
+        byte lastByte = pattern[last];
+        int i = from;
+        int bound = from + SPECIES.loopBound(Math.max(0, to - from - last));
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> candidates = ByteVector.fromArray(SPECIES, buffer, i).eq(first)
+                    .and(ByteVector.fromArray(SPECIES, buffer, i + last).eq(lastByte));
+            if (!candidates.anyTrue()) {
+                continue;
+            }
+            long lanes = candidates.toLong();
+            while (lanes != 0) {
+                int start = i + Long.numberOfTrailingZeros(lanes);
+                if (Arrays.equals(buffer, start, start + pattern.length, pattern, 0, pattern.length)) {
+                    return start;
+                }
+                lanes &= lanes - 1;
+            }
+        }
+        return tail.indexOf(buffer, i, to, pattern);
+    }
+}
@@ -0,0 +1,11 @@
+package server.http2;
+
+import java.io.IOException;
+
+public interface FrameSink {
+    void write(byte[] frame) throws IOException;
+
+    void flush() throws IOException;
+
+    void close();
+}
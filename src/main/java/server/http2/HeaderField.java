@@ -0,0 +1,4 @@
+package server.http2;
+
+public record HeaderField(String name, String value) {
+}
@@ -0,0 +1,160 @@
+package server.http2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HpackDecoder {
+    private static final int ENTRY_OVERHEAD = 32;
+    private final List<HeaderField> dynamicTable = new ArrayList<>();
+    private final List<Integer> entrySizes = new ArrayList<>();
+    private final int maxTableSizeLimit;
+    private int maxTableSize;
+    private int tableSize;
+    private byte[] block;
+    private int position;
+    private int limit;
+
+    public HpackDecoder(int maxTableSize) {
+        this.maxTableSizeLimit = maxTableSize;
+        this.maxTableSize = maxTableSize;
+    }
+
+    public List<HeaderField> decode(byte[] block, int offset, int length) {
+        return decode(block, offset, length, Integer.MAX_VALUE);
+    }
+
+    public List<HeaderField> decode(byte[] block, int offset, int length, int maxHeaderListSize) {
+        this.block = block;
+        this.position = offset;
+        this.limit = offset + length;
+        List<HeaderField> fields = new ArrayList<>();
+        long listSize = 0;
+        while (position < limit) {
+            int b = block[position] & 0xff;
+            HeaderField field;
+            if ((b & 0x80) != 0) {
+                field = lookup(readInteger(7));
+            } else if ((b & 0x40) != 0) {
+                field = readLiteral(6);
+                insert(field);
+            } else if ((b & 0x20) != 0) {
+                if (!fields.isEmpty()) {
+                    throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Table size update after header field");
+                }
+                resize(readInteger(5));
+                continue;
+            } else {
+                field = readLiteral(4);
+            }
+            listSize += field.name().length() + field.value().length() + ENTRY_OVERHEAD;
+            if (listSize > maxHeaderListSize) {
+                throw new Http2Exception(Http2ErrorCode.ENHANCE_YOUR_CALM,
+                        "Header list exceeds " + maxHeaderListSize + " bytes");
+            }
+            fields.add(field);
+        }
+        this.block = null;
+        return fields;
+    }
+
+    int getTableSize() {
+        return tableSize;
+    }
+
+    private HeaderField readLiteral(int prefixBits) {
+        int nameIndex = readInteger(prefixBits);
+        String name = nameIndex == 0 ? readString() : lookup(nameIndex).name();
+        return new HeaderField(name, readString());
+    }
+
+    private HeaderField lookup(int index) {
+        if (index <= 0) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Invalid header index: " + index);
+        }
+        if (index <= HpackStaticTable.size()) {
+            return HpackStaticTable.get(index);
+        }
+        int dynamicIndex = index - HpackStaticTable.size() - 1;
+        if (dynamicIndex >= dynamicTable.size()) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Invalid header index: " + index);
+        }
+        return dynamicTable.get(dynamicIndex);
+    }
+
+    private void insert(HeaderField field) {
+        int size = field.name().getBytes(StandardCharsets.UTF_8).length
+                + field.value().getBytes(StandardCharsets.UTF_8).length + ENTRY_OVERHEAD;
+        if (size > maxTableSize) {
+            dynamicTable.clear();
+            entrySizes.clear();
+            tableSize = 0;
+            return;
+        }
+        evict(maxTableSize - size);
+        dynamicTable.add(0, field);
+        entrySizes.add(0, size);
+        tableSize += size;
+    }
+
+    private void resize(int newMaxTableSize) {
+        if (newMaxTableSize > maxTableSizeLimit) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Table size update exceeds limit: " + newMaxTableSize);
+        }
+        maxTableSize = newMaxTableSize;
+        evict(maxTableSize);
+    }
+
+    private void evict(int targetSize) {
+        while (tableSize > targetSize) {
+            dynamicTable.remove(dynamicTable.size() - 1);
+            tableSize -= entrySizes.remove(entrySizes.size() - 1);
+        }
+    }
+
+    private int readInteger(int prefixBits) {
+        int mask = (1 << prefixBits) - 1;
+        int value = next() & mask;
+        if (value < mask) {
+            return value;
+        }
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Integer overflow");
+            }
+            b = next();
+            value += (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (value < 0) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Integer overflow");
+        }
+        return value;
+    }
+
+    private String readString() {
+        if (position >= limit) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Truncated header block");
+        }
+        boolean huffman = (block[position] & 0x80) != 0;
+        int length = readInteger(7);
+        if (length > limit - position) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "String exceeds header block");
+        }
+        byte[] value = huffman
+                ? Huffman.decode(block, position, length)
+                : Arrays.copyOfRange(block, position, position + length);
+        position += length;
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private int next() {
+        if (position >= limit) {
+            throw new Http2Exception(Http2ErrorCode.COMPRESSION_ERROR, "Truncated header block");
+        }
+        return block[position++] & 0xff;
+    }
+}
@@ -0,0 +1,56 @@
+package server.http2;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class HpackEncoder {
+    public byte[] encode(List<HeaderField> fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        for (HeaderField field : fields) {
+            encode(field.name(), field.value(), out);
+        }
+        return out.toByteArray();
+    }
+
+    private void encode(String name, String value, ByteArrayOutputStream out) {
+        int index = HpackStaticTable.indexOf(name, value);
+        if (index > 0) {
+            writeInteger(out, 0x80, 7, index);
+            return;
+        }
+        int nameIndex = HpackStaticTable.indexOfName(name);
+        writeInteger(out, 0x00, 4, nameIndex);
+        if (nameIndex == 0) {
+            writeString(out, name);
+        }
+        writeString(out, value);
+    }
+
+    private void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int huffmanLength = Huffman.encodedLength(bytes);
+        if (huffmanLength < bytes.length) {
+            writeInteger(out, 0x80, 7, huffmanLength);
+            Huffman.encode(bytes, out);
+        } else {
+            writeInteger(out, 0x00, 7, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private void writeInteger(ByteArrayOutputStream out, int flags, int prefixBits, int value) {
+        int mask = (1 << prefixBits) - 1;
+        if (value < mask) {
+            out.write(flags | value);
+            return;
+        }
+        out.write(flags | mask);
+        value -= mask;
+        while (value >= 0x80) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
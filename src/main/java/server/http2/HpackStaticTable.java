@@ -0,0 +1,98 @@
+package server.http2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class HpackStaticTable {
+    static final HeaderField[] ENTRIES = {
+            new HeaderField(":authority", ""),
+            new HeaderField(":method", "GET"),
+            new HeaderField(":method", "POST"),
+            new HeaderField(":path", "/"),
+            new HeaderField(":path", "/index.html"),
+            new HeaderField(":scheme", "http"),
+            new HeaderField(":scheme", "https"),
+            new HeaderField(":status", "200"),
+            new HeaderField(":status", "204"),
+            new HeaderField(":status", "206"),
+            new HeaderField(":status", "304"),
+            new HeaderField(":status", "400"),
+            new HeaderField(":status", "404"),
+            new HeaderField(":status", "500"),
+            new HeaderField("accept-charset", ""),
+            new HeaderField("accept-encoding", "gzip, deflate"),
+            new HeaderField("accept-language", ""),
+            new HeaderField("accept-ranges", ""),
+            new HeaderField("accept", ""),
+            new HeaderField("access-control-allow-origin", ""),
+            new HeaderField("age", ""),
+            new HeaderField("allow", ""),
+            new HeaderField("authorization", ""),
+            new HeaderField("cache-control", ""),
+            new HeaderField("content-disposition", ""),
+            new HeaderField("content-encoding", ""),
+            new HeaderField("content-language", ""),
+            new HeaderField("content-length", ""),
+            new HeaderField("content-location", ""),
+            new HeaderField("content-range", ""),
+            new HeaderField("content-type", ""),
+            new HeaderField("cookie", ""),
+            new HeaderField("date", ""),
+            new HeaderField("etag", ""),
+            new HeaderField("expect", ""),
+            new HeaderField("expires", ""),
+            new HeaderField("from", ""),
+            new HeaderField("host", ""),
+            new HeaderField("if-match", ""),
+            new HeaderField("if-modified-since", ""),
+            new HeaderField("if-none-match", ""),
+            new HeaderField("if-range", ""),
+            new HeaderField("if-unmodified-since", ""),
+            new HeaderField("last-modified", ""),
+            new HeaderField("link", ""),
+            new HeaderField("location", ""),
+            new HeaderField("max-forwards", ""),
+            new HeaderField("proxy-authenticate", ""),
+            new HeaderField("proxy-authorization", ""),
+            new HeaderField("range", ""),
+            new HeaderField("referer", ""),
+            new HeaderField("refresh", ""),
+            new HeaderField("retry-after", ""),
+            new HeaderField("server", ""),
+            new HeaderField("set-cookie", ""),
+            new HeaderField("strict-transport-security", ""),
+            new HeaderField("transfer-encoding", ""),
+            new HeaderField("user-agent", ""),
+            new HeaderField("vary", ""),
+            new HeaderField("via", ""),
+            new HeaderField("www-authenticate", "")
+    };
+    private static final Map<String, Integer> FIELD_INDEX = new HashMap<>();
+    private static final Map<String, Integer> NAME_INDEX = new HashMap<>();
+
+    static {
+        for (int i = ENTRIES.length - 1; i >= 0; i--) {
+            FIELD_INDEX.put(ENTRIES[i].name() + ":" + ENTRIES[i].value(), i + 1);
+            NAME_INDEX.put(ENTRIES[i].name(), i + 1);
+        }
+    }
+
+    private HpackStaticTable() {
+    }
+
+    static int size() {
+        return ENTRIES.length;
+    }
+
+    static HeaderField get(int index) {
+        return ENTRIES[index - 1];
+    }
+
+    static int indexOf(String name, String value) {
+        return FIELD_INDEX.getOrDefault(name + ":" + value, 0);
+    }
+
+    static int indexOfName(String name) {
+        return NAME_INDEX.getOrDefault(name, 0);
+    }
+}
@@ -0,0 +1,28 @@
+package server.http2;
+
+public class Http2Exception extends RuntimeException {
+    private final Http2ErrorCode errorCode;
+    private final int streamId;
+
+    public Http2Exception(Http2ErrorCode errorCode, String message) {
+        this(errorCode, 0, message);
+    }
+
+    public Http2Exception(Http2ErrorCode errorCode, int streamId, String message) {
+        super(message);
+        this.errorCode = errorCode;
+        this.streamId = streamId;
+    }
+
+    public Http2ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public int getStreamId() {
+        return streamId;
+    }
+
+    public boolean isStreamError() {
+        return streamId != 0;
+    }
+}
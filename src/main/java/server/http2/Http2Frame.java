@@ -0,0 +1,55 @@
+package server.http2;
+
+record Http2Frame(int type, int flags, int streamId, byte[] payload) {
+    static final int HEADER_LENGTH = 9;
+    static final int DATA = 0x0;
+    static final int HEADERS = 0x1;
+    static final int PRIORITY = 0x2;
+    static final int RST_STREAM = 0x3;
+    static final int SETTINGS = 0x4;
+    static final int PUSH_PROMISE = 0x5;
+    static final int PING = 0x6;
+    static final int GOAWAY = 0x7;
+    static final int WINDOW_UPDATE = 0x8;
+    static final int CONTINUATION = 0x9;
+
+    static final int FLAG_END_STREAM = 0x1;
+    static final int FLAG_ACK = 0x1;
+    static final int FLAG_END_HEADERS = 0x4;
+    static final int FLAG_PADDED = 0x8;
+    static final int FLAG_PRIORITY = 0x20;
+
+    boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    static byte[] encode(int type, int flags, int streamId, byte[] payload, int offset, int length) {
+        byte[] frame = new byte[HEADER_LENGTH + length];
+        frame[0] = (byte) (length >>> 16);
+        frame[1] = (byte) (length >>> 8);
+        frame[2] = (byte) length;
+        frame[3] = (byte) type;
+        frame[4] = (byte) flags;
+        writeInt(frame, 5, streamId & 0x7fffffff);
+        System.arraycopy(payload, offset, frame, HEADER_LENGTH, length);
+        return frame;
+    }
+
+    static byte[] encode(int type, int flags, int streamId, byte[] payload) {
+        return encode(type, flags, streamId, payload, 0, payload.length);
+    }
+
+    static int readInt(byte[] buffer, int offset) {
+        return ((buffer[offset] & 0xff) << 24)
+                | ((buffer[offset + 1] & 0xff) << 16)
+                | ((buffer[offset + 2] & 0xff) << 8)
+                | (buffer[offset + 3] & 0xff);
+    }
+
+    static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
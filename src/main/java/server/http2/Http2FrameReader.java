@@ -0,0 +1,69 @@
+package server.http2;
+
+import java.util.Arrays;
+
+class Http2FrameReader {
+    private final int maxFrameSize;
+    private byte[] buffer = new byte[Http2Frame.HEADER_LENGTH + 1024];
+    private int start;
+    private int end;
+
+    Http2FrameReader(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    void feed(byte[] data, int offset, int length) {
+        if (end + length > buffer.length) {
+            int buffered = end - start;
+            if (buffered + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffered + length, buffer.length * 2));
+            }
+            System.arraycopy(buffer, start, buffer, 0, buffered);
+            start = 0;
+            end = buffered;
+        }
+        System.arraycopy(data, offset, buffer, end, length);
+        end += length;
+    }
+
+    int buffered() {
+        return end - start;
+    }
+
+    boolean matches(byte[] prefix) {
+        for (int i = 0; i < Math.min(prefix.length, end - start); i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void skip(int length) {
+        start += length;
+    }
+
+    Http2Frame next() {
+        if (end - start < Http2Frame.HEADER_LENGTH) {
+            return null;
+        }
+        int length = ((buffer[start] & 0xff) << 16) | ((buffer[start + 1] & 0xff) << 8) | (buffer[start + 2] & 0xff);
+        if (length > maxFrameSize) {
+            throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, "Frame too large: " + length);
+        }
+        if (end - start < Http2Frame.HEADER_LENGTH + length) {
+            return null;
+        }
+        int type = buffer[start + 3] & 0xff;
+        int flags = buffer[start + 4] & 0xff;
+        int streamId = Http2Frame.readInt(buffer, start + 5) & 0x7fffffff;
+        int payloadStart = start + Http2Frame.HEADER_LENGTH;
+        byte[] payload = Arrays.copyOfRange(buffer, payloadStart, payloadStart + length);
+        start = payloadStart + length;
+        if (start == end) {
+            start = 0;
+            end = 0;
+        }
+        return new Http2Frame(type, flags, streamId, payload);
+    }
+}
@@ -0,0 +1,787 @@
+package server.http2;
+
+import server.http.HttpHeaders;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http.RequestBody;
+import server.http.RequestBodyBuffer;
+import server.http.parser.Http2RequestParser;
+import server.http.parser.RequestLimits;
+import server.http.parser.RequestRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class Http2Session {
+    private static final Logger logger = LoggerFactory.getLogger(Http2Session.class);
+    public static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int DEFAULT_WINDOW_SIZE = 65_535;
+    private static final int DEFAULT_MAX_FRAME_SIZE = 16_384;
+    private static final int MAX_FRAME_SIZE_LIMIT = 16_777_215;
+    private static final int HEADER_TABLE_SIZE = 4_096;
+    private static final int SETTINGS_ENABLE_PUSH = 0x2;
+    private static final int SETTINGS_MAX_CONCURRENT_STREAMS = 0x3;
+    private static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+    private static final int SETTINGS_MAX_FRAME_SIZE = 0x5;
+    private static final int SETTINGS_MAX_HEADER_LIST_SIZE = 0x6;
+    private static final RequestLimits DEFAULT_LIMITS = new RequestLimits(16_384, 100, Long.MAX_VALUE);
+    private static final byte[] EMPTY = new byte[0];
+    private static final Set<String> CONNECTION_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade");
+
+    private final FrameSink sink;
+    private final RequestListener listener;
+    private final int maxConcurrentStreams;
+    private final int bodyBufferSize;
+    private final RequestLimits limits;
+    private final Http2FrameReader reader = new Http2FrameReader(DEFAULT_MAX_FRAME_SIZE);
+    private final HpackDecoder decoder = new HpackDecoder(HEADER_TABLE_SIZE);
+    private final HpackEncoder encoder = new HpackEncoder();
+    private final Map<Integer, Http2Stream> streams = new ConcurrentHashMap<>();
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final Condition windowAvailable = sendLock.newCondition();
+    private boolean prefaceReceived;
+    private boolean settingsReceived;
+    private Http2Stream continuationStream;
+    private int connectionReceiveWindow = DEFAULT_WINDOW_SIZE;
+    private int connectionSendWindow = DEFAULT_WINDOW_SIZE;
+    private int peerInitialWindowSize = DEFAULT_WINDOW_SIZE;
+    private int peerMaxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+    private volatile int lastStreamId;
+    private volatile boolean goingAway;
+    private volatile boolean closed;
+
+    public Http2Session(int maxConcurrentStreams, FrameSink sink, RequestListener listener) {
+        this(maxConcurrentStreams, RequestBodyBuffer.DEFAULT_MEMORY_THRESHOLD, sink, listener);
+    }
+
+    public Http2Session(int maxConcurrentStreams, int bodyBufferSize, FrameSink sink, RequestListener listener) {
+        this(maxConcurrentStreams, bodyBufferSize, DEFAULT_LIMITS, sink, listener);
+    }
+
+    public Http2Session(int maxConcurrentStreams, int bodyBufferSize, RequestLimits limits, FrameSink sink,
+                        RequestListener listener) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.bodyBufferSize = bodyBufferSize;
+        this.limits = limits;
+        this.sink = sink;
+        this.listener = listener;
+    }
+
+    public void start() {
+        byte[] settings = new byte[12];
+        settings[1] = SETTINGS_MAX_CONCURRENT_STREAMS;
+        Http2Frame.writeInt(settings, 2, maxConcurrentStreams);
+        settings[7] = SETTINGS_MAX_HEADER_LIST_SIZE;
+        Http2Frame.writeInt(settings, 8, limits.maxHeaderBytes());
+        sendFrame(Http2Frame.encode(Http2Frame.SETTINGS, 0, 0, settings));
+        flush();
+    }
+
+    public void upgrade(HttpRequest request, byte[] http2Settings) {
+        applySettings(http2Settings);
+        Http2Stream stream = new Http2Stream(1, DEFAULT_WINDOW_SIZE, peerInitialWindowSize);
+        stream.remoteClosed = true;
+        lastStreamId = 1;
+        streams.put(1, stream);
+        listener.onRequest(this, 1, request);
+    }
+
+    public void receive(byte[] data, int offset, int length) {
+        if (closed) {
+            return;
+        }
+        try {
+            reader.feed(data, offset, length);
+            if (!prefaceReceived && !readPreface()) {
+                return;
+            }
+            Http2Frame frame;
+            while (!closed && (frame = reader.next()) != null) {
+                try {
+                    handleFrame(frame);
+                } catch (Http2Exception e) {
+                    if (!e.isStreamError()) {
+                        throw e;
+                    }
+                    logger.debug("HTTP/2 stream error on stream {}: {}", e.getStreamId(), e.getMessage());
+                    resetStream(e.getStreamId(), e.getErrorCode());
+                }
+            }
+            flush();
+        } catch (Http2Exception e) {
+            logger.debug("HTTP/2 connection error: {}", e.getMessage());
+            goAway(e.getErrorCode());
+            close();
+        }
+    }
+
+    public void sendResponse(int streamId, HttpResponse response) {
+        sendLock.lock();
+        try {
+            Http2Stream stream = streams.get(streamId);
+            if (stream == null || closed) {
+                return;
+            }
+            byte[] body = response.getBody();
+            boolean endStream = body.length == 0;
+            sendHeaders(streamId, encoder.encode(responseHeaders(response)), endStream);
+            if (endStream) {
+                streams.remove(streamId);
+            } else {
+                stream.pendingData = body;
+                stream.pendingOffset = 0;
+                sendPendingData(stream);
+            }
+            flush();
+        } finally {
+            sendLock.unlock();
+        }
+        closeIfDone();
+    }
+
+    public void sendStreamingResponse(int streamId, HttpResponse response) throws IOException {
+        Http2Stream stream;
+        sendLock.lock();
+        try {
+            stream = streams.get(streamId);
+            if (stream == null || closed) {
+                return;
+            }
+            sendHeaders(streamId, encoder.encode(responseHeaders(response)), false);
+            flush();
+        } finally {
+            sendLock.unlock();
+        }
+        OutputStream out = new BufferedOutputStream(new DataFrameOutputStream(stream), DEFAULT_MAX_FRAME_SIZE);
+        response.getStreamingBody().writeTo(out);
+        out.close();
+    }
+
+    public void goAway(Http2ErrorCode errorCode) {
+        sendLock.lock();
+        try {
+            if (goingAway || closed) {
+                return;
+            }
+            goingAway = true;
+            byte[] payload = new byte[8];
+            Http2Frame.writeInt(payload, 0, lastStreamId);
+            Http2Frame.writeInt(payload, 4, errorCode.code());
+            sendFrame(Http2Frame.encode(Http2Frame.GOAWAY, 0, 0, payload));
+            flush();
+        } finally {
+            sendLock.unlock();
+        }
+        closeIfDone();
+    }
+
+    public void cancelStream(int streamId, Http2ErrorCode errorCode) {
+        if (streams.containsKey(streamId)) {
+            resetStream(streamId, errorCode);
+            flush();
+        }
+    }
+
+    public int getActiveStreams() {
+        return streams.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        sendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            streams.values().forEach(Http2Stream::discardBody);
+            streams.clear();
+            windowAvailable.signalAll();
+            sink.close();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private boolean readPreface() {
+        if (!reader.matches(PREFACE)) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Invalid connection preface");
+        }
+        if (reader.buffered() < PREFACE.length) {
+            return false;
+        }
+        reader.skip(PREFACE.length);
+        prefaceReceived = true;
+        return true;
+    }
+
+    private void handleFrame(Http2Frame frame) {
+        if (!settingsReceived && frame.type() != Http2Frame.SETTINGS) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Expected SETTINGS after preface");
+        }
+        if (continuationStream != null && frame.type() != Http2Frame.CONTINUATION) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Expected CONTINUATION frame");
+        }
+        switch (frame.type()) {
+            case Http2Frame.DATA -> onData(frame);
+            case Http2Frame.HEADERS -> onHeaders(frame);
+            case Http2Frame.PRIORITY -> onPriority(frame);
+            case Http2Frame.RST_STREAM -> onRstStream(frame);
+            case Http2Frame.SETTINGS -> onSettings(frame);
+            case Http2Frame.PUSH_PROMISE -> throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Client sent PUSH_PROMISE");
+            case Http2Frame.PING -> onPing(frame);
+            case Http2Frame.GOAWAY -> onGoAway();
+            case Http2Frame.WINDOW_UPDATE -> onWindowUpdate(frame);
+            case Http2Frame.CONTINUATION -> onContinuation(frame);
+            default -> {
+            }
+        }
+    }
+
+    private void onData(Http2Frame frame) {
+        int streamId = requireStream(frame);
+        byte[] payload = frame.payload();
+        int padding = frame.hasFlag(Http2Frame.FLAG_PADDED) ? paddingLength(frame, 0) : -1;
+        int offset = padding >= 0 ? 1 : 0;
+        int length = payload.length - offset - Math.max(padding, 0);
+
+        connectionReceiveWindow -= payload.length;
+        if (connectionReceiveWindow < 0) {
+            throw new Http2Exception(Http2ErrorCode.FLOW_CONTROL_ERROR, "Connection receive window exceeded");
+        }
+        if (connectionReceiveWindow < DEFAULT_WINDOW_SIZE / 2) {
+            sendWindowUpdate(0, DEFAULT_WINDOW_SIZE - connectionReceiveWindow);
+            connectionReceiveWindow = DEFAULT_WINDOW_SIZE;
+        }
+
+        Http2Stream stream = streams.get(streamId);
+        if (stream == null || stream.remoteClosed) {
+            if (streamId > lastStreamId) {
+                throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "DATA on idle stream " + streamId);
+            }
+            throw new Http2Exception(Http2ErrorCode.STREAM_CLOSED, streamId, "DATA on closed stream");
+        }
+        stream.receiveWindow -= payload.length;
+        if (stream.receiveWindow < 0) {
+            throw new Http2Exception(Http2ErrorCode.FLOW_CONTROL_ERROR, streamId, "Stream receive window exceeded");
+        }
+        if (stream.body == null) {
+            stream.body = new RequestBodyBuffer(bodyBufferSize);
+        }
+        stream.bodyBytes += length;
+        if (stream.bodyBytes > limits.maxBodyBytes()) {
+            reject(stream, RequestRejectedException.contentTooLarge(limits.maxBodyBytes()));
+            return;
+        }
+        try {
+            stream.body.write(payload, offset, length);
+        } catch (IOException e) {
+            throw new Http2Exception(Http2ErrorCode.INTERNAL_ERROR, streamId, "Failed to buffer request body: " + e.getMessage());
+        }
+        if (frame.hasFlag(Http2Frame.FLAG_END_STREAM)) {
+            stream.remoteClosed = true;
+            dispatch(stream);
+        } else if (stream.receiveWindow < DEFAULT_WINDOW_SIZE / 2) {
+            sendWindowUpdate(streamId, DEFAULT_WINDOW_SIZE - stream.receiveWindow);
+            stream.receiveWindow = DEFAULT_WINDOW_SIZE;
+        }
+    }
+
+    private void onHeaders(Http2Frame frame) {
+        int streamId = requireStream(frame);
+        byte[] payload = frame.payload();
+        int padding = frame.hasFlag(Http2Frame.FLAG_PADDED) ? paddingLength(frame, 0) : -1;
+        int offset = padding >= 0 ? 1 : 0;
+        if (frame.hasFlag(Http2Frame.FLAG_PRIORITY)) {
+            offset += 5;
+        }
+        int length = payload.length - offset - Math.max(padding, 0);
+        if (length < 0) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "HEADERS frame too short");
+        }
+
+        Http2Stream stream = streams.get(streamId);
+        if (stream == null) {
+            if (streamId % 2 == 0 || streamId <= lastStreamId) {
+                throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Invalid stream id " + streamId);
+            }
+            lastStreamId = streamId;
+            stream = new Http2Stream(streamId, DEFAULT_WINDOW_SIZE, peerInitialWindowSize());
+            if (goingAway || streams.size() >= maxConcurrentStreams) {
+                stream.refused = true;
+            } else {
+                streams.put(streamId, stream);
+            }
+        } else if (stream.remoteClosed) {
+            throw new Http2Exception(Http2ErrorCode.STREAM_CLOSED, streamId, "HEADERS on closed stream");
+        } else if (!frame.hasFlag(Http2Frame.FLAG_END_STREAM)) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, streamId, "Trailers without END_STREAM");
+        }
+        appendHeaderBlock(stream, payload, offset, length);
+        stream.endStreamOnHeaders = frame.hasFlag(Http2Frame.FLAG_END_STREAM);
+        if (frame.hasFlag(Http2Frame.FLAG_END_HEADERS)) {
+            completeHeaders(stream);
+        } else {
+            continuationStream = stream;
+        }
+    }
+
+    private void onContinuation(Http2Frame frame) {
+        if (continuationStream == null || frame.streamId() != continuationStream.id) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Unexpected CONTINUATION frame");
+        }
+        boolean endHeaders = frame.hasFlag(Http2Frame.FLAG_END_HEADERS);
+        if (frame.payload().length == 0 && !endHeaders) {
+            throw new Http2Exception(Http2ErrorCode.ENHANCE_YOUR_CALM, "Empty CONTINUATION frame");
+        }
+        appendHeaderBlock(continuationStream, frame.payload(), 0, frame.payload().length);
+        if (endHeaders) {
+            completeHeaders(continuationStream);
+        }
+    }
+
+    private void appendHeaderBlock(Http2Stream stream, byte[] payload, int offset, int length) {
+        if (stream.headerBlock.size() > limits.maxHeaderBytes() - length) {
+            throw new Http2Exception(Http2ErrorCode.ENHANCE_YOUR_CALM,
+                    "Header block exceeds " + limits.maxHeaderBytes() + " bytes");
+        }
+        stream.headerBlock.write(payload, offset, length);
+    }
+
+    private void completeHeaders(Http2Stream stream) {
+        continuationStream = null;
+        byte[] block = stream.headerBlock.toByteArray();
+        stream.headerBlock.reset();
+        List<HeaderField> fields = decoder.decode(block, 0, block.length, limits.maxHeaderBytes());
+        if (stream.refused) {
+            resetStream(stream.id, Http2ErrorCode.REFUSED_STREAM);
+            return;
+        }
+        if (regularFieldCount(fields) > limits.maxHeaderCount()) {
+            reject(stream, RequestRejectedException.headersTooLarge("More than " + limits.maxHeaderCount() + " header fields"));
+            return;
+        }
+        if (stream.headers == null) {
+            stream.headers = fields;
+        }
+        if (stream.endStreamOnHeaders) {
+            stream.remoteClosed = true;
+            dispatch(stream);
+        }
+    }
+
+    private static int regularFieldCount(List<HeaderField> fields) {
+        int count = 0;
+        for (HeaderField field : fields) {
+            if (!field.name().startsWith(":")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void reject(Http2Stream stream, RequestRejectedException e) {
+        logger.debug("Rejected HTTP/2 stream {}: {}", stream.id, e.getMessage());
+        stream.discardBody();
+        sendResponse(stream.id, e.toResponse());
+        if (!stream.remoteClosed && !stream.endStreamOnHeaders) {
+            stream.remoteClosed = true;
+            resetStream(stream.id, Http2ErrorCode.NO_ERROR);
+        }
+    }
+
+    private void dispatch(Http2Stream stream) {
+        RequestBody body;
+        try {
+            body = stream.body == null ? RequestBody.EMPTY : stream.body.toBody();
+            stream.body = null;
+        } catch (IOException e) {
+            stream.discardBody();
+            throw new Http2Exception(Http2ErrorCode.INTERNAL_ERROR, stream.id, "Failed to buffer request body: " + e.getMessage());
+        }
+        HttpRequest request;
+        try {
+            request = Http2RequestParser.parse(stream.headers, body);
+        } catch (IllegalArgumentException e) {
+            body.discard();
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, stream.id, "Malformed request: " + e.getMessage());
+        }
+        stream.headerBlock = null;
+        listener.onRequest(this, stream.id, request);
+    }
+
+    private void onPriority(Http2Frame frame) {
+        requireStream(frame);
+        if (frame.payload().length != 5) {
+            throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, frame.streamId(), "Invalid PRIORITY frame");
+        }
+    }
+
+    private void onRstStream(Http2Frame frame) {
+        int streamId = requireStream(frame);
+        if (frame.payload().length != 4) {
+            throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, "Invalid RST_STREAM frame");
+        }
+        if (streamId > lastStreamId) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "RST_STREAM on idle stream " + streamId);
+        }
+        removeStream(streamId);
+        closeIfDone();
+    }
+
+    private void onSettings(Http2Frame frame) {
+        if (frame.streamId() != 0) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "SETTINGS on stream " + frame.streamId());
+        }
+        if (frame.hasFlag(Http2Frame.FLAG_ACK)) {
+            if (frame.payload().length != 0) {
+                throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, "SETTINGS ACK with payload");
+            }
+            return;
+        }
+        applySettings(frame.payload());
+        settingsReceived = true;
+        sendFrame(Http2Frame.encode(Http2Frame.SETTINGS, Http2Frame.FLAG_ACK, 0, EMPTY));
+    }
+
+    private void applySettings(byte[] payload) {
+        if (payload.length % 6 != 0) {
+            throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, "Invalid SETTINGS length");
+        }
+        sendLock.lock();
+        try {
+            for (int i = 0; i < payload.length; i += 6) {
+                int id = ((payload[i] & 0xff) << 8) | (payload[i + 1] & 0xff);
+                int value = Http2Frame.readInt(payload, i + 2);
+                switch (id) {
+                    case SETTINGS_ENABLE_PUSH -> {
+                        if (value != 0 && value != 1) {
+                            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Invalid ENABLE_PUSH: " + value);
+                        }
+                    }
+                    case SETTINGS_INITIAL_WINDOW_SIZE -> {
+                        if (value < 0) {
+                            throw new Http2Exception(Http2ErrorCode.FLOW_CONTROL_ERROR, "Invalid INITIAL_WINDOW_SIZE");
+                        }
+                        int delta = value - peerInitialWindowSize;
+                        for (Http2Stream stream : streams.values()) {
+                            if ((long) stream.sendWindow + delta > Integer.MAX_VALUE) {
+                                throw new Http2Exception(Http2ErrorCode.FLOW_CONTROL_ERROR, "Stream window overflow");
+                            }
+                            stream.sendWindow += delta;
+                        }
+                        peerInitialWindowSize = value;
+                    }
+                    case SETTINGS_MAX_FRAME_SIZE -> {
+                        if (value < DEFAULT_MAX_FRAME_SIZE || value > MAX_FRAME_SIZE_LIMIT) {
+                            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Invalid MAX_FRAME_SIZE: " + value);
+                        }
+                        peerMaxFrameSize = value;
+                    }
+                    default -> {
+                    }
+                }
+            }
+            sendAllPendingData();
+            windowAvailable.signalAll();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void onPing(Http2Frame frame) {
+        if (frame.streamId() != 0) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "PING on stream " + frame.streamId());
+        }
+        if (frame.payload().length != 8) {
+            throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, "Invalid PING length");
+        }
+        if (!frame.hasFlag(Http2Frame.FLAG_ACK)) {
+            sendFrame(Http2Frame.encode(Http2Frame.PING, Http2Frame.FLAG_ACK, 0, frame.payload()));
+        }
+    }
+
+    private void onGoAway() {
+        goingAway = true;
+        closeIfDone();
+    }
+
+    private void onWindowUpdate(Http2Frame frame) {
+        if (frame.payload().length != 4) {
+            throw new Http2Exception(Http2ErrorCode.FRAME_SIZE_ERROR, "Invalid WINDOW_UPDATE length");
+        }
+        int streamId = frame.streamId();
+        int increment = Http2Frame.readInt(frame.payload(), 0) & 0x7fffffff;
+        if (increment == 0) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, streamId, "Zero window increment");
+        }
+        sendLock.lock();
+        try {
+            if (streamId == 0) {
+                if ((long) connectionSendWindow + increment > Integer.MAX_VALUE) {
+                    throw new Http2Exception(Http2ErrorCode.FLOW_CONTROL_ERROR, "Connection window overflow");
+                }
+                connectionSendWindow += increment;
+                sendAllPendingData();
+                windowAvailable.signalAll();
+                return;
+            }
+            Http2Stream stream = streams.get(streamId);
+            if (stream == null) {
+                return;
+            }
+            if ((long) stream.sendWindow + increment > Integer.MAX_VALUE) {
+                throw new Http2Exception(Http2ErrorCode.FLOW_CONTROL_ERROR, streamId, "Stream window overflow");
+            }
+            stream.sendWindow += increment;
+            sendPendingData(stream);
+            windowAvailable.signalAll();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private int requireStream(Http2Frame frame) {
+        if (frame.streamId() == 0) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Frame type " + frame.type() + " on stream 0");
+        }
+        return frame.streamId();
+    }
+
+    private int paddingLength(Http2Frame frame, int offset) {
+        if (frame.payload().length <= offset) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Missing pad length");
+        }
+        int padding = frame.payload()[offset] & 0xff;
+        if (padding >= frame.payload().length) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Padding exceeds frame payload");
+        }
+        return padding;
+    }
+
+    private int peerInitialWindowSize() {
+        sendLock.lock();
+        try {
+            return peerInitialWindowSize;
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private List<HeaderField> responseHeaders(HttpResponse response) {
+        List<HeaderField> fields = new ArrayList<>(response.getHeaders().fieldCount() + 2);
+        fields.add(new HeaderField(":status", String.valueOf(response.getStatusCode())));
+        boolean hasContentLength = false;
+        HttpHeaders headers = response.getHeaders();
+        for (int i = 0; i < headers.fieldCount(); i++) {
+            String name = headers.name(i).toLowerCase();
+            if (CONNECTION_HEADERS.contains(name)) {
+                continue;
+            }
+            hasContentLength |= name.equals("content-length");
+            fields.add(new HeaderField(name, headers.value(i)));
+        }
+        int status = response.getStatusCode();
+        if (!hasContentLength && !response.isStreaming() && status >= 200 && status != 204 && status != 304) {
+            fields.add(new HeaderField("content-length", String.valueOf(response.getBody().length)));
+        }
+        return fields;
+    }
+
+    private void sendHeaders(int streamId, byte[] block, boolean endStream) {
+        int offset = 0;
+        boolean first = true;
+        do {
+            int length = Math.min(peerMaxFrameSize, block.length - offset);
+            boolean last = offset + length == block.length;
+            int flags = last ? Http2Frame.FLAG_END_HEADERS : 0;
+            if (first && endStream) {
+                flags |= Http2Frame.FLAG_END_STREAM;
+            }
+            int type = first ? Http2Frame.HEADERS : Http2Frame.CONTINUATION;
+            sendFrame(Http2Frame.encode(type, flags, streamId, block, offset, length));
+            offset += length;
+            first = false;
+        } while (offset < block.length);
+    }
+
+    private void sendAllPendingData() {
+        for (Http2Stream stream : streams.values()) {
+            if (stream.pendingData != null) {
+                sendPendingData(stream);
+            }
+        }
+    }
+
+    private void sendPendingData(Http2Stream stream) {
+        byte[] data = stream.pendingData;
+        if (data == null) {
+            return;
+        }
+        while (stream.pendingOffset < data.length) {
+            int window = Math.min(connectionSendWindow, stream.sendWindow);
+            int length = Math.min(Math.min(window, peerMaxFrameSize), data.length - stream.pendingOffset);
+            if (length <= 0) {
+                return;
+            }
+            boolean last = stream.pendingOffset + length == data.length;
+            sendFrame(Http2Frame.encode(Http2Frame.DATA, last ? Http2Frame.FLAG_END_STREAM : 0,
+                    stream.id, data, stream.pendingOffset, length));
+            stream.pendingOffset += length;
+            stream.sendWindow -= length;
+            connectionSendWindow -= length;
+        }
+        stream.pendingData = null;
+        streams.remove(stream.id);
+    }
+
+    private void sendWindowUpdate(int streamId, int increment) {
+        byte[] payload = new byte[4];
+        Http2Frame.writeInt(payload, 0, increment);
+        sendFrame(Http2Frame.encode(Http2Frame.WINDOW_UPDATE, 0, streamId, payload));
+    }
+
+    private void resetStream(int streamId, Http2ErrorCode errorCode) {
+        removeStream(streamId);
+        byte[] payload = new byte[4];
+        Http2Frame.writeInt(payload, 0, errorCode.code());
+        sendFrame(Http2Frame.encode(Http2Frame.RST_STREAM, 0, streamId, payload));
+        closeIfDone();
+    }
+
+    private void removeStream(int streamId) {
+        sendLock.lock();
+        try {
+            Http2Stream stream = streams.remove(streamId);
+            if (stream != null) {
+                stream.discardBody();
+            }
+            windowAvailable.signalAll();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void sendFrame(byte[] frame) {
+        sendLock.lock();
+        try {
+            if (!closed) {
+                sink.write(frame);
+            }
+        } catch (IOException e) {
+            logger.debug("Error writing HTTP/2 frame: {}", e.getMessage());
+            close();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void flush() {
+        sendLock.lock();
+        try {
+            if (!closed) {
+                sink.flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Error flushing HTTP/2 frames: {}", e.getMessage());
+            close();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void closeIfDone() {
+        if (goingAway && streams.isEmpty()) {
+            flush();
+            close();
+        }
+    }
+
+    private class DataFrameOutputStream extends OutputStream {
+        private final Http2Stream stream;
+
+        DataFrameOutputStream(Http2Stream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            sendLock.lock();
+            try {
+                while (len > 0) {
+                    int length = Math.min(Math.min(awaitWindow(), peerMaxFrameSize), len);
+                    sendFrame(Http2Frame.encode(Http2Frame.DATA, 0, stream.id, b, off, length));
+                    stream.sendWindow -= length;
+                    connectionSendWindow -= length;
+                    off += length;
+                    len -= length;
+                }
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        @Override
+        public void flush() {
+            Http2Session.this.flush();
+        }
+
+        @Override
+        public void close() {
+            sendLock.lock();
+            try {
+                if (streams.remove(stream.id, stream)) {
+                    sendFrame(Http2Frame.encode(Http2Frame.DATA, Http2Frame.FLAG_END_STREAM, stream.id, EMPTY));
+                    Http2Session.this.flush();
+                }
+            } finally {
+                sendLock.unlock();
+            }
+            closeIfDone();
+        }
+
+        private int awaitWindow() throws IOException {
+            while (true) {
+                if (closed || streams.get(stream.id) != stream) {
+                    throw new IOException("HTTP/2 stream " + stream.id + " was closed");
+                }
+                int window = Math.min(connectionSendWindow, stream.sendWindow);
+                if (window > 0) {
+                    return window;
+                }
+                Http2Session.this.flush();
+                try {
+                    windowAvailable.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for HTTP/2 flow-control window");
+                }
+            }
+        }
+    }
+
+    public interface RequestListener {
+        void onRequest(Http2Session session, int streamId, HttpRequest request);
+    }
+}
@@ -0,0 +1,34 @@
+package server.http2;
+
+import server.http.RequestBodyBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+class Http2Stream {
+    final int id;
+    ByteArrayOutputStream headerBlock = new ByteArrayOutputStream();
+    RequestBodyBuffer body;
+    long bodyBytes;
+    List<HeaderField> headers;
+    boolean endStreamOnHeaders;
+    boolean remoteClosed;
+    boolean refused;
+    int receiveWindow;
+    int sendWindow;
+    byte[] pendingData;
+    int pendingOffset;
+
+    Http2Stream(int id, int receiveWindow, int sendWindow) {
+        this.id = id;
+        this.receiveWindow = receiveWindow;
+        this.sendWindow = sendWindow;
+    }
+
+    void discardBody() {
+        if (body != null) {
+            body.discard();
+            body = null;
+        }
+    }
+}
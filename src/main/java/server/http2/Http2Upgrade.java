@@ -0,0 +1,31 @@
+package server.http2;
+
+import server.http.HttpRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class Http2Upgrade {
+    public static final byte[] SWITCHING_PROTOCOLS = ("HTTP/1.1 101 Switching Protocols\r\n" +
+            "Connection: Upgrade\r\n" +
+            "Upgrade: h2c\r\n" +
+            "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    private Http2Upgrade() {
+    }
+
+    public static boolean isRequested(HttpRequest request) {
+        String upgrade = request.getHeader("Upgrade");
+        return upgrade != null
+                && upgrade.toLowerCase().contains("h2c")
+                && request.getHeader("HTTP2-Settings") != null;
+    }
+
+    public static byte[] settingsOf(HttpRequest request) {
+        try {
+            return Base64.getUrlDecoder().decode(request.getHeader("HTTP2-Settings").trim());
+        } catch (IllegalArgumentException e) {
+            throw new Http2Exception(Http2ErrorCode.PROTOCOL_ERROR, "Invalid HTTP2-Settings header");
+        }
+    }
+}
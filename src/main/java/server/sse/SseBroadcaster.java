@@ -0,0 +1,107 @@
+package server.sse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import server.http.HttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SseBroadcaster implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SseBroadcaster.class);
+    private static final int DEFAULT_MAX_QUEUED_EVENTS = 256;
+    private static final long DEFAULT_HEARTBEAT_MILLIS = 15_000;
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+    private final int maxQueuedEvents;
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong evictedSubscribers = new AtomicLong();
+    private final ScheduledExecutorService heartbeat;
+
+    public SseBroadcaster() {
+        this(DEFAULT_MAX_QUEUED_EVENTS, DEFAULT_HEARTBEAT_MILLIS);
+    }
+
+    public SseBroadcaster(int maxQueuedEvents, long heartbeatMillis) {
+        if (maxQueuedEvents < 1) {
+            throw new IllegalArgumentException("Max queued events must be at least 1");
+        }
+        if (heartbeatMillis < 0) {
+            throw new IllegalArgumentException("Heartbeat interval must not be negative");
+        }
+        this.maxQueuedEvents = maxQueuedEvents;
+        if (heartbeatMillis == 0) {
+            this.heartbeat = null;
+            return;
+        }
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public HttpResponse subscribe() {
+        return HttpResponse.builder()
+                .statusCode(200)
+                .statusText("OK")
+                .addHeader("Content-Type", "text/event-stream; charset=utf-8")
+                .addHeader("Cache-Control", "no-cache")
+                .body(new SseSubscriber(this, maxQueuedEvents))
+                .build();
+    }
+
+    public void publish(SseEvent event) {
+        broadcast(event.encode());
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getEvictedSubscribers() {
+        return evictedSubscribers.get();
+    }
+
+    @Override
+    public void close() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        for (SseSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        subscribers.clear();
+    }
+
+    void register(SseSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    void unregister(SseSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    void sendHeartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    private void broadcast(byte[] event) {
+        for (SseSubscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    void evict(SseSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            evictedSubscribers.incrementAndGet();
+            logger.debug("Evicting slow event stream subscriber with {} queued events", subscriber.getQueuedEvents());
+            subscriber.abort();
+        }
+    }
+}
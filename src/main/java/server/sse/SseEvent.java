@@ -0,0 +1,46 @@
+package server.sse;
+
+import java.nio.charset.StandardCharsets;
+
+public record SseEvent(String id, String event, String data) {
+    public SseEvent {
+        if (data == null) {
+            throw new IllegalArgumentException("Event data must not be null");
+        }
+        requireSingleLine("id", id);
+        requireSingleLine("event", event);
+    }
+
+    public static SseEvent of(String data) {
+        return new SseEvent(null, null, data);
+    }
+
+    public static SseEvent named(String event, String data) {
+        return new SseEvent(null, event, data);
+    }
+
+    public SseEvent withId(String id) {
+        return new SseEvent(id, event, data);
+    }
+
+    public byte[] encode() {
+        StringBuilder encoded = new StringBuilder();
+        if (id != null) {
+            encoded.append("id: ").append(id).append('\n');
+        }
+        if (event != null) {
+            encoded.append("event: ").append(event).append('\n');
+        }
+        for (String line : data.split("\r\n|\r|\n", -1)) {
+            encoded.append("data: ").append(line).append('\n');
+        }
+        encoded.append('\n');
+        return encoded.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void requireSingleLine(String field, String value) {
+        if (value != null && (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0)) {
+            throw new IllegalArgumentException("Event " + field + " must not contain line breaks");
+        }
+    }
+}
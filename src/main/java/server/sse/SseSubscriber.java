@@ -0,0 +1,94 @@
+package server.sse;
+
+import server.http.EventSink;
+import server.http.EventStream;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+class SseSubscriber implements EventStream {
+    private final SseBroadcaster broadcaster;
+    private final int maxQueuedEvents;
+    private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile EventSink sink;
+    private volatile boolean closed;
+
+    SseSubscriber(SseBroadcaster broadcaster, int maxQueuedEvents) {
+        this.broadcaster = broadcaster;
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    @Override
+    public void open(EventSink sink) {
+        this.sink = sink;
+        broadcaster.register(this);
+    }
+
+    @Override
+    public void writable() {
+        drain();
+    }
+
+    @Override
+    public void closed() {
+        closed = true;
+        queue.clear();
+        broadcaster.unregister(this);
+    }
+
+    void offer(byte[] event) {
+        if (closed) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueuedEvents) {
+            queued.decrementAndGet();
+            broadcaster.evict(this);
+            return;
+        }
+        queue.add(event);
+        drain();
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            sink.close();
+        }
+    }
+
+    void abort() {
+        if (!closed) {
+            closed = true;
+            queue.clear();
+            sink.abort();
+        }
+    }
+
+    int getQueuedEvents() {
+        return queued.get();
+    }
+
+    private void drain() {
+        while (!closed && !queue.isEmpty() && drainLock.tryLock()) {
+            try {
+                byte[] event;
+                while (sink.isWritable() && (event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (!sink.send(event)) {
+                        closed = true;
+                        return;
+                    }
+                }
+            } finally {
+                drainLock.unlock();
+            }
+            if (!sink.isWritable()) {
+                return;
+            }
+        }
+    }
+}
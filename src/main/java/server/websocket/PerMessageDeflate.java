@@ -0,0 +1,139 @@
+package server.websocket;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+class PerMessageDeflate {
+    static final String EXTENSION_NAME = "permessage-deflate";
+    private static final byte[] TAIL = {0x00, 0x00, (byte) 0xFF, (byte) 0xFF};
+    private static final int BUFFER_SIZE = 8192;
+    private final boolean serverNoContextTakeover;
+    private final boolean clientNoContextTakeover;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private PerMessageDeflate(boolean serverNoContextTakeover, boolean clientNoContextTakeover) {
+        this.serverNoContextTakeover = serverNoContextTakeover;
+        this.clientNoContextTakeover = clientNoContextTakeover;
+    }
+
+    static PerMessageDeflate negotiate(String extensionsHeader) {
+        if (extensionsHeader == null) {
+            return null;
+        }
+        for (String offer : extensionsHeader.split(",")) {
+            PerMessageDeflate accepted = accept(offer.split(";"));
+            if (accepted != null) {
+                return accepted;
+            }
+        }
+        return null;
+    }
+
+    private static PerMessageDeflate accept(String[] offer) {
+        if (!offer[0].trim().equalsIgnoreCase(EXTENSION_NAME)) {
+            return null;
+        }
+        boolean serverNoContextTakeover = false;
+        boolean clientNoContextTakeover = false;
+        for (int i = 1; i < offer.length; i++) {
+            String[] parameter = offer[i].trim().split("=", 2);
+            String name = parameter[0].trim().toLowerCase();
+            String value = parameter.length > 1 ? parameter[1].trim().replace("\"", "") : null;
+            switch (name) {
+                case "server_no_context_takeover" -> serverNoContextTakeover = true;
+                case "client_no_context_takeover" -> clientNoContextTakeover = true;
+                case "client_max_window_bits" -> {
+                    // The inflater accepts any window size, so the client's choice needs no reply
+                }
+                case "server_max_window_bits" -> {
+                    // Deflater always uses a 32K window, so a smaller server window cannot be honoured
+                    if (value == null || !value.equals("15")) {
+                        return null;
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return new PerMessageDeflate(serverNoContextTakeover, clientNoContextTakeover);
+    }
+
+    String responseHeader() {
+        StringBuilder header = new StringBuilder(EXTENSION_NAME);
+        if (serverNoContextTakeover) {
+            header.append("; server_no_context_takeover");
+        }
+        if (clientNoContextTakeover) {
+            header.append("; client_no_context_takeover");
+        }
+        return header.toString();
+    }
+
+    byte[] compress(byte[] message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(message.length / 2 + 16);
+        deflater.setInput(message);
+        int count;
+        do {
+            count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            out.write(buffer, 0, count);
+        } while (count == buffer.length);
+        if (serverNoContextTakeover) {
+            deflater.reset();
+        }
+        byte[] compressed = out.toByteArray();
+        int length = compressed.length;
+        if (length >= TAIL.length && endsWithTail(compressed)) {
+            length -= TAIL.length;
+        }
+        return length == compressed.length ? compressed : Arrays.copyOf(compressed, length);
+    }
+
+    byte[] decompress(byte[] payload, long maxLength) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(payload.length * 2, 64));
+        try {
+            inflate(payload, out, maxLength);
+            inflate(TAIL, out, maxLength);
+        } catch (DataFormatException e) {
+            throw new WebSocketException(WebSocketCloseCode.INVALID_PAYLOAD, "Invalid compressed message");
+        }
+        if (clientNoContextTakeover || inflater.finished()) {
+            inflater.reset();
+        }
+        return out.toByteArray();
+    }
+
+    void close() {
+        deflater.end();
+        inflater.end();
+    }
+
+    private void inflate(byte[] input, ByteArrayOutputStream out, long maxLength) throws DataFormatException {
+        inflater.setInput(input);
+        int count;
+        while ((count = inflater.inflate(buffer)) > 0) {
+            if (out.size() + count > maxLength) {
+                throw new WebSocketException(WebSocketCloseCode.MESSAGE_TOO_BIG,
+                        "Decompressed message exceeds " + maxLength + " bytes");
+            }
+            out.write(buffer, 0, count);
+        }
+        if (inflater.needsDictionary()) {
+            throw new DataFormatException("Preset dictionaries are not supported");
+        }
+    }
+
+    private static boolean endsWithTail(byte[] data) {
+        for (int i = 0; i < TAIL.length; i++) {
+            if (data[data.length - TAIL.length + i] != TAIL[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
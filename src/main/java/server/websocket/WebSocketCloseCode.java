@@ -0,0 +1,21 @@
+package server.websocket;
+
+public final class WebSocketCloseCode {
+    public static final int NORMAL_CLOSURE = 1000;
+    public static final int GOING_AWAY = 1001;
+    public static final int PROTOCOL_ERROR = 1002;
+    public static final int UNSUPPORTED_DATA = 1003;
+    public static final int NO_STATUS_RECEIVED = 1005;
+    public static final int ABNORMAL_CLOSURE = 1006;
+    public static final int INVALID_PAYLOAD = 1007;
+    public static final int POLICY_VIOLATION = 1008;
+    public static final int MESSAGE_TOO_BIG = 1009;
+    public static final int INTERNAL_ERROR = 1011;
+
+    private WebSocketCloseCode() {
+    }
+
+    static boolean isValid(int code) {
+        return (code >= 1000 && code <= 1003) || (code >= 1007 && code <= 1011) || (code >= 3000 && code <= 4999);
+    }
+}
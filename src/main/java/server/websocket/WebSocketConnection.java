@@ -0,0 +1,305 @@
+package server.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import server.http.ConnectionUpgrade;
+import server.http.EventSink;
+import server.http.HttpRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+class WebSocketConnection implements WebSocketSession, ConnectionUpgrade {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConnection.class);
+    private static final int MIN_COMPRESSED_SIZE = 128;
+    private final HttpRequest request;
+    private final WebSocketHandler handler;
+    private final PerMessageDeflate deflate;
+    private final int maxMessageBytes;
+    private final WebSocketFrameDecoder decoder;
+    private final ReentrantLock sendLock = new ReentrantLock();
+    private final Queue<Runnable> callbacks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean callbackRunning = new AtomicBoolean();
+    private final AtomicBoolean closeNotified = new AtomicBoolean();
+    private final ByteArrayOutputStream fragments = new ByteArrayOutputStream();
+    private EventSink sink;
+    private Executor executor;
+    private volatile boolean closeSent;
+    private int closeCode = WebSocketCloseCode.ABNORMAL_CLOSURE;
+    private String closeReason = "";
+    private int messageOpcode = -1;
+    private boolean messageCompressed;
+
+    WebSocketConnection(HttpRequest request, WebSocketHandler handler, PerMessageDeflate deflate, int maxMessageBytes) {
+        this.request = request;
+        this.handler = handler;
+        this.deflate = deflate;
+        this.maxMessageBytes = maxMessageBytes;
+        this.decoder = new WebSocketFrameDecoder(this::onFrame, maxMessageBytes);
+    }
+
+    @Override
+    public void open(EventSink sink, Executor callbackExecutor) {
+        this.sink = sink;
+        this.executor = callbackExecutor;
+        dispatch(() -> handler.onOpen(this));
+    }
+
+    @Override
+    public void receive(byte[] data, int offset, int length) {
+        if (closeSent) {
+            return;
+        }
+        try {
+            decoder.decode(data, offset, length);
+        } catch (WebSocketException e) {
+            logger.debug("Closing WebSocket after protocol error: {}", e.getMessage());
+            sendClose(e.getCloseCode(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void writable() {
+    }
+
+    @Override
+    public void closed() {
+        sendLock.lock();
+        try {
+            closeSent = true;
+            if (deflate != null) {
+                deflate.close();
+            }
+        } finally {
+            sendLock.unlock();
+        }
+        notifyClose(closeCode, closeReason);
+    }
+
+    @Override
+    public HttpRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closeSent;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return !closeSent && sink.isWritable();
+    }
+
+    @Override
+    public void sendText(String message) {
+        sendMessage(WebSocketFrame.TEXT, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void sendBinary(byte[] message) {
+        sendMessage(WebSocketFrame.BINARY, message);
+    }
+
+    @Override
+    public void ping(byte[] payload) {
+        if (payload.length > WebSocketFrame.MAX_CONTROL_PAYLOAD) {
+            throw new IllegalArgumentException("Ping payload must not exceed 125 bytes");
+        }
+        sendControl(WebSocketFrame.PING, payload);
+    }
+
+    @Override
+    public void close(int code, String reason) {
+        if (!WebSocketCloseCode.isValid(code)) {
+            throw new IllegalArgumentException("Invalid close code: " + code);
+        }
+        if (reason.getBytes(StandardCharsets.UTF_8).length > WebSocketFrame.MAX_CONTROL_PAYLOAD - 2) {
+            throw new IllegalArgumentException("Close reason must not exceed 123 bytes");
+        }
+        sendClose(code, reason);
+    }
+
+    private void sendMessage(int opcode, byte[] payload) {
+        sendLock.lock();
+        try {
+            if (closeSent) {
+                return;
+            }
+            if (deflate != null && payload.length >= MIN_COMPRESSED_SIZE) {
+                sink.send(WebSocketFrame.encode(true, true, opcode, deflate.compress(payload)));
+            } else {
+                sink.send(WebSocketFrame.encode(true, false, opcode, payload));
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void sendControl(int opcode, byte[] payload) {
+        sendLock.lock();
+        try {
+            if (!closeSent) {
+                sink.send(WebSocketFrame.encode(true, false, opcode, payload));
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void sendClose(int code, String reason) {
+        sendLock.lock();
+        try {
+            if (closeSent) {
+                return;
+            }
+            closeSent = true;
+            closeCode = code;
+            closeReason = reason;
+            byte[] payload = new byte[0];
+            if (code != WebSocketCloseCode.NO_STATUS_RECEIVED) {
+                byte[] text = reason.getBytes(StandardCharsets.UTF_8);
+                payload = new byte[2 + Math.min(text.length, WebSocketFrame.MAX_CONTROL_PAYLOAD - 2)];
+                payload[0] = (byte) (code >>> 8);
+                payload[1] = (byte) code;
+                System.arraycopy(text, 0, payload, 2, payload.length - 2);
+            }
+            sink.send(WebSocketFrame.encode(true, false, WebSocketFrame.CLOSE, payload));
+            sink.close();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void onFrame(boolean fin, boolean compressed, int opcode, byte[] payload) {
+        if (WebSocketFrame.isControl(opcode)) {
+            onControlFrame(compressed, opcode, payload);
+            return;
+        }
+        if (opcode == WebSocketFrame.CONTINUATION) {
+            if (messageOpcode < 0 || compressed) {
+                throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Unexpected continuation frame");
+            }
+        } else if (opcode == WebSocketFrame.TEXT || opcode == WebSocketFrame.BINARY) {
+            if (messageOpcode >= 0) {
+                throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Expected a continuation frame");
+            }
+            if (compressed && deflate == null) {
+                throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Compression was not negotiated");
+            }
+            messageOpcode = opcode;
+            messageCompressed = compressed;
+        } else {
+            throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Unknown opcode " + opcode);
+        }
+        byte[] message = payload;
+        if (!fin || fragments.size() > 0) {
+            if (fragments.size() + payload.length > maxMessageBytes) {
+                throw new WebSocketException(WebSocketCloseCode.MESSAGE_TOO_BIG,
+                        "Message exceeds " + maxMessageBytes + " bytes");
+            }
+            fragments.writeBytes(payload);
+            if (!fin) {
+                return;
+            }
+            message = fragments.toByteArray();
+            fragments.reset();
+        }
+        if (messageCompressed) {
+            message = deflate.decompress(message, maxMessageBytes);
+        }
+        int type = messageOpcode;
+        messageOpcode = -1;
+        if (type == WebSocketFrame.TEXT) {
+            String text = decodeText(message);
+            dispatch(() -> handler.onText(this, text));
+        } else {
+            byte[] binary = message;
+            dispatch(() -> handler.onBinary(this, binary));
+        }
+    }
+
+    private void onControlFrame(boolean compressed, int opcode, byte[] payload) {
+        if (compressed) {
+            throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Control frames must not be compressed");
+        }
+        switch (opcode) {
+            case WebSocketFrame.PING -> sendControl(WebSocketFrame.PONG, payload);
+            case WebSocketFrame.PONG -> dispatch(() -> handler.onPong(this, payload));
+            case WebSocketFrame.CLOSE -> onCloseFrame(payload);
+            default -> throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Unknown opcode " + opcode);
+        }
+    }
+
+    private void onCloseFrame(byte[] payload) {
+        if (payload.length == 0) {
+            sendClose(WebSocketCloseCode.NO_STATUS_RECEIVED, "");
+            return;
+        }
+        int code = payload.length >= 2 ? ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF) : 0;
+        if (payload.length == 1 || !WebSocketCloseCode.isValid(code)) {
+            throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Invalid close frame");
+        }
+        byte[] reason = new byte[payload.length - 2];
+        System.arraycopy(payload, 2, reason, 0, reason.length);
+        sendClose(code, decodeText(reason));
+    }
+
+    private void notifyClose(int code, String reason) {
+        if (closeNotified.compareAndSet(false, true)) {
+            dispatch(() -> handler.onClose(this, code, reason));
+        }
+    }
+
+    private void dispatch(Runnable callback) {
+        callbacks.add(callback);
+        if (callbackRunning.compareAndSet(false, true)) {
+            executor.execute(this::runCallbacks);
+        }
+    }
+
+    private void runCallbacks() {
+        Runnable callback;
+        while ((callback = callbacks.poll()) != null) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                handleError(e);
+            }
+        }
+        callbackRunning.set(false);
+        if (!callbacks.isEmpty() && callbackRunning.compareAndSet(false, true)) {
+            executor.execute(this::runCallbacks);
+        }
+    }
+
+    private void handleError(RuntimeException error) {
+        logger.error("WebSocket handler failed", error);
+        try {
+            handler.onError(this, error);
+        } catch (RuntimeException e) {
+            logger.error("WebSocket error handler failed", e);
+        }
+        sendClose(WebSocketCloseCode.INTERNAL_ERROR, "");
+    }
+
+    private static String decodeText(byte[] data) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(data))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            throw new WebSocketException(WebSocketCloseCode.INVALID_PAYLOAD, "Text is not valid UTF-8");
+        }
+    }
+}
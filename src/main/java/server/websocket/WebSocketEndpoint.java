@@ -0,0 +1,61 @@
+package server.websocket;
+
+import server.handler.AbstractRequestHandler;
+import server.handler.annotation.Handler;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+public abstract class WebSocketEndpoint extends AbstractRequestHandler implements WebSocketHandler {
+    private static final int DEFAULT_MAX_MESSAGE_BYTES = 1024 * 1024;
+
+    @Override
+    public HttpResponse handle(HttpRequest request) {
+        String key = request.getHeader("Sec-WebSocket-Key");
+        if (!WebSocketHandshake.isValidKey(key)) {
+            return HttpResponse.builder()
+                    .statusCode(400)
+                    .statusText("Bad Request")
+                    .build();
+        }
+        String version = request.getHeader("Sec-WebSocket-Version");
+        if (version == null || !version.trim().equals(WebSocketHandshake.VERSION)) {
+            return HttpResponse.builder()
+                    .statusCode(426)
+                    .statusText("Upgrade Required")
+                    .addHeader("Sec-WebSocket-Version", WebSocketHandshake.VERSION)
+                    .build();
+        }
+        PerMessageDeflate deflate = isCompressionEnabled()
+                ? PerMessageDeflate.negotiate(request.getHeader("Sec-WebSocket-Extensions"))
+                : null;
+        HttpResponse.Builder response = HttpResponse.builder()
+                .statusCode(101)
+                .statusText("Switching Protocols")
+                .addHeader("Upgrade", "websocket")
+                .addHeader("Connection", "Upgrade")
+                .addHeader("Sec-WebSocket-Accept", WebSocketHandshake.acceptKey(key));
+        if (deflate != null) {
+            response.addHeader("Sec-WebSocket-Extensions", deflate.responseHeader());
+        }
+        return response
+                .upgrade(new WebSocketConnection(request, this, deflate, getMaxMessageBytes()))
+                .build();
+    }
+
+    @Override
+    public boolean canHandle(HttpRequest request) {
+        Handler handler = getClass().getAnnotation(Handler.class);
+        return handler != null
+                && request.getPath().equals(handler.value())
+                && "HTTP/1.1".equals(request.getVersion())
+                && WebSocketHandshake.isRequested(request);
+    }
+
+    protected int getMaxMessageBytes() {
+        return DEFAULT_MAX_MESSAGE_BYTES;
+    }
+
+    protected boolean isCompressionEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,14 @@
+package server.websocket;
+
+public class WebSocketException extends RuntimeException {
+    private final int closeCode;
+
+    public WebSocketException(int closeCode, String message) {
+        super(message);
+        this.closeCode = closeCode;
+    }
+
+    public int getCloseCode() {
+        return closeCode;
+    }
+}
@@ -0,0 +1,52 @@
+package server.websocket;
+
+public final class WebSocketFrame {
+    public static final int CONTINUATION = 0x0;
+    public static final int TEXT = 0x1;
+    public static final int BINARY = 0x2;
+    public static final int CLOSE = 0x8;
+    public static final int PING = 0x9;
+    public static final int PONG = 0xA;
+    static final int MAX_CONTROL_PAYLOAD = 125;
+
+    private WebSocketFrame() {
+    }
+
+    public static byte[] encode(boolean fin, boolean compressed, int opcode, byte[] payload) {
+        return encode(fin, compressed, opcode, payload, null);
+    }
+
+    public static byte[] encode(boolean fin, boolean compressed, int opcode, byte[] payload, byte[] mask) {
+        int length = payload.length;
+        int lengthBytes = length <= 125 ? 0 : length <= 0xFFFF ? 2 : 8;
+        int headerLength = 2 + lengthBytes + (mask != null ? 4 : 0);
+        byte[] frame = new byte[headerLength + length];
+        frame[0] = (byte) ((fin ? 0x80 : 0) | (compressed ? 0x40 : 0) | opcode);
+        int maskBit = mask != null ? 0x80 : 0;
+        if (lengthBytes == 0) {
+            frame[1] = (byte) (maskBit | length);
+        } else if (lengthBytes == 2) {
+            frame[1] = (byte) (maskBit | 126);
+            frame[2] = (byte) (length >>> 8);
+            frame[3] = (byte) length;
+        } else {
+            frame[1] = (byte) (maskBit | 127);
+            for (int i = 0; i < 8; i++) {
+                frame[2 + i] = (byte) ((long) length >>> (56 - 8 * i));
+            }
+        }
+        if (mask == null) {
+            System.arraycopy(payload, 0, frame, headerLength, length);
+            return frame;
+        }
+        System.arraycopy(mask, 0, frame, headerLength - 4, 4);
+        for (int i = 0; i < length; i++) {
+            frame[headerLength + i] = (byte) (payload[i] ^ mask[i & 3]);
+        }
+        return frame;
+    }
+
+    static boolean isControl(int opcode) {
+        return (opcode & 0x8) != 0;
+    }
+}
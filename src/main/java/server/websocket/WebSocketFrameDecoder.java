@@ -0,0 +1,105 @@
+package server.websocket;
+
+class WebSocketFrameDecoder {
+    private final FrameListener listener;
+    private final long maxPayloadLength;
+    private final byte[] header = new byte[14];
+    private int headerLength;
+    private byte[] payload;
+    private int payloadPosition;
+
+    WebSocketFrameDecoder(FrameListener listener, long maxPayloadLength) {
+        this.listener = listener;
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    void decode(byte[] data, int offset, int length) {
+        int end = offset + length;
+        while (offset < end) {
+            if (payload == null) {
+                offset = readHeader(data, offset, end);
+                continue;
+            }
+            int count = Math.min(end - offset, payload.length - payloadPosition);
+            System.arraycopy(data, offset, payload, payloadPosition, count);
+            payloadPosition += count;
+            offset += count;
+            if (payloadPosition == payload.length) {
+                completeFrame();
+            }
+        }
+    }
+
+    private int readHeader(byte[] data, int offset, int end) {
+        while (offset < end) {
+            header[headerLength++] = data[offset++];
+            if (headerLength == requiredHeaderLength()) {
+                startPayload();
+                return offset;
+            }
+        }
+        return offset;
+    }
+
+    private int requiredHeaderLength() {
+        if (headerLength < 2) {
+            return 2;
+        }
+        int length = header[1] & 0x7F;
+        int extended = length == 126 ? 2 : length == 127 ? 8 : 0;
+        return 2 + extended + ((header[1] & 0x80) != 0 ? 4 : 0);
+    }
+
+    private void startPayload() {
+        int opcode = header[0] & 0x0F;
+        if ((header[0] & 0x30) != 0) {
+            throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Reserved bits must be zero");
+        }
+        if ((header[1] & 0x80) == 0) {
+            throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Client frames must be masked");
+        }
+        long length = header[1] & 0x7F;
+        if (length == 126) {
+            length = ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+        } else if (length == 127) {
+            length = 0;
+            for (int i = 0; i < 8; i++) {
+                length = (length << 8) | (header[2 + i] & 0xFF);
+            }
+            if (length < 0) {
+                throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Invalid payload length");
+            }
+        }
+        if (WebSocketFrame.isControl(opcode)) {
+            if ((header[0] & 0x80) == 0 || length > WebSocketFrame.MAX_CONTROL_PAYLOAD) {
+                throw new WebSocketException(WebSocketCloseCode.PROTOCOL_ERROR, "Invalid control frame");
+            }
+        } else if (length > maxPayloadLength) {
+            throw new WebSocketException(WebSocketCloseCode.MESSAGE_TOO_BIG,
+                    "Frame payload exceeds " + maxPayloadLength + " bytes");
+        }
+        payload = new byte[(int) length];
+        payloadPosition = 0;
+        if (length == 0) {
+            completeFrame();
+        }
+    }
+
+    private void completeFrame() {
+        int maskOffset = headerLength - 4;
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] ^= header[maskOffset + (i & 3)];
+        }
+        boolean fin = (header[0] & 0x80) != 0;
+        boolean compressed = (header[0] & 0x40) != 0;
+        int opcode = header[0] & 0x0F;
+        byte[] frame = payload;
+        payload = null;
+        headerLength = 0;
+        listener.onFrame(fin, compressed, opcode, frame);
+    }
+
+    interface FrameListener {
+        void onFrame(boolean fin, boolean compressed, int opcode, byte[] payload);
+    }
+}
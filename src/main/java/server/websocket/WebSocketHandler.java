@@ -0,0 +1,21 @@
+package server.websocket;
+
+public interface WebSocketHandler {
+    default void onOpen(WebSocketSession session) {
+    }
+
+    default void onText(WebSocketSession session, String message) {
+    }
+
+    default void onBinary(WebSocketSession session, byte[] message) {
+    }
+
+    default void onPong(WebSocketSession session, byte[] payload) {
+    }
+
+    default void onClose(WebSocketSession session, int code, String reason) {
+    }
+
+    default void onError(WebSocketSession session, Throwable error) {
+    }
+}
@@ -0,0 +1,23 @@
+package server.websocket;
+
+import server.http.HttpRequest;
+
+public interface WebSocketSession {
+    HttpRequest getRequest();
+
+    boolean isOpen();
+
+    boolean isWritable();
+
+    void sendText(String message);
+
+    void sendBinary(byte[] message);
+
+    void ping(byte[] payload);
+
+    void close(int code, String reason);
+
+    default void close() {
+        close(WebSocketCloseCode.NORMAL_CLOSURE, "");
+    }
+}
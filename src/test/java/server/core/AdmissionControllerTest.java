@@ -0,0 +1,85 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+    @Test
+    void 대기열이_가득_차면_요청_거부() throws InterruptedException {
+        ThreadPool threadPool = new ThreadPool(1);
+        AdmissionController controller = new AdmissionController(threadPool, 1, 10_000, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertTrue(controller.tryExecute(() -> {
+            started.countDown();
+            await(release);
+        }, () -> {
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(controller.tryExecute(() -> {
+        }, () -> {
+        }));
+        assertFalse(controller.tryExecute(() -> {
+        }, () -> {
+        }));
+
+        AdmissionStats stats = controller.getStats();
+        assertEquals(1, stats.queueDepth());
+        assertEquals(1, stats.rejectedCount());
+
+        release.countDown();
+        threadPool.shutdown();
+        assertEquals(0, controller.getStats().queueDepth());
+    }
+
+    @Test
+    void 대기_시간을_초과한_작업은_만료_처리() throws InterruptedException {
+        ThreadPool threadPool = new ThreadPool(1);
+        AdmissionController controller = new AdmissionController(threadPool, 10, 50, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch expired = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean(false);
+
+        controller.tryExecute(() -> {
+            started.countDown();
+            await(release);
+        }, () -> {
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        controller.tryExecute(() -> ran.set(true), expired::countDown);
+        Thread.sleep(200);
+        release.countDown();
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+        assertEquals(1, controller.getStats().expiredCount());
+        threadPool.shutdown();
+    }
+
+    @Test
+    void 미리_직렬화된_503_응답() {
+        AdmissionController controller = new AdmissionController(new ThreadPool(1), 1, 1, 5);
+
+        String response = new String(controller.getServiceUnavailableResponse(), StandardCharsets.US_ASCII);
+
+        assertTrue(response.startsWith("HTTP/1.1 503 Service Unavailable\r\n"));
+        assertTrue(response.contains("Retry-After: 5\r\n"));
+        assertTrue(response.endsWith("\r\n\r\n"));
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPoolTest {
+    @Test
+    void 요청_크기를_크기_등급으로_올림() {
+        BufferPool pool = new BufferPool(1024 * 1024);
+
+        assertEquals(1024, pool.acquire(1).length);
+        assertEquals(8192, pool.acquire(8192).length);
+        assertEquals(16384, pool.acquire(8193).length);
+    }
+
+    @Test
+    void 반환된_버퍼_재사용() {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        byte[] buffer = pool.acquire(8192);
+
+        pool.release(buffer);
+
+        assertEquals(8192, pool.getRetainedBytes());
+        assertSame(buffer, pool.acquire(8192));
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    void 보관_용량을_넘는_버퍼는_버림() {
+        BufferPool pool = new BufferPool(8192);
+
+        pool.release(new byte[8192]);
+        pool.release(new byte[8192]);
+
+        assertEquals(8192, pool.getRetainedBytes());
+    }
+
+    @Test
+    void 등급_밖의_버퍼는_보관하지_않음() {
+        BufferPool pool = new BufferPool(1024 * 1024);
+
+        pool.release(new byte[1000]);
+        byte[] large = pool.acquire(1024 * 1024);
+        pool.release(large);
+
+        assertEquals(1024 * 1024, large.length);
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    void 비풀링_모드는_항상_새_버퍼_할당() {
+        BufferPool pool = BufferPool.unpooled();
+        byte[] buffer = pool.acquire(4096);
+
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(4096));
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    void 음수_보관_용량은_예외() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(-1));
+    }
+}
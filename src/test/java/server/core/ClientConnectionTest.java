@@ -0,0 +1,66 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientConnectionTest {
+    @Test
+    void 파이프라인된_요청_감지() throws IOException {
+        String requests = "GET /a HTTP/1.1\r\nHost: x\r\n\r\n" +
+                "POST /b HTTP/1.1\r\nContent-Length: 3\r\n\r\nabc";
+        BufferPool pool = new BufferPool(1024 * 1024);
+        ClientConnection connection = new ClientConnection(new FakeSocket(requests), pool);
+
+        assertTrue(connection.awaitRequest());
+        InputStream in = connection.getInputStream();
+        in.readNBytes("GET /a HTTP/1.1\r\nHost: x\r\n\r\n".length());
+        assertTrue(connection.hasBufferedRequest());
+        assertEquals("POST", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+        in.readNBytes(in.available());
+        assertFalse(connection.hasBufferedRequest());
+        assertFalse(connection.awaitRequest());
+        connection.close();
+    }
+
+    @Test
+    void 닫을_때_버퍼를_풀에_반환() throws IOException {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        FakeSocket socket = new FakeSocket("");
+        ClientConnection connection = new ClientConnection(socket, pool);
+
+        connection.getOutputStream().write("hello".getBytes(StandardCharsets.US_ASCII));
+        connection.close();
+
+        assertEquals("hello", socket.written.toString(StandardCharsets.US_ASCII));
+        assertEquals(2 * 8192, pool.getRetainedBytes());
+        assertTrue(socket.isClosed());
+    }
+
+    private static class FakeSocket extends Socket {
+        private final InputStream in;
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        FakeSocket(String input) {
+            this.in = new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return in;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return written;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+    private static final int CLIENTS = 100;
+    private static final int CAPACITY = 20;
+    private static final long BASE_LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long RETRY_DELAY = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void 한도에_도달하면_요청_거부() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new GradientLimit(), 2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        ConcurrencyLimitStats stats = limiter.getStats();
+        assertEquals(2, stats.limit());
+        assertEquals(2, stats.inFlight());
+        assertEquals(1, stats.rejectedCount());
+
+        limiter.release(BASE_LATENCY);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void 그래디언트_한도는_처리_용량_근처로_수렴() {
+        double averageLimit = simulate(new ConcurrencyLimiter(new GradientLimit(), 20, 1, 1_000));
+
+        assertTrue(averageLimit >= CAPACITY && averageLimit <= CAPACITY * 3, "limit=" + averageLimit);
+    }
+
+    @Test
+    void AIMD_한도는_지연_임계값에_맞춰_수렴() {
+        double averageLimit = simulate(new ConcurrencyLimiter(new AimdLimit(20), 1, 1, 1_000));
+
+        assertTrue(averageLimit >= CAPACITY && averageLimit <= CAPACITY * 3, "limit=" + averageLimit);
+    }
+
+    @Test
+    void 지연_시간이_늘어나면_한도_감소() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(20), 100, 1, 1_000);
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            now += TimeUnit.MILLISECONDS.toNanos(10);
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(50), now);
+        }
+
+        assertTrue(limiter.getLimit() < 100);
+        assertEquals(50_000, limiter.getStats().sampleLatencyMicros());
+    }
+
+    // 동시 처리량이 CAPACITY를 넘으면 지연이 늘어나는 서버를 30초간 모의하고, 후반부 평균 한도를 반환
+    private static double simulate(ConcurrencyLimiter limiter) {
+        Random random = new Random(42);
+        PriorityQueue<long[]> events = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        for (int i = 0; i < CLIENTS; i++) {
+            events.add(new long[]{i * RETRY_DELAY, -1});
+        }
+        long end = TimeUnit.SECONDS.toNanos(30);
+        long lastSampleAt = end / 2;
+        double limitTime = 0;
+        int inFlight = 0;
+        while (!events.isEmpty() && events.peek()[0] < end) {
+            long[] event = events.poll();
+            long now = event[0];
+            if (now > lastSampleAt) {
+                limitTime += (double) limiter.getLimit() * (now - lastSampleAt);
+                lastSampleAt = now;
+            }
+            if (event[1] >= 0) {
+                inFlight--;
+                limiter.release(event[1], now);
+                events.add(new long[]{now, -1});
+            } else if (limiter.tryAcquire()) {
+                inFlight++;
+                double jitter = 0.9 + random.nextDouble() * 0.2;
+                long latency = (long) (BASE_LATENCY * Math.max(1.0, (double) inFlight / CAPACITY) * jitter);
+                events.add(new long[]{now + latency, latency});
+            } else {
+                events.add(new long[]{now + RETRY_DELAY, -1});
+            }
+        }
+        return limitTime / (end / 2);
+    }
+}
@@ -0,0 +1,57 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ConnectionAcceptorTest {
+    @Test
+    void 연결_수락시_카운터와_소켓_옵션_적용() throws IOException {
+        Port port = new Port(freePort());
+        ConnectionAcceptor acceptor = new ConnectionAcceptor(port, 128, false, new SocketSettings(true, 0, 0));
+        try (Socket client = new Socket("localhost", port.getValue());
+             Socket accepted = acceptor.accept()) {
+            assertNotNull(client);
+            assertTrue(accepted.getTcpNoDelay());
+            assertEquals(1, acceptor.getAcceptedCount());
+        } finally {
+            acceptor.close();
+        }
+    }
+
+    @Test
+    void SO_REUSEPORT로_같은_포트에_여러_샤드_바인딩() throws IOException {
+        assumeTrue(ConnectionAcceptor.isReusePortSupported());
+        Port port = new Port(freePort());
+        ConnectionAcceptor first = new ConnectionAcceptor(port, 128, true, SocketSettings.DEFAULT);
+        try {
+            ConnectionAcceptor second = assertDoesNotThrow(
+                    () -> new ConnectionAcceptor(port, 128, true, SocketSettings.DEFAULT));
+            second.close();
+        } finally {
+            first.close();
+        }
+    }
+
+    @Test
+    void SO_REUSEPORT_없이_같은_포트_바인딩시_예외_발생() throws IOException {
+        Port port = new Port(freePort());
+        ConnectionAcceptor first = new ConnectionAcceptor(port);
+        try {
+            assertThrows(IOException.class, () -> new ConnectionAcceptor(port));
+        } finally {
+            first.close();
+        }
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
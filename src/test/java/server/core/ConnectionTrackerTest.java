@@ -0,0 +1,103 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionTrackerTest {
+    @Test
+    void 드레인_시작시_유휴_연결_종료() {
+        ConnectionTracker tracker = new ConnectionTracker();
+        FakeConnection connection = new FakeConnection(tracker, false);
+        tracker.register(connection);
+
+        DrainReport report = tracker.drain(1_000);
+
+        assertTrue(connection.closedIfIdle);
+        assertFalse(connection.forceClosed);
+        assertEquals(1, report.idleConnectionsClosed());
+        assertTrue(report.isClean());
+        assertEquals(0, tracker.getOpenConnections());
+    }
+
+    @Test
+    void 처리_중인_요청은_완료될_때까지_대기() throws InterruptedException {
+        ConnectionTracker tracker = new ConnectionTracker();
+        FakeConnection connection = new FakeConnection(tracker, true);
+        tracker.register(connection);
+        tracker.requestStarted(1);
+
+        Thread worker = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            tracker.requestFinished(1);
+            tracker.unregister(connection);
+        });
+        worker.start();
+        DrainReport report = tracker.drain(5_000);
+        worker.join();
+
+        assertTrue(report.isClean());
+        assertEquals(1, report.requestsCompleted());
+        assertFalse(connection.forceClosed);
+    }
+
+    @Test
+    void 제한_시간이_지나면_남은_연결_강제_종료() {
+        ConnectionTracker tracker = new ConnectionTracker();
+        FakeConnection connection = new FakeConnection(tracker, true);
+        tracker.register(connection);
+        tracker.requestStarted(2);
+
+        DrainReport report = tracker.drain(50);
+
+        assertTrue(connection.forceClosed);
+        assertFalse(report.isClean());
+        assertEquals(2, report.requestsCutOff());
+        assertEquals(1, report.connectionsCutOff());
+        assertEquals(0, report.requestsCompleted());
+    }
+
+    @Test
+    void 드레인_중_등록된_연결은_바로_종료() {
+        ConnectionTracker tracker = new ConnectionTracker();
+        tracker.drain(0);
+        FakeConnection connection = new FakeConnection(tracker, false);
+
+        tracker.register(connection);
+
+        assertTrue(tracker.isDraining());
+        assertTrue(connection.closedIfIdle);
+        assertEquals(0, tracker.getOpenConnections());
+    }
+
+    private static class FakeConnection implements TrackedConnection {
+        private final ConnectionTracker tracker;
+        private final boolean busy;
+        private boolean closedIfIdle;
+        private boolean forceClosed;
+
+        FakeConnection(ConnectionTracker tracker, boolean busy) {
+            this.tracker = tracker;
+            this.busy = busy;
+        }
+
+        @Override
+        public void closeIfIdle() {
+            if (!busy) {
+                closedIfIdle = true;
+                tracker.idleConnectionClosed();
+                tracker.unregister(this);
+            }
+        }
+
+        @Override
+        public void forceClose() {
+            forceClosed = true;
+            tracker.unregister(this);
+        }
+    }
+}
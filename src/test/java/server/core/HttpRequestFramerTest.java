@@ -0,0 +1,62 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+import server.http.parser.Http11Parser;
+import server.http.parser.RequestLimits;
+import server.http.parser.RequestRejectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpRequestFramerTest {
+    @Test
+    void 파서와_같은_위치에서_요청을_나눈다() throws IOException {
+        byte[] raw = ("POST /a HTTP/1.1\r\ncontent-length: 5\r\n\r\nhello" +
+                "GET /b HTTP/1.1\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+        int length = HttpRequestFramer.frameLength(raw, raw.length);
+        ByteArrayInputStream in = new ByteArrayInputStream(raw);
+        Http11Parser.parse(in);
+
+        assertEquals(raw.length - in.available(), length);
+        assertEquals("/b", Http11Parser.parse(in).getPath());
+    }
+
+    @Test
+    void 본문_경계가_모호하면_파서와_같이_400() {
+        String[] smuggled = {
+                "Content-Length : 5\r\n",
+                "Content-Length: 5\r\nContent-Length: 0\r\n",
+                "Content-Length: +5\r\n",
+                "Content-Length: 5\r\nTransfer-Encoding: chunked\r\n",
+        };
+        for (String headers : smuggled) {
+            byte[] raw = ("POST / HTTP/1.1\r\n" + headers + "\r\nhello").getBytes(StandardCharsets.US_ASCII);
+
+            RequestRejectedException e = assertThrows(RequestRejectedException.class,
+                    () -> HttpRequestFramer.head(raw, 0, raw.length, RequestLimits.UNLIMITED));
+
+            assertEquals(400, e.getStatusCode(), headers);
+        }
+    }
+
+    @Test
+    void HTTP1이_아닌_요청_줄은_400() {
+        String[] lines = {
+                "PRI * HTTP/2.0",
+                "GET / HTTP/1.1 extra",
+                "SM",
+        };
+        for (String line : lines) {
+            byte[] raw = (line + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+            RequestRejectedException e = assertThrows(RequestRejectedException.class,
+                    () -> HttpRequestFramer.head(raw, 0, raw.length, RequestLimits.UNLIMITED));
+
+            assertEquals(400, e.getStatusCode(), line);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeepAlivePolicyTest {
+    private final KeepAlivePolicy policy = new KeepAlivePolicy(5000, 3);
+    private final HttpResponse response = HttpResponse.builder().build();
+
+    @Test
+    void HTTP_1_1_요청은_기본적으로_연결_유지() {
+        HttpRequest request = request("HTTP/1.1", null);
+
+        assertTrue(policy.shouldKeepAlive(request, response, 1));
+    }
+
+    @Test
+    void Connection_close_요청은_연결_종료() {
+        HttpRequest request = request("HTTP/1.1", "close");
+
+        assertFalse(policy.shouldKeepAlive(request, response, 1));
+    }
+
+    @Test
+    void HTTP_1_0_요청은_keep_alive_명시시에만_연결_유지() {
+        assertFalse(policy.shouldKeepAlive(request("HTTP/1.0", null), response, 1));
+        assertTrue(policy.shouldKeepAlive(request("HTTP/1.0", "Keep-Alive"), response, 1));
+    }
+
+    @Test
+    void 최대_요청_수에_도달하면_연결_종료() {
+        HttpRequest request = request("HTTP/1.1", null);
+
+        assertTrue(policy.shouldKeepAlive(request, response, 2));
+        assertFalse(policy.shouldKeepAlive(request, response, 3));
+    }
+
+    @Test
+    void 응답이_Connection_close이면_연결_종료() {
+        HttpResponse closing = HttpResponse.builder()
+                .addHeader("Connection", "close")
+                .build();
+
+        assertFalse(policy.shouldKeepAlive(request("HTTP/1.1", null), closing, 1));
+    }
+
+    @Test
+    void HTTP_1_0에_길이_없는_스트리밍_응답이면_연결_종료() {
+        HttpResponse streaming = HttpResponse.builder()
+                .body(out -> out.write("data".getBytes()))
+                .build();
+
+        assertFalse(policy.shouldKeepAlive(request("HTTP/1.0", "Keep-Alive"), streaming, 1));
+        assertTrue(policy.shouldKeepAlive(request("HTTP/1.1", null), streaming, 1));
+    }
+
+    private HttpRequest request(String version, String connection) {
+        HttpRequest.Builder builder = HttpRequest.builder()
+                .method("GET")
+                .path("/")
+                .version(version);
+        if (connection != null) {
+            builder.addHeader("Connection", connection);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,182 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+import server.handler.AsyncRequestHandler;
+import server.handler.CustomRequestHandler;
+import server.handler.RequestHandler;
+import server.handler.StaticFileHandler;
+import server.handler.annotation.Handler;
+import server.handler.annotation.HttpMethod;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http.parser.Http11Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDispatcherTest {
+    @Test
+    void 동기_핸들러는_완료된_응답_반환() throws IOException {
+        RequestDispatcher dispatcher = dispatcher(new SyncHandler(), 1_000);
+
+        CompletableFuture<HttpResponse> response = dispatcher.handleRequestAsync(request("GET", "/sync"));
+
+        assertTrue(response.isDone());
+        assertEquals("sync", new String(response.join().getBody()));
+    }
+
+    @Test
+    void 비동기_핸들러는_나중에_완료된_응답_반환() throws IOException {
+        CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+        RequestDispatcher dispatcher = dispatcher(new PendingHandler(pending), 1_000);
+
+        CompletableFuture<HttpResponse> response = dispatcher.handleRequestAsync(request("GET", "/pending"));
+        assertFalse(response.isDone());
+
+        pending.complete(HttpResponse.builder().statusCode(200).statusText("OK").body("later".getBytes()).build());
+        assertEquals("later", new String(response.join().getBody()));
+    }
+
+    @Test
+    void 비동기_핸들러가_실패하면_500_응답() throws IOException {
+        CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+        RequestDispatcher dispatcher = dispatcher(new PendingHandler(pending), 1_000);
+
+        CompletableFuture<HttpResponse> response = dispatcher.handleRequestAsync(request("GET", "/pending"));
+        pending.completeExceptionally(new IllegalStateException("downstream failed"));
+
+        assertEquals(500, response.join().getStatusCode());
+    }
+
+    @Test
+    void 제한_시간_안에_완료되지_않으면_500_응답() throws Exception {
+        CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+        RequestDispatcher dispatcher = dispatcher(new PendingHandler(pending), 50);
+
+        HttpResponse response = dispatcher.handleRequestAsync(request("GET", "/pending")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(500, response.getStatusCode());
+        assertFalse(pending.isDone());
+    }
+
+    @Test
+    void HttpMethod_메소드가_CompletionStage를_반환하면_비동기로_처리() throws IOException {
+        RequestDispatcher dispatcher = dispatcher(new AsyncCustomHandler(), 1_000);
+
+        HttpResponse get = dispatcher.handleRequestAsync(request("GET", "/custom")).join();
+        HttpResponse post = dispatcher.handleRequestAsync(request("POST", "/custom")).join();
+
+        assertEquals("async", new String(get.getBody()));
+        assertEquals(500, post.getStatusCode());
+    }
+
+    @Test
+    void handle을_재정의한_CustomRequestHandler는_handle로_처리() throws IOException {
+        RequestDispatcher dispatcher = dispatcher(new OverridingCustomHandler(), 1_000);
+
+        HttpResponse response = dispatcher.handleRequestAsync(request("GET", "/custom")).join();
+
+        assertEquals("overridden", new String(response.getBody()));
+    }
+
+    @Test
+    void 응답이_아닌_값을_반환하거나_실패하면_500_오류_페이지() throws Exception {
+        RequestDispatcher dispatcher = dispatcher(new AsyncCustomHandler(), 1_000);
+        RequestDispatcher timeout = dispatcher(new PendingHandler(new CompletableFuture<>()), 50);
+
+        HttpResponse wrongType = dispatcher.handleRequestAsync(request("PUT", "/custom")).join();
+        HttpResponse failed = dispatcher.handleRequestAsync(request("POST", "/custom")).join();
+        HttpResponse timedOut = timeout.handleRequestAsync(request("GET", "/pending")).get(5, TimeUnit.SECONDS);
+
+        for (HttpResponse response : List.of(wrongType, failed, timedOut)) {
+            assertEquals(500, response.getStatusCode());
+            assertTrue(response.getHeader("Content-Type").startsWith("text/html"));
+            assertTrue(response.getBody().length > 0);
+        }
+    }
+
+    @Test
+    void 처리할_핸들러가_없는_경로는_라우트_없음() throws IOException {
+        RequestDispatcher dispatcher = dispatcher(new SyncHandler(), 1_000);
+
+        assertTrue(dispatcher.hasRoute(request("POST", "/sync")));
+        assertFalse(dispatcher.hasRoute(request("POST", "/missing")));
+        assertEquals(404, dispatcher.notFound(request("POST", "/missing")).getStatusCode());
+    }
+
+    private static RequestDispatcher dispatcher(RequestHandler handler, long timeoutMillis) {
+        return new RequestDispatcher(List.of(handler), new StaticFileHandler(), timeoutMillis);
+    }
+
+    private static HttpRequest request(String method, String path) throws IOException {
+        String request = method + " " + path + " HTTP/1.1\r\nHost: localhost\r\nContent-Length: 0\r\n\r\n";
+        return Http11Parser.parse(new ByteArrayInputStream(request.getBytes()));
+    }
+
+    private static class SyncHandler implements RequestHandler {
+        @Override
+        public HttpResponse handle(HttpRequest request) {
+            return HttpResponse.builder().statusCode(200).statusText("OK").body("sync".getBytes()).build();
+        }
+
+        @Override
+        public boolean canHandle(HttpRequest request) {
+            return request.getPath().equals("/sync");
+        }
+    }
+
+    private static class PendingHandler implements AsyncRequestHandler {
+        private final CompletableFuture<HttpResponse> response;
+
+        PendingHandler(CompletableFuture<HttpResponse> response) {
+            this.response = response;
+        }
+
+        @Override
+        public CompletionStage<HttpResponse> handleAsync(HttpRequest request) {
+            return response;
+        }
+
+        @Override
+        public boolean canHandle(HttpRequest request) {
+            return request.getPath().equals("/pending");
+        }
+    }
+
+    @Handler("/custom")
+    public static class AsyncCustomHandler extends CustomRequestHandler {
+        @HttpMethod("GET")
+        public CompletionStage<HttpResponse> get(HttpRequest request) {
+            return CompletableFuture.supplyAsync(() -> ok("async".getBytes()).build());
+        }
+
+        @HttpMethod("POST")
+        public CompletionStage<HttpResponse> post(HttpRequest request) {
+            return CompletableFuture.failedFuture(new IllegalStateException("rejected"));
+        }
+
+        @HttpMethod("PUT")
+        public String put(HttpRequest request) {
+            return "not a response";
+        }
+    }
+
+    @Handler("/custom")
+    public static class OverridingCustomHandler extends CustomRequestHandler {
+        @Override
+        public HttpResponse handle(HttpRequest request) {
+            return ok("overridden".getBytes()).build();
+        }
+
+        @HttpMethod("GET")
+        public HttpResponse get(HttpRequest request) {
+            return ok("annotated".getBytes()).build();
+        }
+    }
+}
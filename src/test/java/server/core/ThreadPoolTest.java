@@ -7,6 +7,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class ThreadPoolTest {
     @Test
@@ -68,4 +69,35 @@ class ThreadPoolTest {
 
         assertTrue(latch.await(5, TimeUnit.SECONDS));
     }
+
+    @Test
+    void 가상_스레드_모드에서_동시_실행_수가_제한됨() throws InterruptedException {
+        assumeTrue(Runtime.version().feature() >= 21);
+        ThreadPool threadPool = new ThreadPool(ExecutionMode.VIRTUAL, 2);
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            threadPool.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= 2);
+        threadPool.shutdown();
+    }
+
+    @Test
+    void 스레드풀_크기가_0이하이면_예외_발생() {
+        assertThrows(IllegalArgumentException.class, () -> new ThreadPool(0));
+    }
 }
@@ -0,0 +1,51 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TlsContextTest {
+    @Test
+    void ALPN에서_h2_우선_선택() throws NoSuchAlgorithmException {
+        TlsContext tlsContext = new TlsContext(SSLContext.getDefault(), true);
+
+        assertEquals("h2", tlsContext.selectProtocol(List.of("http/1.1", "h2")));
+        assertEquals("http/1.1", tlsContext.selectProtocol(List.of("http/1.1")));
+        assertEquals("", tlsContext.selectProtocol(List.of("spdy/3")));
+    }
+
+    @Test
+    void HTTP2_비활성화시_http1_1_선택() throws NoSuchAlgorithmException {
+        TlsContext tlsContext = new TlsContext(SSLContext.getDefault(), false);
+
+        assertEquals("http/1.1", tlsContext.selectProtocol(List.of("h2", "http/1.1")));
+    }
+
+    @Test
+    void 서버_모드_엔진_생성() throws NoSuchAlgorithmException {
+        SSLEngine engine = new TlsContext(SSLContext.getDefault(), true).createEngine();
+
+        assertFalse(engine.getUseClientMode());
+        assertNotNull(engine.getHandshakeApplicationProtocolSelector());
+    }
+
+    @Test
+    void 잘못된_키스토어는_IOException() throws IOException {
+        Path keyStore = Files.createTempFile("invalid", ".p12");
+        try {
+            Files.writeString(keyStore, "not a key store");
+            assertThrows(IOException.class,
+                    () -> TlsContext.load(keyStore, "secret", "PKCS12", 100, 60, true));
+        } finally {
+            Files.delete(keyStore);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package server.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnixDomainAcceptorTest {
+    @Test
+    void 유닉스_소켓으로_연결_수락_후_스트림으로_송수신() throws IOException {
+        Path path = socketPath();
+        UnixDomainAcceptor acceptor = new UnixDomainAcceptor(path, 16);
+        try (SocketChannel client = SocketChannel.open(UnixDomainSocketAddress.of(path));
+             Socket accepted = acceptor.accept()) {
+            client.write(ByteBuffer.wrap("ping".getBytes(StandardCharsets.US_ASCII)));
+            assertEquals("ping", new String(accepted.getInputStream().readNBytes(4), StandardCharsets.US_ASCII));
+
+            accepted.getOutputStream().write("pong".getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer response = ByteBuffer.allocate(4);
+            while (response.hasRemaining()) {
+                client.read(response);
+            }
+            assertEquals("pong", new String(response.array(), StandardCharsets.US_ASCII));
+            assertEquals(1, acceptor.getAcceptedCount());
+        } finally {
+            acceptor.close();
+        }
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void 읽기_제한_시간이_지나면_SocketTimeoutException_발생() throws IOException {
+        Path path = socketPath();
+        UnixDomainAcceptor acceptor = new UnixDomainAcceptor(path, 16);
+        try (SocketChannel ignored = SocketChannel.open(UnixDomainSocketAddress.of(path));
+             Socket accepted = acceptor.accept()) {
+            accepted.setSoTimeout(50);
+            assertThrows(SocketTimeoutException.class, () -> accepted.getInputStream().read());
+        } finally {
+            acceptor.close();
+        }
+    }
+
+    @Test
+    void 이전_실행이_남긴_소켓_파일이_있어도_바인딩() throws IOException {
+        Path path = Files.createTempFile("stale", ".sock");
+
+        UnixDomainAcceptor acceptor = assertDoesNotThrow(() -> new UnixDomainAcceptor(path, 16));
+        acceptor.close();
+    }
+
+    private static Path socketPath() throws IOException {
+        Path path = Files.createTempFile("server", ".sock");
+        Files.delete(path);
+        return path;
+    }
+}
@@ -0,0 +1,351 @@
+package server.core.loopback;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import server.core.Server;
+import server.core.ServerConfig;
+import server.core.TransportMode;
+import server.handler.CustomRequestHandler;
+import server.handler.annotation.Handler;
+import server.handler.annotation.HttpMethod;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http2.HeaderField;
+import server.http2.HpackDecoder;
+import server.http2.HpackEncoder;
+import server.http2.Http2Session;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerLoopbackTest {
+    private static final int DATA = 0x0;
+    private static final int HEADERS = 0x1;
+    private static final int SETTINGS = 0x4;
+    private static final int FLAG_END_STREAM = 0x1;
+    private static final int FLAG_END_HEADERS = 0x4;
+    private Server server;
+    private int port;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.drain(1_000);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NIO", "BLOCKING"})
+    void keep_alive_연결에서_요청을_차례로_처리(String mode) throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.valueOf(mode)));
+
+        try (Socket socket = connect()) {
+            for (int i = 1; i <= 3; i++) {
+                socket.getOutputStream().write(ascii(get("/echo?n=" + i)));
+                Response response = Response.read(socket.getInputStream());
+
+                assertEquals(200, response.statusCode());
+                assertEquals("HTTP/1.1 /echo " + i, response.text());
+                assertEquals("keep-alive", response.header("connection"));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NIO", "BLOCKING"})
+    void 파이프라인된_요청에_순서대로_응답(String mode) throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.valueOf(mode)));
+
+        assertPipelinedResponsesInOrder();
+    }
+
+    @Test
+    void 동시_파이프라인_처리도_순서대로_응답() throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.NIO).concurrentPipelineDispatch(true));
+
+        assertPipelinedResponsesInOrder();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NIO", "BLOCKING"})
+    void Content_Length와_chunked_본문을_읽는다(String mode) throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.valueOf(mode)));
+
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(ascii("POST /echo HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n\r\nhello"
+                    + "POST /echo HTTP/1.1\r\nHost: localhost\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + "6\r\nchunke\r\n1\r\nd\r\n0\r\n\r\n"));
+            InputStream in = socket.getInputStream();
+
+            assertEquals("hello", Response.read(in).text());
+            assertEquals("chunked", Response.read(in).text());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NIO", "BLOCKING"})
+    void 본문이_있는_404_뒤의_파이프라인_요청도_처리(String mode) throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.valueOf(mode)));
+
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(ascii("POST /missing HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n\r\nhello"
+                    + get("/echo?n=after")));
+            InputStream in = socket.getInputStream();
+            Response notFound = Response.read(in);
+            Response next = Response.read(in);
+
+            assertEquals(404, notFound.statusCode());
+            assertTrue(notFound.body().length > 0);
+            assertEquals(200, next.statusCode());
+            assertEquals("HTTP/1.1 /echo after", next.text());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NIO", "BLOCKING"})
+    void HTTP_1_0_요청은_응답_후_연결을_닫는다(String mode) throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.valueOf(mode)));
+
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(ascii("GET /echo?n=old HTTP/1.0\r\n\r\n"));
+            InputStream in = socket.getInputStream();
+            Response response = Response.read(in);
+
+            assertEquals(200, response.statusCode());
+            assertEquals("HTTP/1.0 /echo old", response.text());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"NIO", "BLOCKING"})
+    void h2c_프리페이스로_HTTP2_요청을_처리(String mode) throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.valueOf(mode)));
+
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            out.write(Http2Session.PREFACE);
+            out.write(frame(SETTINGS, 0, 0, new byte[0]));
+            out.write(frame(HEADERS, FLAG_END_STREAM | FLAG_END_HEADERS, 1, new HpackEncoder().encode(List.of(
+                    new HeaderField(":method", "GET"),
+                    new HeaderField(":scheme", "http"),
+                    new HeaderField(":path", "/echo?n=h2"),
+                    new HeaderField(":authority", "localhost")))));
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            HpackDecoder decoder = new HpackDecoder(4096);
+            String status = null;
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                int length = in.readUnsignedShort() << 8 | in.readUnsignedByte();
+                int type = in.readUnsignedByte();
+                int flags = in.readUnsignedByte();
+                int streamId = in.readInt() & 0x7fffffff;
+                byte[] payload = in.readNBytes(length);
+                if (streamId != 1) {
+                    continue;
+                }
+                if (type == HEADERS) {
+                    for (HeaderField field : decoder.decode(payload, 0, payload.length)) {
+                        if (field.name().equals(":status")) {
+                            status = field.value();
+                        }
+                    }
+                } else if (type == DATA) {
+                    body.write(payload);
+                }
+                if ((flags & FLAG_END_STREAM) != 0) {
+                    break;
+                }
+            }
+
+            assertEquals("200", status);
+            assertEquals("HTTP/2.0 /echo h2", body.toString(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void HTTP1_요청_뒤의_HTTP2_프리페이스는_400으로_닫는다() throws IOException {
+        start(ServerConfig.builder().transportMode(TransportMode.NIO));
+        byte[] junk = new byte[1024 * 1024];
+
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            out.write(ascii("GET /echo HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                    + "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n"));
+            try {
+                out.write(junk);
+                out.flush();
+            } catch (IOException e) {
+                // the server may close before all of the junk is written
+            }
+            InputStream in = socket.getInputStream();
+
+            assertEquals(200, Response.read(in).statusCode());
+            Response rejected = Response.read(in);
+            assertEquals(400, rejected.statusCode());
+            assertEquals("close", rejected.header("connection"));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void 대기중인_연결이_있으면_유휴_keep_alive_연결이_워커를_내준다() throws IOException {
+        start(ServerConfig.builder()
+                .transportMode(TransportMode.BLOCKING)
+                .threadPoolSize(1)
+                .keepAliveTimeoutMillis(5_000));
+
+        try (Socket idle = connect()) {
+            idle.getOutputStream().write(ascii(get("/echo")));
+            assertEquals(200, Response.read(idle.getInputStream()).statusCode());
+
+            long startedAt = System.nanoTime();
+            try (Socket waiting = connect()) {
+                waiting.getOutputStream().write(ascii(get("/echo")));
+                assertEquals(200, Response.read(waiting.getInputStream()).statusCode());
+            }
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+            assertTrue(elapsedMillis < 2_000, "waited " + elapsedMillis + " ms for a worker");
+            assertEquals(-1, idle.getInputStream().read());
+        }
+    }
+
+    private void assertPipelinedResponsesInOrder() throws IOException {
+        try (Socket socket = connect()) {
+            StringBuilder requests = new StringBuilder();
+            for (int i = 1; i <= 5; i++) {
+                requests.append(get("/echo?n=" + i));
+            }
+            socket.getOutputStream().write(ascii(requests.toString()));
+            InputStream in = socket.getInputStream();
+
+            for (int i = 1; i <= 5; i++) {
+                assertEquals("HTTP/1.1 /echo " + i, Response.read(in).text());
+            }
+        }
+    }
+
+    private void start(ServerConfig.Builder builder) throws IOException {
+        port = freePort();
+        server = new Server(builder
+                .port(port)
+                .basePackage(ServerLoopbackTest.class.getPackageName())
+                .build());
+        Thread thread = new Thread(server::start, "loopback-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(5_000);
+        return socket;
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String get(String target) {
+        return "GET " + target + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+    }
+
+    private static byte[] frame(int type, int flags, int streamId, byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(9 + payload.length);
+        frame.put((byte) (payload.length >>> 16)).put((byte) (payload.length >>> 8)).put((byte) payload.length);
+        frame.put((byte) type).put((byte) flags).putInt(streamId).put(payload);
+        return frame.array();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    record Response(String statusLine, Map<String, String> headers, byte[] body) {
+        int statusCode() {
+            return Integer.parseInt(statusLine.split(" ")[1]);
+        }
+
+        String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        String text() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        static Response read(InputStream in) throws IOException {
+            String statusLine = line(in);
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String line = line(in); !line.isEmpty(); line = line(in)) {
+                int colon = line.indexOf(':');
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                return new Response(statusLine, headers, in.readNBytes(Integer.parseInt(contentLength)));
+            }
+            if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+                return new Response(statusLine, headers, chunks(in));
+            }
+            return new Response(statusLine, headers, in.readAllBytes());
+        }
+
+        private static byte[] chunks(InputStream in) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (int size = Integer.parseInt(line(in).trim(), 16); size > 0; size = Integer.parseInt(line(in).trim(), 16)) {
+                body.write(in.readNBytes(size));
+                line(in);
+            }
+            line(in);
+            return body.toByteArray();
+        }
+
+        private static String line(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b < 0) {
+                    throw new IOException("Connection closed after: " + line);
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+    }
+
+    @Handler("/echo")
+    public static class EchoHandler extends CustomRequestHandler {
+        @HttpMethod("GET")
+        public HttpResponse get(HttpRequest request) {
+            String n = request.getQueryParam("n");
+            return ok(ascii(request.getVersion() + " " + request.getPath() + (n == null ? "" : " " + n))).build();
+        }
+
+        @HttpMethod("POST")
+        public HttpResponse post(HttpRequest request) {
+            return ok(request.getBodyBytes()).build();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package server.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpHeadersTest {
+    @Test
+    void 대소문자와_관계없이_조회하고_같은_이름의_값을_모두_보관() {
+        HttpHeaders headers = new HttpHeaders()
+                .add("Content-Type", "text/plain")
+                .add("set-cookie", "a=1")
+                .add("Set-Cookie", "b=2");
+
+        assertEquals("text/plain", headers.get("content-type"));
+        assertEquals("a=1", headers.get("SET-COOKIE"));
+        assertEquals(List.of("a=1", "b=2"), headers.getAll("Set-Cookie"));
+        assertTrue(headers.containsKey("CONTENT-TYPE"));
+        assertEquals(3, headers.fieldCount());
+
+        headers.set("SET-COOKIE", "c=3");
+
+        assertEquals(List.of("c=3"), headers.getAll("set-cookie"));
+        assertEquals("SET-COOKIE", headers.name(1));
+        assertEquals(2, headers.fieldCount());
+    }
+
+    @Test
+    void 같은_이름이_반복되어도_Map으로는_첫_값만_보인다() {
+        HttpHeaders headers = new HttpHeaders()
+                .add("Accept", "text/html")
+                .add("X-Forwarded-For", "10.0.0.1")
+                .add("x-forwarded-for", "10.0.0.2")
+                .add("X-FORWARDED-FOR", "10.0.0.3")
+                .toReadOnly();
+
+        Map<String, String> copy = Map.copyOf(headers);
+        Map<String, String> hashMap = new HashMap<>(headers);
+
+        assertEquals(2, headers.size());
+        assertEquals(2, headers.entrySet().size());
+        assertEquals(4, headers.fieldCount());
+        assertEquals(List.of("Accept", "X-Forwarded-For"), List.copyOf(headers.keySet()));
+        assertEquals("10.0.0.1", copy.get("X-Forwarded-For"));
+        assertEquals("10.0.0.1", hashMap.get("X-Forwarded-For"));
+        assertEquals(headers.get("x-forwarded-for"), hashMap.get("X-Forwarded-For"));
+        assertEquals(hashMap, headers);
+        assertEquals(hashMap.hashCode(), headers.hashCode());
+        assertEquals(List.of("10.0.0.1", "10.0.0.2", "10.0.0.3"), headers.getAll("X-Forwarded-For"));
+    }
+
+    @Test
+    void 읽기_전용_사본은_원본_변경과_분리() {
+        HttpHeaders headers = new HttpHeaders().add("Host", "example.com");
+        HttpHeaders readOnly = headers.toReadOnly();
+
+        headers.add("Accept", "*/*");
+
+        assertEquals(1, readOnly.size());
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.add("Accept", "*/*"));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.put("Accept", "*/*"));
+    }
+
+    @Test
+    void 알려진_헤더_이름은_바이트에서_같은_인스턴스로_매칭() {
+        byte[] line = "xcontent-length: 5".getBytes(StandardCharsets.US_ASCII);
+
+        assertSame(HttpHeaders.CONTENT_LENGTH, HttpHeaders.wellKnownName(line, 1, 15));
+        assertSame(HttpHeaders.SET_COOKIE, HttpHeaders.wellKnownName("set-cookie"));
+        assertNull(HttpHeaders.wellKnownName(line, 1, 14));
+        assertNull(HttpHeaders.wellKnownName("X-Custom"));
+    }
+
+    @Test
+    void 요청_빌더는_대소문자와_관계없이_헤더를_조회() {
+        HttpRequest.Builder builder = HttpRequest.builder()
+                .method("POST")
+                .path("/")
+                .addHeader("content-length", "5");
+
+        assertEquals("5", builder.getHeader("Content-Length"));
+        assertEquals("5", builder.build().getHeader("CONTENT-LENGTH"));
+    }
+}
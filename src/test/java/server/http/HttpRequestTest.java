@@ -1,13 +1,18 @@
 package server.http;
 
 import server.http.parser.Http11Parser;
+import server.http.parser.RequestLimits;
+import server.http.parser.RequestRejectedException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -196,4 +201,209 @@ class HttpRequestTest {
         assertEquals("/index.html", request.getPath());
         assertTrue(request.getQueryParams().isEmpty());
     }
+
+    @Test
+    void 청크_인코딩_요청_본문_디코딩() throws IOException {
+        String requestString =
+                "POST /upload HTTP/1.1\r\n" +
+                        "Host: localhost\r\n" +
+                        "Content-Type: text/plain\r\n" +
+                        "Transfer-Encoding: chunked\r\n" +
+                        "\r\n" +
+                        "4\r\nWiki\r\n5\r\npedia\r\n0\r\n\r\n";
+
+        HttpRequest request = Http11Parser.parse(new ByteArrayInputStream(requestString.getBytes()));
+
+        assertEquals("Wikipedia", request.getBody());
+        assertEquals(9, request.getRequestBody().length());
+    }
+
+    @Test
+    void 버퍼보다_큰_본문은_임시_파일로_스트리밍() throws IOException {
+        byte[] content = new byte[10_000];
+        java.util.Arrays.fill(content, (byte) 'a');
+        String head = "PUT /upload HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Length: " + content.length + "\r\n" +
+                "\r\n";
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        raw.write(head.getBytes());
+        raw.write(content);
+
+        HttpRequest request = Http11Parser.parse(new ByteArrayInputStream(raw.toByteArray()), 1024);
+
+        RequestBody body = request.getRequestBody();
+        assertFalse(body.isInMemory());
+        assertEquals(content.length, body.length());
+        try (InputStream in = request.getBodyStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        // Content-Type이 없으면 문자열 본문은 만들지 않는다
+        assertNull(request.getBody());
+        body.discard();
+        assertThrows(java.io.UncheckedIOException.class, body::toByteArray);
+    }
+
+    @Test
+    void 헤드를_블록_단위로_읽고_남은_바이트는_다음_요청에_넘김() throws IOException {
+        byte[] raw = ("POST /first HTTP/1.1\r\nContent-Type: text/plain\r\nContent-Length: 5\r\n\r\nhello" +
+                "GET /second HTTP/1.1\r\nHost: a\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        InputStream in = new ByteArrayInputStream(raw) {
+            @Override
+            public synchronized int read() {
+                throw new AssertionError("head must be read in blocks");
+            }
+        };
+
+        HttpRequest first = Http11Parser.parse(in);
+        HttpRequest second = Http11Parser.parse(in);
+
+        assertEquals("hello", first.getBody());
+        assertEquals("/second", second.getPath());
+        assertEquals("a", second.getHeader("Host"));
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void 헤더_개수나_크기가_제한을_넘으면_431() {
+        RequestLimits limits = new RequestLimits(128, 2, 1024);
+        String tooMany = "GET / HTTP/1.1\r\nHost: a\r\nX-A: 1\r\nX-B: 2\r\n\r\n";
+        String tooLarge = "GET / HTTP/1.1\r\nX-Long: " + "a".repeat(200) + "\r\n\r\n";
+
+        RequestRejectedException count = assertThrows(RequestRejectedException.class,
+                () -> Http11Parser.parse(new ByteArrayInputStream(tooMany.getBytes()), 1024, limits));
+        RequestRejectedException size = assertThrows(RequestRejectedException.class,
+                () -> Http11Parser.parse(new ByteArrayInputStream(tooLarge.getBytes()), 1024, limits));
+
+        assertEquals(431, count.getStatusCode());
+        assertEquals(431, size.getStatusCode());
+    }
+
+    @Test
+    void 요청_라인이_제한을_넘으면_414() {
+        RequestLimits limits = new RequestLimits(64, 10, 1024);
+        String request = "GET /" + "a".repeat(100) + " HTTP/1.1\r\n\r\n";
+
+        RequestRejectedException e = assertThrows(RequestRejectedException.class,
+                () -> Http11Parser.parse(new ByteArrayInputStream(request.getBytes()), 1024, limits));
+
+        assertEquals(414, e.getStatusCode());
+    }
+
+    @Test
+    void 본문_크기가_제한을_넘으면_본문을_읽기_전에_413() {
+        RequestLimits limits = new RequestLimits(1024, 10, 8);
+        String declared = "POST /upload HTTP/1.1\r\nContent-Length: 1000000\r\n\r\n";
+        String chunked = "POST /upload HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "5\r\nhello\r\n5\r\nworld\r\n0\r\n\r\n";
+
+        RequestRejectedException head = assertThrows(RequestRejectedException.class,
+                () -> Http11Parser.parseHead(new ByteArrayInputStream(declared.getBytes()), limits));
+        RequestRejectedException body = assertThrows(RequestRejectedException.class,
+                () -> Http11Parser.parse(new ByteArrayInputStream(chunked.getBytes()), 1024, limits));
+
+        assertEquals(413, head.getStatusCode());
+        assertEquals(413, body.getStatusCode());
+    }
+
+    @Test
+    void 바이트_배열에서_요청_헤드를_파싱() {
+        byte[] raw = ("  GET /docs?lang=ko&draft HTTP/1.1\n" +
+                "Host:example.com  \r\n" +
+                "X-Name:   홍길동\r\n" +
+                "Cookie: theme=dark; id=42\n" +
+                "\r\n" +
+                "ignored").getBytes(StandardCharsets.UTF_8);
+
+        int headLength = Http11Parser.headLength(raw, 0, raw.length, RequestLimits.UNLIMITED);
+        HttpRequest request = Http11Parser.parseHead(raw, 0, headLength, RequestLimits.UNLIMITED).build();
+
+        assertEquals(raw.length - "ignored".length(), headLength);
+        assertEquals("GET", request.getMethod());
+        assertEquals("/docs", request.getPath());
+        assertEquals("ko", request.getQueryParam("lang"));
+        assertEquals("", request.getQueryParam("draft"));
+        assertEquals("example.com", request.getHeaders().get("Host"));
+        assertEquals("홍길동", request.getHeaders().get("X-Name"));
+        assertEquals("42", request.getCookie("id"));
+    }
+
+    @Test
+    void 헤드가_끝나지_않았으면_길이는_음수() {
+        byte[] partial = "GET / HTTP/1.1\r\nHost: a\r\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] invalid = "GET /only-two-parts\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(-1, Http11Parser.headLength(partial, 0, partial.length, RequestLimits.UNLIMITED));
+        assertThrows(IllegalArgumentException.class,
+                () -> Http11Parser.parseHead(invalid, 0, invalid.length, RequestLimits.UNLIMITED));
+    }
+
+    @Test
+    void 헤더와_쿠키와_쿼리는_처음_읽을_때_한_번만_만든다() throws IOException {
+        String requestString =
+                "GET /search?q=a%26b&page=2 HTTP/1.1\r\n" +
+                        "Host: example.com\r\n" +
+                        "connection: keep-alive\r\n" +
+                        "Cookie: session=abc; theme=dark\r\n" +
+                        "\r\n";
+
+        HttpRequest request = Http11Parser.parse(new ByteArrayInputStream(requestString.getBytes()));
+
+        assertEquals("keep-alive", request.getHeader("Connection"));
+        assertEquals("example.com", request.getHeader("HOST"));
+        assertNull(request.getHeader("Content-Type"));
+        assertEquals("dark", request.getCookie("theme"));
+        assertSame(request.getQueryParams(), request.getQueryParams());
+        assertSame(request.getHeaders(), request.getHeaders());
+        assertEquals("2", request.getQueryParam("page"));
+        assertThrows(UnsupportedOperationException.class, () -> request.getQueryParams().put("page", "3"));
+    }
+
+    @Test
+    void 파싱한_헤더와_빌더_헤더를_합친_결과는_한_번만_만든다() {
+        byte[] raw = "GET / HTTP/1.1\r\nHost: a\r\nX-Trace: parsed\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        HttpRequest request = Http11Parser.parseHead(raw, 0, raw.length, RequestLimits.UNLIMITED)
+                .addHeader("X-Trace", "added")
+                .build();
+
+        HttpHeaders headers = request.getHeaders();
+
+        assertSame(headers, request.getHeaders());
+        assertEquals("a", headers.get("Host"));
+        assertEquals(List.of("added"), headers.getAll("x-trace"));
+    }
+
+    @Test
+    void 인코딩된_구분자는_경로와_쿼리를_나누지_않음() throws IOException {
+        String requestString =
+                "GET /files/a%3Fb+c?name=x%26y%3Dz&note=50%25+off HTTP/1.1\r\n" +
+                        "Host: example.com\r\n" +
+                        "\r\n";
+
+        HttpRequest request = Http11Parser.parse(new ByteArrayInputStream(requestString.getBytes()));
+
+        assertEquals("/files/a?b+c", request.getPath());
+        assertEquals("x&y=z", request.getQueryParam("name"));
+        assertEquals("50% off", request.getQueryParam("note"));
+        assertEquals(2, request.getQueryParams().size());
+    }
+
+    @Test
+    void 쿼리와_폼_본문을_하나의_파라미터로_조회() throws IOException {
+        String requestString =
+                "POST /orders?item=book&item=pen HTTP/1.1\r\n" +
+                        "Host: example.com\r\n" +
+                        "Content-Type: application/x-www-form-urlencoded; charset=UTF-8\r\n" +
+                        "Content-Length: 42\r\n" +
+                        "\r\n" +
+                        "item=cup&note=%EB%B9%A8%EB%A6%AC+%EC%A3%BC";
+
+        HttpRequest request = Http11Parser.parse(new ByteArrayInputStream(requestString.getBytes()));
+
+        assertEquals("book", request.getParameter("item"));
+        assertEquals(List.of("book", "pen", "cup"), request.getParameters().getAll("item"));
+        assertEquals(List.of("book", "pen"), request.getQuery().getAll("item"));
+        assertEquals("빨리 주", request.getParameter("note"));
+        assertNull(request.getQueryParam("note"));
+    }
 }
@@ -2,6 +2,10 @@ package server.http;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class HttpResponseTest {
@@ -54,6 +58,39 @@ class HttpResponseTest {
         assertEquals("sid=12; Path=/; Max-Age=1800; HttpOnly", response.getHeaders().get("Set-Cookie"));
     }
 
+    @Test
+    void addHeader는_같은_이름을_덮어쓰고_appendHeader는_줄을_추가() {
+        HttpResponse response = HttpResponse.builder()
+                .addHeader("Content-Type", "text/html")
+                .addHeader("content-type", "application/json")
+                .appendHeader("Vary", "Accept")
+                .appendHeader("Vary", "Origin")
+                .build();
+
+        String head = new String(response.getHeadBytes(true));
+
+        assertEquals(List.of("application/json"), response.getHeaders().getAll("Content-Type"));
+        assertEquals(List.of("Accept", "Origin"), response.getHeaders().getAll("Vary"));
+        assertFalse(head.contains("text/html"));
+        assertTrue(head.contains("Vary: Accept\r\nVary: Origin\r\n"));
+    }
+
+    @Test
+    void 여러_쿠키는_각각_Set_Cookie_줄로_기록() {
+        HttpResponse.Builder builder = HttpResponse.builder()
+                .addCookie("sid", "12", 30 * 60, true)
+                .addCookie("theme", "dark", -1, false);
+
+        HttpResponse response = builder.build();
+        String head = new String(response.getHeadBytes(true));
+
+        assertEquals(List.of("sid=12; Path=/; Max-Age=1800; HttpOnly", "theme=dark; Path=/"),
+                response.getHeaders().getAll("set-cookie"));
+        assertTrue(head.contains("Set-Cookie: sid=12; Path=/; Max-Age=1800; HttpOnly\r\n"));
+        assertTrue(head.contains("Set-Cookie: theme=dark; Path=/\r\n"));
+        assertEquals(2, builder.build().getHeaders().getAll("Set-Cookie").size());
+    }
+
     @Test
     void toString_메소드_검증() {
         HttpResponse response = HttpResponse.builder()
@@ -93,4 +130,118 @@ class HttpResponseTest {
             response.getHeaders().put("New-Header", "New-Value");
         });
     }
+
+    @Test
+    void 직렬화시_Content_Length_자동_추가() {
+        HttpResponse response = HttpResponse.builder()
+                .body("hello".getBytes())
+                .build();
+
+        String serialized = new String(response.getBytes());
+
+        assertTrue(serialized.contains("Content-Length: 5\r\n"));
+        assertTrue(serialized.endsWith("\r\n\r\nhello"));
+    }
+
+    @Test
+    void 직렬화시_기존_Content_Length_유지() {
+        HttpResponse response = HttpResponse.builder()
+                .addHeader("content-length", "5")
+                .body("hello".getBytes())
+                .build();
+
+        String serialized = new String(response.getBytes());
+
+        assertFalse(serialized.contains("Content-Length: 5"));
+        assertTrue(serialized.contains("content-length: 5\r\n"));
+    }
+
+    @Test
+    void 본문이_없는_상태코드는_Content_Length_생략() {
+        HttpResponse response = HttpResponse.builder()
+                .statusCode(204)
+                .statusText("No Content")
+                .build();
+
+        assertFalse(new String(response.getBytes()).contains("Content-Length"));
+    }
+
+    @Test
+    void 연결_유지_여부에_따른_Connection_헤더() {
+        HttpResponse response = HttpResponse.builder().build();
+
+        assertTrue(new String(response.getBytes(true)).contains("Connection: keep-alive\r\n"));
+        assertTrue(new String(response.getBytes(false)).contains("Connection: close\r\n"));
+        assertFalse(new String(response.getBytes()).contains("Connection:"));
+    }
+
+    @Test
+    void 길이를_모르는_스트리밍_본문은_청크로_전송() throws IOException {
+        HttpResponse response = HttpResponse.builder()
+                .body(out -> {
+                    out.write("hello ".getBytes());
+                    out.flush();
+                    out.write("world".getBytes());
+                })
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        response.writeTo(out, true);
+
+        String written = out.toString();
+        assertTrue(response.isStreaming());
+        assertTrue(written.contains("Transfer-Encoding: chunked\r\n"));
+        assertFalse(written.contains("Content-Length"));
+        assertTrue(written.endsWith("\r\n\r\n6\r\nhello \r\n5\r\nworld\r\n0\r\n\r\n"));
+        assertThrows(IllegalStateException.class, response::getBytes);
+    }
+
+    @Test
+    void HTTP_1_0_요청에는_청크_없이_보내고_연결_종료로_본문을_끝냄() throws IOException {
+        HttpResponse response = HttpResponse.builder()
+                .body(out -> {
+                    out.write("hello ".getBytes());
+                    out.flush();
+                    out.write("world".getBytes());
+                })
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        response.writeTo(out, true, "HTTP/1.0");
+
+        String written = out.toString();
+        assertTrue(response.isCloseDelimited("HTTP/1.0"));
+        assertFalse(response.isCloseDelimited("HTTP/1.1"));
+        assertFalse(written.contains("Transfer-Encoding"));
+        assertFalse(written.contains("Content-Length"));
+        assertTrue(written.endsWith("\r\nConnection: close\r\n\r\nhello world"));
+    }
+
+    @Test
+    void 끝난_청크_스트림에는_한_바이트도_쓸_수_없음() throws IOException {
+        ChunkedOutputStream chunked = new ChunkedOutputStream(new ByteArrayOutputStream());
+        chunked.write('a');
+        chunked.finish();
+
+        assertThrows(IOException.class, () -> chunked.write('b'));
+        assertThrows(IOException.class, () -> chunked.write(new byte[]{'b'}, 0, 1));
+    }
+
+    @Test
+    void 길이가_지정된_스트리밍_본문은_그대로_전송() throws IOException {
+        HttpResponse response = HttpResponse.builder()
+                .addHeader("Content-Length", "5")
+                .body(out -> {
+                    out.write("hello".getBytes());
+                    out.close();
+                })
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        response.writeTo(out, false);
+
+        String written = out.toString();
+        assertFalse(written.contains("Transfer-Encoding"));
+        assertTrue(written.endsWith("Content-Length: 5\r\nConnection: close\r\n\r\nhello"));
+    }
 }
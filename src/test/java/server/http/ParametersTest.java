@@ -0,0 +1,86 @@
+package server.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParametersTest {
+    @Test
+    void 같은_이름의_값을_순서대로_모두_보관() {
+        byte[] raw = "tag=a&tag=b+c&empty=&flag&%ED%95%9C=%EA%B8%80".getBytes(StandardCharsets.US_ASCII);
+        Parameters parameters = Parameters.builder().addEncoded(raw, 0, raw.length).build();
+
+        assertEquals("a", parameters.get("tag"));
+        assertEquals(List.of("a", "b c"), parameters.getAll("tag"));
+        assertEquals("", parameters.get("empty"));
+        assertEquals("", parameters.get("flag"));
+        assertEquals("글", parameters.get("한"));
+        assertNull(parameters.get("missing"));
+        assertEquals(5, parameters.size());
+        assertEquals(Set.of("tag", "empty", "flag", "한"), parameters.names());
+        assertEquals(Map.of("tag", "a", "empty", "", "flag", "", "한", "글"), parameters.toMap());
+    }
+
+    @Test
+    void 이름_없이_등호로_시작하는_쌍은_빈_이름과_값으로_분리() {
+        byte[] raw = "=foo&a=1&==bar".getBytes(StandardCharsets.US_ASCII);
+        Parameters parameters = Parameters.builder().addEncoded(raw, 0, raw.length).build();
+
+        assertEquals(List.of("foo", "=bar"), parameters.getAll(""));
+        assertNull(parameters.get("=foo"));
+        assertEquals("1", parameters.get("a"));
+        assertEquals(Set.of("", "a"), parameters.names());
+    }
+
+    @Test
+    void 여러_스레드가_처음_조회해도_같은_결과() throws Exception {
+        byte[] raw = "a=1&b=%ED%95%9C&c=3".getBytes(StandardCharsets.US_ASCII);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 200; round++) {
+                Parameters parameters = Parameters.builder().addEncoded(raw, 0, raw.length).build();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return parameters.get("a") + parameters.get("b") + parameters.size();
+                    }));
+                }
+                start.countDown();
+                for (Future<String> result : results) {
+                    assertEquals("1한3", result.get(5, TimeUnit.SECONDS));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void 여러_출처의_파라미터를_이어서_조회() {
+        byte[] query = "?page=2&sort=name".getBytes(StandardCharsets.US_ASCII);
+        Parameters first = Parameters.builder().addEncoded(query, 1, query.length).build();
+
+        Parameters parameters = Parameters.builder()
+                .addAll(first)
+                .add("sort", "date")
+                .build();
+
+        assertEquals("2", parameters.get("page"));
+        assertEquals(List.of("name", "date"), parameters.getAll("sort"));
+        assertTrue(parameters.contains("sort"));
+        assertTrue(Parameters.EMPTY.isEmpty());
+    }
+}
@@ -0,0 +1,40 @@
+package server.http.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteScannerTest {
+    private final ScalarByteScanner scalar = new ScalarByteScanner();
+    private final VectorByteScanner vector = new VectorByteScanner();
+
+    @Test
+    void 벡터_스캔과_스칼라_스캔의_결과가_같음() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            byte[] buffer = new byte[random.nextInt(300)];
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = (byte) "ab\r\n:".charAt(random.nextInt(5));
+            }
+            int from = buffer.length == 0 ? 0 : random.nextInt(buffer.length);
+            int to = from + random.nextInt(buffer.length - from + 1);
+
+            assertEquals(scalar.indexOf(buffer, from, to, (byte) '\n'), vector.indexOf(buffer, from, to, (byte) '\n'));
+            assertEquals(scalar.indexOf(buffer, from, to, (byte) 'z'), vector.indexOf(buffer, from, to, (byte) 'z'));
+            byte[] pattern = {'\r', '\n', 'a', 'b'};
+            assertEquals(scalar.indexOf(buffer, from, to, pattern), vector.indexOf(buffer, from, to, pattern));
+        }
+    }
+
+    @Test
+    void 패턴이_버퍼_끝에_걸쳐_있으면_찾지_못함() {
+        byte[] buffer = "x".repeat(130).concat("--boundary").getBytes();
+        byte[] pattern = "--boundary".getBytes();
+
+        assertEquals(130, ByteScanner.indexOf(buffer, 0, buffer.length, pattern));
+        assertEquals(-1, ByteScanner.indexOf(buffer, 0, buffer.length - 1, pattern));
+        assertEquals(-1, vector.indexOf(buffer, 0, buffer.length - 1, pattern));
+    }
+}
@@ -0,0 +1,48 @@
+package server.http.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedDecoderTest {
+    @Test
+    void 청크_본문을_조각나게_받아도_복원() throws IOException {
+        byte[] encoded = "5\r\nhello\r\n7;name=value\r\n, world\r\n0\r\nX-Trailer: 1\r\n\r\nGET".getBytes(StandardCharsets.US_ASCII);
+        ChunkedDecoder decoder = new ChunkedDecoder();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int consumed = 0;
+        for (int i = 0; i < encoded.length && !decoder.isFinished(); i += 3) {
+            int length = Math.min(3, encoded.length - i);
+            consumed += decoder.decode(encoded, i, length, out);
+        }
+
+        assertTrue(decoder.isFinished());
+        assertEquals("hello, world", out.toString(StandardCharsets.US_ASCII));
+        // 마지막 청크 뒤의 다음 요청 바이트는 소비하지 않는다
+        assertEquals(encoded.length - 3, consumed);
+    }
+
+    @Test
+    void 데이터를_기다리는_중에는_남은_길이를_알려줌() throws IOException {
+        byte[] encoded = "a\r\n0123".getBytes(StandardCharsets.US_ASCII);
+        ChunkedDecoder decoder = new ChunkedDecoder();
+
+        decoder.decode(encoded, 0, encoded.length, new ByteArrayOutputStream());
+
+        assertEquals(6, decoder.pendingData());
+        assertFalse(decoder.isFinished());
+    }
+
+    @Test
+    void 잘못된_청크_크기는_예외() {
+        byte[] encoded = "zz\r\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkedDecoder().decode(encoded, 0, encoded.length, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,126 @@
+package server.http.parser;
+
+import org.junit.jupiter.api.Test;
+import server.http.HttpRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Http11RequestDecoderTest {
+    private static final String PIPELINE =
+            "GET /search?q=test HTTP/1.1\r\n" +
+                    "Host: example.com\r\n" +
+                    "Cookie: id=42\r\n" +
+                    "\r\n" +
+                    "POST /submit HTTP/1.1\r\n" +
+                    "Content-Type: text/plain\r\n" +
+                    "Content-Length: 11\r\n" +
+                    "\r\n" +
+                    "hello world" +
+                    "PUT /upload HTTP/1.1\r\n" +
+                    "Content-Type: text/plain\r\n" +
+                    "Transfer-Encoding: chunked\r\n" +
+                    "\r\n" +
+                    "4\r\nWiki\r\n5;ext=1\r\npedia\r\n0\r\n\r\n";
+
+    @Test
+    void 모든_바이트_경계에서_나눠_받아도_같은_요청으로_복원() throws IOException {
+        byte[] raw = PIPELINE.getBytes(StandardCharsets.US_ASCII);
+
+        for (int split = 0; split <= raw.length; split++) {
+            Http11RequestDecoder decoder = new Http11RequestDecoder();
+            List<HttpRequest> requests = new ArrayList<>();
+            feed(decoder, raw, 0, split, requests);
+            feed(decoder, raw, split, raw.length - split, requests);
+
+            assertPipeline(requests);
+        }
+    }
+
+    @Test
+    void 한_바이트씩_받아도_요청을_복원() throws IOException {
+        byte[] raw = PIPELINE.getBytes(StandardCharsets.US_ASCII);
+        Http11RequestDecoder decoder = new Http11RequestDecoder();
+        List<HttpRequest> requests = new ArrayList<>();
+
+        for (int i = 0; i < raw.length; i++) {
+            feed(decoder, raw, i, 1, requests);
+        }
+
+        assertPipeline(requests);
+        assertFalse(decoder.isHeadComplete());
+    }
+
+    @Test
+    void 헤드가_끝나면_본문_전에_헤드를_확인할_수_있음() throws IOException {
+        byte[] raw = ("POST /upload HTTP/1.1\r\n" +
+                "Expect: 100-continue\r\n" +
+                "Content-Length: 5\r\n" +
+                "\r\n").getBytes(StandardCharsets.US_ASCII);
+        Http11RequestDecoder decoder = new Http11RequestDecoder();
+
+        assertEquals(raw.length, decoder.decode(raw, 0, raw.length));
+
+        assertTrue(decoder.isHeadComplete());
+        assertFalse(decoder.isComplete());
+        assertTrue(decoder.expectsContinue());
+        assertEquals("/upload", decoder.head().build().getPath());
+    }
+
+    @Test
+    void 한_바이트씩_받아도_헤드_크기_제한을_지킴() {
+        RequestLimits limits = new RequestLimits(64, 10, 1024);
+        byte[] raw = ("GET / HTTP/1.1\r\nX-Long: " + "a".repeat(100) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        Http11RequestDecoder decoder = new Http11RequestDecoder(limits, 1024);
+
+        RequestRejectedException e = assertThrows(RequestRejectedException.class, () -> {
+            for (int i = 0; i < raw.length; i++) {
+                decoder.decode(raw, i, 1);
+            }
+        });
+
+        assertEquals(431, e.getStatusCode());
+    }
+
+    @Test
+    void 청크_본문이_제한을_넘으면_413() {
+        RequestLimits limits = new RequestLimits(1024, 10, 8);
+        byte[] raw = ("POST /upload HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                "5\r\nhello\r\n5\r\nworld\r\n0\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        Http11RequestDecoder decoder = new Http11RequestDecoder(limits, 1024);
+
+        RequestRejectedException e = assertThrows(RequestRejectedException.class,
+                () -> decoder.decode(raw, 0, raw.length));
+
+        assertEquals(413, e.getStatusCode());
+        decoder.discard();
+        assertFalse(decoder.isHeadComplete());
+    }
+
+    private static void feed(Http11RequestDecoder decoder, byte[] data, int offset, int length,
+                             List<HttpRequest> requests) throws IOException {
+        int position = offset;
+        int limit = offset + length;
+        while (position < limit) {
+            position += decoder.decode(data, position, limit - position);
+            if (decoder.isComplete()) {
+                requests.add(decoder.take());
+            }
+        }
+    }
+
+    private static void assertPipeline(List<HttpRequest> requests) {
+        assertEquals(3, requests.size());
+        assertEquals("/search", requests.get(0).getPath());
+        assertEquals("test", requests.get(0).getQueryParam("q"));
+        assertEquals("42", requests.get(0).getCookie("id"));
+        assertEquals("POST", requests.get(1).getMethod());
+        assertEquals("hello world", requests.get(1).getBody());
+        assertEquals("PUT", requests.get(2).getMethod());
+        assertEquals("Wikipedia", requests.get(2).getBody());
+    }
+}
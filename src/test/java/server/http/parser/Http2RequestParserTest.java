@@ -0,0 +1,60 @@
+package server.http.parser;
+
+import org.junit.jupiter.api.Test;
+import server.http.HttpRequest;
+import server.http2.HeaderField;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Http2RequestParserTest {
+    @Test
+    void 의사_헤더와_일반_헤더_변환() throws UnsupportedEncodingException {
+        HttpRequest request = Http2RequestParser.parse(List.of(
+                new HeaderField(":method", "GET"),
+                new HeaderField(":scheme", "http"),
+                new HeaderField(":path", "/search?q=java"),
+                new HeaderField(":authority", "localhost:8080"),
+                new HeaderField("accept-language", "ko"),
+                new HeaderField("cookie", "a=1"),
+                new HeaderField("cookie", "b=2")), new byte[0]);
+
+        assertEquals("GET", request.getMethod());
+        assertEquals("/search", request.getPath());
+        assertEquals("java", request.getQueryParam("q"));
+        assertEquals("HTTP/2.0", request.getVersion());
+        assertEquals("localhost:8080", request.getHeaders().get("Host"));
+        assertEquals("ko", request.getHeaders().get("Accept-Language"));
+        assertEquals("1", request.getCookie("a"));
+        assertEquals("2", request.getCookie("b"));
+    }
+
+    @Test
+    void 본문이_있으면_Content_Length_추가() throws UnsupportedEncodingException {
+        HttpRequest request = Http2RequestParser.parse(List.of(
+                new HeaderField(":method", "POST"),
+                new HeaderField(":scheme", "http"),
+                new HeaderField(":path", "/users"),
+                new HeaderField("content-type", "text/plain")), "홍길동".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("9", request.getHeaders().get("Content-Length"));
+        assertEquals("홍길동", request.getBody());
+    }
+
+    @Test
+    void 일반_헤더_뒤의_의사_헤더는_거부() {
+        assertThrows(IllegalArgumentException.class, () -> Http2RequestParser.parse(List.of(
+                new HeaderField(":method", "GET"),
+                new HeaderField("accept", "*/*"),
+                new HeaderField(":path", "/")), new byte[0]));
+    }
+
+    @Test
+    void 필수_의사_헤더가_없으면_거부() {
+        assertThrows(IllegalArgumentException.class, () -> Http2RequestParser.parse(List.of(
+                new HeaderField(":method", "GET")), new byte[0]));
+    }
+}
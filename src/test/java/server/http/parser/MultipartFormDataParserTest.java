@@ -3,8 +3,12 @@ import org.junit.jupiter.api.Test;
 import server.http.HttpRequest;
 import server.http.parser.MultipartFormDataParser.ParsedData;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,6 +60,33 @@ class MultipartFormDataParserTest {
         assertThrows(IllegalArgumentException.class, () -> MultipartFormDataParser.parse(request));
     }
 
+    @Test
+    void 경계와_비슷한_바이트가_있는_바이너리_파일도_그대로_복원() throws IOException {
+        byte[] content = new byte[3 * 1024 * 1024];
+        new Random(7).nextBytes(content);
+        byte[] lookalike = ("\r\n--" + BOUNDARY.substring(0, BOUNDARY.length() - 1)).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(lookalike, 0, content, 8190, lookalike.length);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"upload\"; filename=\"data.bin\"\r\n" +
+                "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        HttpRequest request = HttpRequest.builder()
+                .method("POST")
+                .path("/upload")
+                .addHeader("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .bodyBytes(body.toByteArray())
+                .build();
+
+        ParsedData parsedData = MultipartFormDataParser.parse(request);
+
+        MultipartFormDataParser.FileData file = parsedData.getFileData().get("upload");
+        assertEquals("data.bin", file.getFileName());
+        assertEquals("application/octet-stream", file.getContentType());
+        assertArrayEquals(content, file.getContent());
+    }
+
     private HttpRequest createMockMultipartRequest() throws UnsupportedEncodingException {
         String body = "--" + BOUNDARY + "\r\n" +
                 "Content-Disposition: form-data; name=\"name\"\r\n\r\n" +
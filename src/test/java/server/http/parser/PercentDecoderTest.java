@@ -0,0 +1,34 @@
+package server.http.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PercentDecoderTest {
+    @Test
+    void 경로는_더하기를_유지하고_쿼리_구성요소는_공백으로_변환() {
+        assertEquals("/a+b c", PercentDecoder.decodePath("/a+b%20c"));
+        assertEquals("a b c", PercentDecoder.decodeComponent("a+b%20c"));
+        assertEquals("/검색", PercentDecoder.decodePath("/%EA%B2%80%EC%83%89"));
+    }
+
+    @Test
+    void 이스케이프가_없으면_같은_인스턴스를_반환() {
+        String value = "/static/app.js";
+
+        assertSame(value, PercentDecoder.decodePath(value));
+        assertSame(value, PercentDecoder.decodeComponent(value));
+    }
+
+    @Test
+    void 잘못된_이스케이프는_그대로_남기고_나머지는_디코딩() {
+        assertEquals("100% sure", PercentDecoder.decodeComponent("100%+sure"));
+        assertEquals("%zz!%", PercentDecoder.decodeComponent("%zz%21%"));
+        assertEquals("%2", PercentDecoder.decodeComponent("%2"));
+
+        byte[] raw = "x/%41%4g%".getBytes(StandardCharsets.US_ASCII);
+        assertEquals("/A%4g", PercentDecoder.decodePath(raw, 1, raw.length - 1));
+    }
+}
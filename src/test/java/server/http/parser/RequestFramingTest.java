@@ -0,0 +1,61 @@
+package server.http.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestFramingTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Content-Length : 5\r\n",
+            "Content-Length\t: 5\r\n",
+            "Content-Length: 5\r\nContent-Length: 0\r\n",
+            "Content-Length: 5\r\nContent-Length: 5\r\n",
+            "Content-Length: +5\r\n",
+            "Content-Length: -5\r\n",
+            "Content-Length: 5, 5\r\n",
+            "Content-Length: 0x5\r\n",
+            "Content-Length: \r\n",
+            "Content-Length: 5\r\nTransfer-Encoding: chunked\r\n",
+            "Transfer-Encoding: chunked\r\nContent-Length: 5\r\n",
+            "Transfer-Encoding: gzip\r\n",
+            " Content-Length: 5\r\n",
+    })
+    void 본문_경계가_모호한_요청은_모든_경로에서_400(String headers) {
+        byte[] raw = ("POST /submit HTTP/1.1\r\nHost: a\r\n" + headers + "\r\nhelloGET / HTTP/1.1\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        int headLength = Http11Parser.headLength(raw, 0, raw.length, RequestLimits.UNLIMITED);
+
+        RequestRejectedException framing = assertThrows(RequestRejectedException.class,
+                () -> RequestFraming.of(raw, 0, headLength, RequestLimits.UNLIMITED));
+        RequestRejectedException blocking = assertThrows(RequestRejectedException.class,
+                () -> Http11Parser.parse(new ByteArrayInputStream(raw)));
+        RequestRejectedException decoder = assertThrows(RequestRejectedException.class,
+                () -> new Http11RequestDecoder().decode(raw, 0, raw.length));
+
+        assertEquals(400, framing.getStatusCode());
+        assertEquals(400, blocking.getStatusCode());
+        assertEquals(400, decoder.getStatusCode());
+    }
+
+    @Test
+    void 헤더_이름은_대소문자와_값의_공백에_관계없이_인식() {
+        byte[] raw = ("POST / HTTP/1.1\r\ncontent-LENGTH:\t 12 \r\nEXPECT: 100-Continue\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] chunked = ("POST / HTTP/1.1\r\nTransfer-Encoding: gzip, Chunked\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+
+        RequestFraming framing = RequestFraming.of(raw, 0, raw.length, RequestLimits.UNLIMITED);
+        RequestFraming chunkedFraming = RequestFraming.of(chunked, 0, chunked.length, RequestLimits.UNLIMITED);
+
+        assertEquals(new RequestFraming(12, false, true), framing);
+        assertEquals(new RequestFraming(0, true, false), chunkedFraming);
+        assertEquals(12, Http11Parser.contentLength(
+                Http11Parser.parseHead(raw, 0, raw.length, RequestLimits.UNLIMITED)));
+    }
+}
@@ -0,0 +1,95 @@
+package server.http2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HpackDecoderTest {
+    @Test
+    void RFC7541_C3_허프만_없는_요청_연속_디코딩() {
+        HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertEquals(List.of(
+                new HeaderField(":method", "GET"),
+                new HeaderField(":scheme", "http"),
+                new HeaderField(":path", "/"),
+                new HeaderField(":authority", "www.example.com")
+        ), decode(decoder, "828684410f7777772e6578616d706c652e636f6d"));
+        assertEquals(57, decoder.getTableSize());
+
+        assertEquals(List.of(
+                new HeaderField(":method", "GET"),
+                new HeaderField(":scheme", "http"),
+                new HeaderField(":path", "/"),
+                new HeaderField(":authority", "www.example.com"),
+                new HeaderField("cache-control", "no-cache")
+        ), decode(decoder, "828684be58086e6f2d6361636865"));
+        assertEquals(110, decoder.getTableSize());
+
+        assertEquals(List.of(
+                new HeaderField(":method", "GET"),
+                new HeaderField(":scheme", "https"),
+                new HeaderField(":path", "/index.html"),
+                new HeaderField(":authority", "www.example.com"),
+                new HeaderField("custom-key", "custom-value")
+        ), decode(decoder, "828785bf400a637573746f6d2d6b65790c637573746f6d2d76616c7565"));
+        assertEquals(164, decoder.getTableSize());
+    }
+
+    @Test
+    void RFC7541_C4_허프만_요청_연속_디코딩() {
+        HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertEquals(new HeaderField(":authority", "www.example.com"),
+                decode(decoder, "828684418cf1e3c2e5f23a6ba0ab90f4ff").get(3));
+        assertEquals(new HeaderField("cache-control", "no-cache"),
+                decode(decoder, "828684be5886a8eb10649cbf").get(4));
+        List<HeaderField> third = decode(decoder, "828785bf408825a849e95ba97d7f8925a849e95bb8e8b4bf");
+
+        assertEquals(new HeaderField(":authority", "www.example.com"), third.get(3));
+        assertEquals(new HeaderField("custom-key", "custom-value"), third.get(4));
+        assertEquals(164, decoder.getTableSize());
+    }
+
+    @Test
+    void 존재하지_않는_인덱스는_압축_오류() {
+        HpackDecoder decoder = new HpackDecoder(4096);
+
+        Http2Exception exception = assertThrows(Http2Exception.class, () -> decode(decoder, "be"));
+        assertEquals(Http2ErrorCode.COMPRESSION_ERROR, exception.getErrorCode());
+    }
+
+    @Test
+    void 잘못된_허프만_패딩은_압축_오류() {
+        HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertThrows(Http2Exception.class, () -> decode(decoder, "000161" + "8100"));
+    }
+
+    @Test
+    void 한도를_넘는_테이블_크기_변경은_압축_오류() {
+        HpackDecoder decoder = new HpackDecoder(4096);
+
+        assertThrows(Http2Exception.class, () -> decode(decoder, "3fe21f"));
+    }
+
+    @Test
+    void 헤더_목록_크기_제한을_넘으면_연결_오류() {
+        HpackDecoder decoder = new HpackDecoder(4096);
+        byte[] block = HexFormat.of().parseHex("82".repeat(10));
+
+        assertEquals(10, decoder.decode(block, 0, block.length, 10 * 42).size());
+        Http2Exception exception = assertThrows(Http2Exception.class,
+                () -> decoder.decode(block, 0, block.length, 10 * 42 - 1));
+        assertEquals(Http2ErrorCode.ENHANCE_YOUR_CALM, exception.getErrorCode());
+        assertFalse(exception.isStreamError());
+    }
+
+    private List<HeaderField> decode(HpackDecoder decoder, String hex) {
+        byte[] block = HexFormat.of().parseHex(hex);
+        return decoder.decode(block, 0, block.length);
+    }
+}
@@ -0,0 +1,38 @@
+package server.http2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HpackEncoderTest {
+    @Test
+    void 정적_테이블에_있는_필드는_인덱스로_인코딩() {
+        byte[] block = new HpackEncoder().encode(List.of(new HeaderField(":status", "200")));
+
+        assertEquals("88", HexFormat.of().formatHex(block));
+    }
+
+    @Test
+    void 허프만이_더_짧으면_허프만으로_인코딩() {
+        byte[] block = new HpackEncoder().encode(List.of(new HeaderField("cache-control", "no-cache")));
+
+        assertEquals("0f0986a8eb10649cbf", HexFormat.of().formatHex(block));
+    }
+
+    @Test
+    void 인코딩한_헤더를_디코더로_복원() {
+        List<HeaderField> fields = List.of(
+                new HeaderField(":status", "404"),
+                new HeaderField("content-type", "text/html; charset=utf-8"),
+                new HeaderField("set-cookie", "SESSION=abc; Path=/; HttpOnly"),
+                new HeaderField("x-request-id", "a".repeat(200)),
+                new HeaderField("x-greeting", "안녕하세요"));
+
+        byte[] block = new HpackEncoder().encode(fields);
+
+        assertEquals(fields, new HpackDecoder(4096).decode(block, 0, block.length));
+    }
+}
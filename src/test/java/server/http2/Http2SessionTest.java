@@ -0,0 +1,343 @@
+package server.http2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http.RequestBodyBuffer;
+import server.http.parser.RequestLimits;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Http2SessionTest {
+    private RecordingSink sink;
+    private Map<Integer, HttpRequest> requests;
+
+    @BeforeEach
+    void setUp() {
+        sink = new RecordingSink();
+        requests = new LinkedHashMap<>();
+    }
+
+    @Test
+    void 프리페이스_수신시_SETTINGS_교환() {
+        Http2Session session = open(100);
+
+        List<Http2Frame> frames = sink.frames();
+        assertEquals(Http2Frame.SETTINGS, frames.get(0).type());
+        assertFalse(frames.get(0).hasFlag(Http2Frame.FLAG_ACK));
+        assertEquals(Http2Frame.SETTINGS, frames.get(1).type());
+        assertTrue(frames.get(1).hasFlag(Http2Frame.FLAG_ACK));
+        assertFalse(session.isClosed());
+    }
+
+    @Test
+    void 여러_스트림을_한_연결에서_처리() {
+        Http2Session session = open(100);
+        sink.clear();
+
+        receive(session, concat(headers(1, "GET", "/a", true), headers(3, "GET", "/b?name=x", true)));
+        session.sendResponse(3, HttpResponse.builder().body("b".getBytes()).build());
+        session.sendResponse(1, HttpResponse.builder().body("a".getBytes()).build());
+
+        assertEquals("/a", requests.get(1).getPath());
+        assertEquals("x", requests.get(3).getQueryParam("name"));
+        assertEquals("HTTP/2.0", requests.get(1).getVersion());
+        List<Http2Frame> frames = sink.frames();
+        assertEquals(List.of(3, 3, 1, 1), frames.stream().map(Http2Frame::streamId).toList());
+        assertEquals("b", new String(frames.get(1).payload()));
+        assertTrue(frames.get(3).hasFlag(Http2Frame.FLAG_END_STREAM));
+        assertEquals(0, session.getActiveStreams());
+    }
+
+    @Test
+    void DATA_프레임으로_요청_본문_조립() {
+        Http2Session session = open(100);
+
+        receive(session, concat(
+                headers(1, "POST", "/form", false),
+                Http2Frame.encode(Http2Frame.DATA, 0, 1, "ab".getBytes()),
+                Http2Frame.encode(Http2Frame.DATA, Http2Frame.FLAG_END_STREAM, 1, "c".getBytes())));
+
+        HttpRequest request = requests.get(1);
+        assertEquals("POST", request.getMethod());
+        assertEquals("abc", new String(request.getBodyBytes()));
+        assertEquals("3", request.getHeaders().get("Content-Length"));
+    }
+
+    @Test
+    void 흐름_제어_창이_부족하면_WINDOW_UPDATE까지_대기() {
+        byte[] settings = new byte[6];
+        settings[1] = 0x4;
+        Http2Frame.writeInt(settings, 2, 10);
+        Http2Session session = new Http2Session(100, sink, this::record);
+        session.start();
+        receive(session, concat(Http2Session.PREFACE,
+                Http2Frame.encode(Http2Frame.SETTINGS, 0, 0, settings),
+                headers(1, "GET", "/", true)));
+        sink.clear();
+
+        session.sendResponse(1, HttpResponse.builder().body(new byte[25]).build());
+
+        List<Http2Frame> frames = sink.frames();
+        assertEquals(Http2Frame.HEADERS, frames.get(0).type());
+        assertEquals(10, frames.get(1).payload().length);
+        assertFalse(frames.get(1).hasFlag(Http2Frame.FLAG_END_STREAM));
+        assertEquals(1, session.getActiveStreams());
+
+        sink.clear();
+        byte[] increment = new byte[4];
+        Http2Frame.writeInt(increment, 0, 100);
+        receive(session, Http2Frame.encode(Http2Frame.WINDOW_UPDATE, 0, 1, increment));
+
+        frames = sink.frames();
+        assertEquals(15, frames.get(0).payload().length);
+        assertTrue(frames.get(0).hasFlag(Http2Frame.FLAG_END_STREAM));
+        assertEquals(0, session.getActiveStreams());
+    }
+
+    @Test
+    void 스트리밍_응답도_흐름_제어_창이_열릴_때까지_대기() throws Exception {
+        byte[] settings = new byte[6];
+        settings[1] = 0x4;
+        Http2Frame.writeInt(settings, 2, 10);
+        Http2Session session = new Http2Session(100, sink, this::record);
+        session.start();
+        receive(session, concat(Http2Session.PREFACE,
+                Http2Frame.encode(Http2Frame.SETTINGS, 0, 0, settings),
+                headers(1, "GET", "/", true)));
+        sink.clear();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                session.sendStreamingResponse(1, HttpResponse.builder().body(out -> out.write(new byte[25])).build());
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (sink.frames().size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // 창 10바이트만큼 보낸 뒤 WINDOW_UPDATE 전까지 작성 스레드가 멈춰 있어야 한다
+        List<Http2Frame> frames = sink.frames();
+        assertEquals(Http2Frame.HEADERS, frames.get(0).type());
+        assertFalse(frames.get(0).hasFlag(Http2Frame.FLAG_END_STREAM));
+        assertEquals(10, frames.get(1).payload().length);
+        assertEquals(2, frames.size());
+        assertTrue(writer.isAlive());
+
+        sink.clear();
+        byte[] increment = new byte[4];
+        Http2Frame.writeInt(increment, 0, 100);
+        receive(session, Http2Frame.encode(Http2Frame.WINDOW_UPDATE, 0, 1, increment));
+        writer.join(2_000);
+
+        assertNull(failure.get());
+        frames = sink.frames();
+        assertEquals(15, frames.get(0).payload().length);
+        assertTrue(frames.get(frames.size() - 1).hasFlag(Http2Frame.FLAG_END_STREAM));
+        assertEquals(0, session.getActiveStreams());
+    }
+
+    @Test
+    void 동시_스트림_한도를_넘으면_REFUSED_STREAM() {
+        Http2Session session = open(1);
+        sink.clear();
+
+        receive(session, concat(headers(1, "GET", "/a", true), headers(3, "GET", "/b", true)));
+
+        assertEquals(List.of(1), new ArrayList<>(requests.keySet()));
+        Http2Frame reset = sink.frames().get(0);
+        assertEquals(Http2Frame.RST_STREAM, reset.type());
+        assertEquals(3, reset.streamId());
+        assertEquals(Http2ErrorCode.REFUSED_STREAM.code(), Http2Frame.readInt(reset.payload(), 0));
+    }
+
+    @Test
+    void 잘못된_프리페이스는_GOAWAY_후_종료() {
+        Http2Session session = new Http2Session(100, sink, this::record);
+        session.start();
+        sink.clear();
+
+        receive(session, "GET / HTTP/1.1\r\nHost: x\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+        Http2Frame goAway = sink.frames().get(0);
+        assertEquals(Http2Frame.GOAWAY, goAway.type());
+        assertEquals(Http2ErrorCode.PROTOCOL_ERROR.code(), Http2Frame.readInt(goAway.payload(), 4));
+        assertTrue(session.isClosed());
+        assertTrue(sink.closed);
+    }
+
+    @Test
+    void PING에_ACK로_응답() {
+        Http2Session session = open(100);
+        sink.clear();
+
+        receive(session, Http2Frame.encode(Http2Frame.PING, 0, 0, "12345678".getBytes()));
+
+        Http2Frame ping = sink.frames().get(0);
+        assertTrue(ping.hasFlag(Http2Frame.FLAG_ACK));
+        assertEquals("12345678", new String(ping.payload()));
+    }
+
+    @Test
+    void SETTINGS에_헤더_목록_크기_제한을_알림() {
+        open(100, new RequestLimits(4096, 10, 1024));
+
+        byte[] settings = sink.frames().get(0).payload();
+        assertEquals(12, settings.length);
+        assertEquals(0x6, settings[7]);
+        assertEquals(4096, Http2Frame.readInt(settings, 8));
+    }
+
+    @Test
+    void CONTINUATION_폭주는_ENHANCE_YOUR_CALM으로_연결_종료() {
+        Http2Session session = open(100, new RequestLimits(4096, 10, 1024));
+        sink.clear();
+        byte[] block = new HpackEncoder().encode(List.of(new HeaderField(":method", "GET")));
+        byte[] filler = new byte[1024];
+
+        receive(session, Http2Frame.encode(Http2Frame.HEADERS, 0, 1, block));
+        for (int i = 0; i < 8 && !session.isClosed(); i++) {
+            receive(session, Http2Frame.encode(Http2Frame.CONTINUATION, 0, 1, filler));
+        }
+
+        Http2Frame goAway = sink.frames().get(0);
+        assertEquals(Http2Frame.GOAWAY, goAway.type());
+        assertEquals(Http2ErrorCode.ENHANCE_YOUR_CALM.code(), Http2Frame.readInt(goAway.payload(), 4));
+        assertTrue(session.isClosed());
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void 빈_CONTINUATION_반복도_연결_오류() {
+        Http2Session session = open(100);
+        sink.clear();
+        byte[] block = new HpackEncoder().encode(List.of(new HeaderField(":method", "GET")));
+
+        receive(session, concat(Http2Frame.encode(Http2Frame.HEADERS, 0, 1, block),
+                Http2Frame.encode(Http2Frame.CONTINUATION, 0, 1, new byte[0])));
+
+        Http2Frame goAway = sink.frames().get(0);
+        assertEquals(Http2ErrorCode.ENHANCE_YOUR_CALM.code(), Http2Frame.readInt(goAway.payload(), 4));
+        assertTrue(session.isClosed());
+    }
+
+    @Test
+    void 헤더_개수와_본문_크기_제한을_스트림에_적용() {
+        Http2Session session = open(100, new RequestLimits(4096, 1, 4));
+        sink.clear();
+        byte[] tooMany = new HpackEncoder().encode(List.of(
+                new HeaderField(":method", "GET"),
+                new HeaderField(":scheme", "http"),
+                new HeaderField(":path", "/"),
+                new HeaderField("x-a", "1"),
+                new HeaderField("x-b", "2")));
+
+        receive(session, concat(
+                Http2Frame.encode(Http2Frame.HEADERS, Http2Frame.FLAG_END_HEADERS | Http2Frame.FLAG_END_STREAM, 1, tooMany),
+                headers(3, "POST", "/upload", false),
+                Http2Frame.encode(Http2Frame.DATA, 0, 3, "hello".getBytes())));
+
+        List<Http2Frame> frames = sink.frames();
+        HpackDecoder decoder = new HpackDecoder(4096);
+        byte[] first = frames.get(0).payload();
+        byte[] second = frames.get(1).payload();
+        assertEquals("431", decoder.decode(first, 0, first.length).get(0).value());
+        assertEquals("413", decoder.decode(second, 0, second.length).get(0).value());
+        assertEquals(List.of(1, 3, 3), frames.stream().map(Http2Frame::streamId).toList());
+        assertEquals(Http2Frame.RST_STREAM, frames.get(2).type());
+        assertEquals(Http2ErrorCode.NO_ERROR.code(), Http2Frame.readInt(frames.get(2).payload(), 0));
+        assertTrue(requests.isEmpty());
+        assertFalse(session.isClosed());
+        assertEquals(0, session.getActiveStreams());
+    }
+
+    private Http2Session open(int maxConcurrentStreams) {
+        Http2Session session = new Http2Session(maxConcurrentStreams, sink, this::record);
+        session.start();
+        receive(session, concat(Http2Session.PREFACE, Http2Frame.encode(Http2Frame.SETTINGS, 0, 0, new byte[0])));
+        return session;
+    }
+
+    private Http2Session open(int maxConcurrentStreams, RequestLimits limits) {
+        Http2Session session = new Http2Session(maxConcurrentStreams, RequestBodyBuffer.DEFAULT_MEMORY_THRESHOLD, limits,
+                sink, this::record);
+        session.start();
+        receive(session, concat(Http2Session.PREFACE, Http2Frame.encode(Http2Frame.SETTINGS, 0, 0, new byte[0])));
+        return session;
+    }
+
+    private void receive(Http2Session session, byte[] data) {
+        session.receive(data, 0, data.length);
+    }
+
+    private void record(Http2Session session, int streamId, HttpRequest request) {
+        requests.put(streamId, request);
+    }
+
+    private byte[] headers(int streamId, String method, String path, boolean endStream) {
+        byte[] block = new HpackEncoder().encode(List.of(
+                new HeaderField(":method", method),
+                new HeaderField(":scheme", "http"),
+                new HeaderField(":path", path),
+                new HeaderField(":authority", "localhost")));
+        int flags = Http2Frame.FLAG_END_HEADERS | (endStream ? Http2Frame.FLAG_END_STREAM : 0);
+        return Http2Frame.encode(Http2Frame.HEADERS, flags, streamId, block);
+    }
+
+    private byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static class RecordingSink implements FrameSink {
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private boolean closed;
+
+        @Override
+        public void write(byte[] frame) {
+            written.writeBytes(frame);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        List<Http2Frame> frames() {
+            Http2FrameReader reader = new Http2FrameReader(1 << 24);
+            byte[] bytes = written.toByteArray();
+            reader.feed(bytes, 0, bytes.length);
+            List<Http2Frame> frames = new ArrayList<>();
+            Http2Frame frame;
+            while ((frame = reader.next()) != null) {
+                frames.add(frame);
+            }
+            return frames;
+        }
+
+        void clear() {
+            written.reset();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package server.sse;
+
+import org.junit.jupiter.api.Test;
+import server.http.EventSink;
+import server.http.EventStream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseBroadcasterTest {
+    @Test
+    void 이벤트는_여러_줄_데이터를_data_필드로_나누어_인코딩() {
+        SseEvent event = SseEvent.named("update", "first\nsecond").withId("7");
+
+        assertEquals("id: 7\nevent: update\ndata: first\ndata: second\n\n",
+                new String(event.encode(), StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> SseEvent.named("bad\nname", "data"));
+    }
+
+    @Test
+    void 발행된_이벤트는_모든_구독자에게_전달() {
+        try (SseBroadcaster broadcaster = new SseBroadcaster(16, 0)) {
+            RecordingSink first = subscribe(broadcaster);
+            RecordingSink second = subscribe(broadcaster);
+
+            broadcaster.publish(SseEvent.of("hello"));
+
+            assertEquals(2, broadcaster.getSubscriberCount());
+            assertEquals("data: hello\n\n", first.received());
+            assertEquals("data: hello\n\n", second.received());
+        }
+    }
+
+    @Test
+    void 느린_구독자는_큐가_가득_차면_제거() {
+        try (SseBroadcaster broadcaster = new SseBroadcaster(2, 0)) {
+            RecordingSink fast = subscribe(broadcaster);
+            RecordingSink slow = subscribe(broadcaster);
+            slow.writable = false;
+
+            for (int i = 0; i < 3; i++) {
+                broadcaster.publish(SseEvent.of(String.valueOf(i)));
+            }
+
+            assertTrue(slow.closed);
+            assertFalse(fast.closed);
+            assertEquals(1, broadcaster.getEvictedSubscribers());
+            assertEquals(1, broadcaster.getSubscriberCount());
+            assertEquals("data: 0\n\ndata: 1\n\ndata: 2\n\n", fast.received());
+        }
+    }
+
+    @Test
+    void 쓰기_가능해지면_대기중인_이벤트를_전송() {
+        try (SseBroadcaster broadcaster = new SseBroadcaster(4, 0)) {
+            RecordingSink sink = new RecordingSink();
+            sink.writable = false;
+            EventStream stream = broadcaster.subscribe().getEventStream();
+            stream.open(sink);
+
+            broadcaster.publish(SseEvent.of("queued"));
+            broadcaster.sendHeartbeat();
+            assertEquals("", sink.received());
+
+            sink.writable = true;
+            stream.writable();
+
+            assertEquals("data: queued\n\n:\n\n", sink.received());
+        }
+    }
+
+    @Test
+    void 연결이_닫히면_구독_해제() {
+        try (SseBroadcaster broadcaster = new SseBroadcaster(4, 0)) {
+            EventStream stream = broadcaster.subscribe().getEventStream();
+            stream.open(new RecordingSink());
+
+            stream.closed();
+
+            assertEquals(0, broadcaster.getSubscriberCount());
+            assertEquals(0, broadcaster.getEvictedSubscribers());
+        }
+    }
+
+    private static RecordingSink subscribe(SseBroadcaster broadcaster) {
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe().getEventStream().open(sink);
+        return sink;
+    }
+
+    private static class RecordingSink implements EventSink {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private volatile boolean writable = true;
+        private volatile boolean closed;
+
+        @Override
+        public boolean send(byte[] event) {
+            data.writeBytes(event);
+            return true;
+        }
+
+        @Override
+        public boolean isWritable() {
+            return writable && !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void abort() {
+            closed = true;
+        }
+
+        String received() {
+            return data.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
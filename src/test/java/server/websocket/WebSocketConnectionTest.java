@@ -0,0 +1,181 @@
+package server.websocket;
+
+import org.junit.jupiter.api.Test;
+import server.handler.annotation.Handler;
+import server.http.EventSink;
+import server.http.HttpRequest;
+import server.http.HttpResponse;
+import server.http.parser.Http11Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketConnectionTest {
+    private static final byte[] MASK = {1, 2, 3, 4};
+
+    @Test
+    void 핸드셰이크_응답은_Accept_키와_압축_확장을_포함() throws IOException {
+        HttpResponse response = new EchoEndpoint().handle(upgradeRequest("permessage-deflate; client_max_window_bits"));
+
+        assertEquals(101, response.getStatusCode());
+        assertEquals("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=", response.getHeaders().get("Sec-WebSocket-Accept"));
+        assertEquals("permessage-deflate", response.getHeaders().get("Sec-WebSocket-Extensions"));
+        assertTrue(response.isUpgrade());
+    }
+
+    @Test
+    void 분할된_텍스트_메시지를_조립해_전달() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        EchoEndpoint endpoint = new EchoEndpoint();
+        WebSocketConnection connection = open(endpoint, sink, null);
+
+        byte[] first = WebSocketFrame.encode(false, false, WebSocketFrame.TEXT, "Hel".getBytes(), MASK);
+        byte[] ping = WebSocketFrame.encode(true, false, WebSocketFrame.PING, "p".getBytes(), MASK);
+        byte[] last = WebSocketFrame.encode(true, false, WebSocketFrame.CONTINUATION, "lo".getBytes(), MASK);
+        byte[] stream = concat(first, ping, last);
+        for (byte b : stream) {
+            connection.receive(new byte[]{b}, 0, 1);
+        }
+
+        assertEquals(List.of("Hello"), endpoint.messages);
+        assertArrayEquals(WebSocketFrame.encode(true, false, WebSocketFrame.PONG, "p".getBytes()), sink.frames.get(0));
+        assertArrayEquals(WebSocketFrame.encode(true, false, WebSocketFrame.TEXT, "Hello".getBytes()), sink.frames.get(1));
+    }
+
+    @Test
+    void 마스킹되지_않은_프레임은_프로토콜_오류로_종료() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        EchoEndpoint endpoint = new EchoEndpoint();
+        WebSocketConnection connection = open(endpoint, sink, null);
+
+        byte[] frame = WebSocketFrame.encode(true, false, WebSocketFrame.TEXT, "hi".getBytes());
+        connection.receive(frame, 0, frame.length);
+        connection.closed();
+
+        assertTrue(sink.closed);
+        assertEquals(WebSocketCloseCode.PROTOCOL_ERROR, closeCode(sink.frames.get(0)));
+        assertEquals(WebSocketCloseCode.PROTOCOL_ERROR, endpoint.closeCode);
+        assertFalse(connection.isOpen());
+    }
+
+    @Test
+    void 압축된_메시지를_해제하고_응답도_압축() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        EchoEndpoint endpoint = new EchoEndpoint();
+        WebSocketConnection connection = open(endpoint, sink, PerMessageDeflate.negotiate("permessage-deflate"));
+        PerMessageDeflate client = PerMessageDeflate.negotiate("permessage-deflate");
+        String message = "compress me ".repeat(50);
+
+        for (int i = 0; i < 2; i++) {
+            byte[] frame = WebSocketFrame.encode(true, true, WebSocketFrame.TEXT,
+                    client.compress(message.getBytes()), MASK);
+            connection.receive(frame, 0, frame.length);
+        }
+
+        assertEquals(List.of(message, message), endpoint.messages);
+        byte[] reply = sink.frames.get(1);
+        assertEquals(0x40, reply[0] & 0x40);
+        assertTrue(reply.length < message.length());
+    }
+
+    @Test
+    void 닫기_프레임을_받으면_같은_코드로_응답하고_종료() throws IOException {
+        RecordingSink sink = new RecordingSink();
+        EchoEndpoint endpoint = new EchoEndpoint();
+        WebSocketConnection connection = open(endpoint, sink, null);
+
+        byte[] payload = {0x03, (byte) 0xE8, 'b', 'y', 'e'};
+        byte[] frame = WebSocketFrame.encode(true, false, WebSocketFrame.CLOSE, payload, MASK);
+        connection.receive(frame, 0, frame.length);
+        connection.closed();
+
+        assertArrayEquals(WebSocketFrame.encode(true, false, WebSocketFrame.CLOSE, payload), sink.frames.get(0));
+        assertTrue(sink.closed);
+        assertEquals(1000, endpoint.closeCode);
+        assertEquals("bye", endpoint.closeReason);
+    }
+
+    private static WebSocketConnection open(EchoEndpoint endpoint, RecordingSink sink, PerMessageDeflate deflate)
+            throws IOException {
+        WebSocketConnection connection = new WebSocketConnection(upgradeRequest(null), endpoint, deflate, 1024 * 1024);
+        connection.open(sink, Runnable::run);
+        return connection;
+    }
+
+    private static HttpRequest upgradeRequest(String extensions) throws IOException {
+        String request = "GET /echo HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+                "Sec-WebSocket-Version: 13\r\n" +
+                (extensions != null ? "Sec-WebSocket-Extensions: " + extensions + "\r\n" : "") +
+                "\r\n";
+        return Http11Parser.parse(new ByteArrayInputStream(request.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static int closeCode(byte[] frame) {
+        return ((frame[2] & 0xFF) << 8) | (frame[3] & 0xFF);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        byte[] result = new byte[0];
+        for (byte[] part : parts) {
+            int offset = result.length;
+            result = Arrays.copyOf(result, offset + part.length);
+            System.arraycopy(part, 0, result, offset, part.length);
+        }
+        return result;
+    }
+
+    @Handler("/echo")
+    static class EchoEndpoint extends WebSocketEndpoint {
+        private final List<String> messages = new ArrayList<>();
+        private int closeCode;
+        private String closeReason;
+
+        @Override
+        public void onText(WebSocketSession session, String message) {
+            messages.add(message);
+            session.sendText(message);
+        }
+
+        @Override
+        public void onClose(WebSocketSession session, int code, String reason) {
+            closeCode = code;
+            closeReason = reason;
+        }
+    }
+
+    private static class RecordingSink implements EventSink {
+        private final List<byte[]> frames = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public boolean send(byte[] data) {
+            frames.add(data);
+            return true;
+        }
+
+        @Override
+        public boolean isWritable() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void abort() {
+            closed = true;
+        }
+    }
+}